@@ -0,0 +1,138 @@
+package czm.pm_solution_be.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent read queries of one request concurrently on virtual threads.
+ *
+ * <p>Usage: open a {@link Scope}, {@link Scope#fork fork} the queries, {@link Scope#join join} and read
+ * the results. At most half of the Hikari pool ({@code spring.datasource.hikari.maximum-pool-size}) is
+ * used by forked queries at any time; when no permit is free, or when the caller runs inside a
+ * transaction (forked threads would not see it), the query simply runs inline on the caller's thread.
+ * A failure cancels the queries still running and is rethrown from {@code join}.</p>
+ */
+@Component
+public class ParallelQueries implements DisposableBean {
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore connections;
+
+    public ParallelQueries(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        this.connections = new Semaphore(Math.max(1, poolSize / 2));
+    }
+
+    public Scope open() {
+        return new Scope(!TransactionSynchronizationManager.isActualTransactionActive());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    public final class Scope implements AutoCloseable {
+        private final boolean concurrent;
+        private final List<Future<?>> futures = new ArrayList<>();
+        private boolean joined;
+
+        private Scope(boolean concurrent) {
+            this.concurrent = concurrent;
+        }
+
+        /**
+         * Starts {@code query}; the returned supplier may be read after {@link #join()}.
+         */
+        public <T> Supplier<T> fork(Callable<T> query) {
+            if (!concurrent || !connections.tryAcquire()) {
+                T value = call(query);
+                return () -> value;
+            }
+            Future<T> future;
+            try {
+                future = executor.submit(() -> {
+                    try {
+                        return query.call();
+                    } finally {
+                        connections.release();
+                    }
+                });
+            } catch (RuntimeException ex) {
+                connections.release();
+                throw ex;
+            }
+            futures.add(future);
+            return () -> {
+                if (!joined) {
+                    throw new IllegalStateException("Scope.join() must be called before reading results");
+                }
+                return future.resultNow();
+            };
+        }
+
+        /**
+         * Waits for every forked query; rethrows the first failure after cancelling the rest.
+         */
+        public void join() {
+            try {
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                joined = true;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                cancelAll();
+                throw new IllegalStateException("Interrupted while waiting for parallel queries", ex);
+            } catch (ExecutionException ex) {
+                cancelAll();
+                throw propagate(ex.getCause());
+            } catch (CancellationException ex) {
+                cancelAll();
+                throw ex;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!joined) {
+                cancelAll();
+            }
+        }
+
+        private void cancelAll() {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static <T> T call(Callable<T> query) {
+        try {
+            return query.call();
+        } catch (Exception ex) {
+            throw propagate(ex);
+        }
+    }
+
+    private static RuntimeException propagate(Throwable failure) {
+        if (failure instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(failure);
+    }
+}
@@ -0,0 +1,135 @@
+package czm.pm_solution_be.config;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Shared PostgreSQL {@code LISTEN} connection of this instance; components register a handler per channel
+ * and receive the payload of every {@code pg_notify} sent on it by any backend instance.
+ *
+ * <p>The connection is opened outside the Hikari pool (a LISTEN connection is never returned) once all
+ * singletons are created, so handlers registered from constructors are in place before the first
+ * notification. It reconnects after {@value #RECONNECT_DELAY_SECONDS} s when it drops; notifications sent
+ * while it was down are lost, which is why {@linkplain #onConnected connection callbacks} run after every
+ * (re)connect. Handlers run on the listener thread and must not block.</p>
+ */
+@Component
+public class PgNotificationListener implements SmartInitializingSingleton, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(PgNotificationListener.class);
+    static final int RECONNECT_DELAY_SECONDS = 5;
+    private static final int POLL_TIMEOUT_MS = 10_000;
+
+    private final Map<String, List<Consumer<String>>> handlers = new ConcurrentHashMap<>();
+    private final List<Runnable> connectedCallbacks = new CopyOnWriteArrayList<>();
+    private final DataSourceProperties dataSourceProperties;
+    private final Thread listener;
+    private volatile boolean running = true;
+
+    public PgNotificationListener(DataSourceProperties dataSourceProperties) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.listener = new Thread(this::listenLoop, "pg-notification-listener");
+        this.listener.setDaemon(true);
+    }
+
+    /**
+     * Registers {@code handler} for notifications on {@code channel}; call it before the context is ready.
+     */
+    public void listen(String channel, Consumer<String> handler) {
+        handlers.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    /**
+     * Runs {@code callback} every time the listener (re)connects, e.g. to drop state that may have missed
+     * notifications in the meantime.
+     */
+    public void onConnected(Runnable callback) {
+        connectedCallbacks.add(callback);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!handlers.isEmpty()) {
+            listener.start();
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                if (!connection.isWrapperFor(PGConnection.class)) {
+                    log.warn("Notification listener disabled: the datasource is not PostgreSQL");
+                    return;
+                }
+                try (Statement statement = connection.createStatement()) {
+                    for (String channel : handlers.keySet()) {
+                        statement.execute("LISTEN " + channel);
+                    }
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Listening for notifications on channels {}", handlers.keySet());
+                connectedCallbacks.forEach(this::runSafely);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification.getName(), notification.getParameter());
+                    }
+                }
+            } catch (SQLException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Notification listener lost its connection, reconnecting in {} s: {}",
+                        RECONNECT_DELAY_SECONDS, ex.getMessage());
+                try {
+                    TimeUnit.SECONDS.sleep(RECONNECT_DELAY_SECONDS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String channel, String payload) {
+        for (Consumer<String> handler : handlers.getOrDefault(channel, List.of())) {
+            runSafely(() -> handler.accept(payload));
+        }
+    }
+
+    private void runSafely(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException ex) {
+            log.warn("Notification handler failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        listener.interrupt();
+    }
+}
@@ -0,0 +1,42 @@
+package czm.pm_solution_be.config;
+
+import org.springframework.jdbc.core.support.AbstractSqlTypeValue;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+
+/**
+ * Binds collections as a single PostgreSQL array parameter.
+ *
+ * <p>Use {@code column = ANY(?::bigint[])} / {@code column = ANY(?::text[])} with {@link #bigints} /
+ * {@link #texts} instead of building {@code IN (?, ?, ...)} lists: the SQL text stays the same for
+ * any number of values, so the driver's server-side prepared statement (and its plan) is reused.</p>
+ */
+public final class SqlArrays {
+
+    private SqlArrays() {
+    }
+
+    public static AbstractSqlTypeValue bigints(Collection<Long> values) {
+        return array("bigint", values.toArray(new Long[0]));
+    }
+
+    public static AbstractSqlTypeValue texts(Collection<String> values) {
+        return array("text", values.toArray(new String[0]));
+    }
+
+    public static AbstractSqlTypeValue numerics(Collection<BigDecimal> values) {
+        return array("numeric", values.toArray(new BigDecimal[0]));
+    }
+
+    private static AbstractSqlTypeValue array(String elementType, Object[] elements) {
+        return new AbstractSqlTypeValue() {
+            @Override
+            protected Object createTypeValue(Connection con, int sqlType, String typeName) throws SQLException {
+                return con.createArrayOf(elementType, elements);
+            }
+        };
+    }
+}
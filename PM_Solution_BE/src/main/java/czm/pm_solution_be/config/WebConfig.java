@@ -12,7 +12,7 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:5173", "http://localhost", "http://127.0.0.1")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
-                .exposedHeaders("Content-Type")
+                .exposedHeaders("Content-Type", "Content-Disposition", "ETag")
                 .maxAge(3600)
                 .allowCredentials(false);
     }
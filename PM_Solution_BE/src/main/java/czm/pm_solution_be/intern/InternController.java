@@ -1,5 +1,8 @@
 package czm.pm_solution_be.intern;
 
+import czm.pm_solution_be.sync.cache.ReportingDataVersions;
+import czm.pm_solution_be.sync.export.ExportFormat;
+import czm.pm_solution_be.sync.export.ReportExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -16,18 +19,30 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/interns")
 @Tag(name = "Interns", description = "Registrace a správa stážistů")
 public class InternController {
+    private static final List<String> MONTHLY_HOURS_EXPORT_COLUMNS = List.of(
+            "internId", "username", "firstName", "lastName", "year", "month", "hours", "cost", "levelCode", "levelLabel");
+
     private final InternService service;
+    private final ReportExportService exportService;
+    private final ReportingDataVersions dataVersions;
 
-    public InternController(InternService service) {
+    public InternController(InternService service,
+                            ReportExportService exportService,
+                            ReportingDataVersions dataVersions) {
         this.service = service;
+        this.exportService = exportService;
+        this.dataVersions = dataVersions;
     }
 
     @PostMapping
@@ -53,7 +68,10 @@ public class InternController {
 
     @GetMapping("/overview")
     @Operation(summary = "Přehled stážistů", description = "Vrací všechny stážisty včetně celkového počtu odpracovaných hodin.")
-    public List<InternOverviewResponse> overview() {
+    public List<InternOverviewResponse> overview(WebRequest request) {
+        if (request.checkNotModified(dataVersions.crossProjectEtag())) {
+            return null;
+        }
         return service.overview();
     }
 
@@ -67,10 +85,47 @@ public class InternController {
             @Parameter(description = "Datum od (včetně)", required = true)
             @RequestParam("from") LocalDate from,
             @Parameter(description = "Datum do (včetně)", required = true)
-            @RequestParam("to") LocalDate to) {
+            @RequestParam("to") LocalDate to,
+            WebRequest request) {
+        if (request.checkNotModified(dataVersions.crossProjectEtag())) {
+            return null;
+        }
         return service.monthlyHours(from, to);
     }
 
+    @GetMapping("/monthly-hours/export")
+    @Operation(summary = "Export měsíčních hodin stážistů",
+            description = "Streamuje stejná data jako /monthly-hours jako CSV nebo NDJSON soubor, volitelně komprimovaný gzipem.")
+    public ResponseEntity<StreamingResponseBody> exportMonthlyHours(
+            @Parameter(description = "Datum od (včetně)", required = true)
+            @RequestParam("from") LocalDate from,
+            @Parameter(description = "Datum do (včetně)", required = true)
+            @RequestParam("to") LocalDate to,
+            @Parameter(description = "Formát souboru: csv (výchozí) nebo ndjson")
+            @RequestParam(required = false) String format,
+            @Parameter(description = "Komprimovat výstup gzipem")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        service.validateMonthlyInterval(from, to);
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        return exportService.<InternService.InternMonthlyHoursResponse>export(
+                "intern-monthly-hours-" + from + "-" + to,
+                exportFormat,
+                gzip,
+                MONTHLY_HOURS_EXPORT_COLUMNS,
+                row -> Arrays.asList(
+                        row.internId(),
+                        row.username(),
+                        row.firstName(),
+                        row.lastName(),
+                        row.year(),
+                        row.month(),
+                        row.hours(),
+                        row.cost(),
+                        row.levelCode(),
+                        row.levelLabel()),
+                sink -> service.streamMonthlyHours(from, to, sink));
+    }
+
     @GetMapping("/performance")
     @Operation(summary = "Výkon stážistů",
             description = "Vrací porovnání odpracovaných hodin napříč týdny nebo měsíci pro vybranou množinu stážistů.")
@@ -82,7 +137,11 @@ public class InternController {
             @Parameter(description = "Filtrovaní stážisti podle ID")
             @RequestParam(value = "internId", required = false) List<Long> internIds,
             @Parameter(description = "Filtrované skupiny podle ID")
-            @RequestParam(value = "groupId", required = false) List<Long> groupIds) {
+            @RequestParam(value = "groupId", required = false) List<Long> groupIds,
+            WebRequest request) {
+        if (request.checkNotModified(dataVersions.crossProjectEtag())) {
+            return null;
+        }
         return service.performance(period, periods, internIds, groupIds);
     }
 
@@ -106,7 +165,11 @@ public class InternController {
 
     @GetMapping("/{id}/detail")
     @Operation(summary = "Přehled stážisty", description = "Vrací agregovaná data o stážistovi včetně projektů a úvazků.")
-    public InternDetailResponse overviewDetail(@PathVariable long id) {
+    public InternDetailResponse overviewDetail(@PathVariable long id,
+                                              WebRequest request) {
+        if (request.checkNotModified(dataVersions.crossProjectEtag())) {
+            return null;
+        }
         return service.overviewDetail(id);
     }
 
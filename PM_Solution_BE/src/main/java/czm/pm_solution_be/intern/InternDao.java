@@ -7,6 +7,7 @@ package czm.pm_solution_be.intern;
  * pagination, level/group lookups and writing helper tables
  * such as intern_group or intern_level_history.
  */
+import czm.pm_solution_be.config.SqlArrays;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
@@ -309,6 +310,8 @@ public class InternDao {
      * Removes the intern row. Returns number of affected rows.
      */
     public int delete(long id) {
+        // intern_project rows go away via ON DELETE CASCADE, so release the team counters first.
+        jdbc.update("UPDATE project SET team_members = team_members - 1 WHERE id IN (SELECT project_id FROM intern_project WHERE intern_id = ?)", id);
         return jdbc.update("DELETE FROM intern WHERE id = ?", id);
     }
 
@@ -444,11 +447,8 @@ public class InternDao {
         if (levelIds == null || levelIds.isEmpty()) {
             return List.of();
         }
-        String inClause = levelIds.stream().map(id -> "?").reduce((a, b) -> a + "," + b).orElse("?");
-        List<Object> params = new ArrayList<>();
-        params.addAll(levelIds);
-        return jdbc.query("SELECT id, code, label FROM level WHERE id IN (" + inClause + ")", LEVEL_MAPPER,
-                params.toArray());
+        return jdbc.query("SELECT id, code, label FROM level WHERE id = ANY(?::bigint[])", LEVEL_MAPPER,
+                SqlArrays.bigints(levelIds));
     }
 
     /**
@@ -488,11 +488,8 @@ public class InternDao {
         if (groupIds == null || groupIds.isEmpty()) {
             return List.of();
         }
-        String inClause = groupIds.stream().map(id -> "?").reduce((a, b) -> a + "," + b).orElse("?");
-        List<Object> params = new ArrayList<>();
-        params.addAll(groupIds);
-        return jdbc.query("SELECT id, code, label FROM \"group\" WHERE id IN (" + inClause + ")", GROUP_MAPPER,
-                params.toArray());
+        return jdbc.query("SELECT id, code, label FROM \"group\" WHERE id = ANY(?::bigint[])", GROUP_MAPPER,
+                SqlArrays.bigints(groupIds));
     }
 
     /**
@@ -503,20 +500,19 @@ public class InternDao {
         if (internIds == null || internIds.isEmpty()) {
             return map;
         }
-        String inClause = internIds.stream().map(id -> "?").reduce((a, b) -> a + "," + b).orElse("?");
-        List<Object> params = new ArrayList<>();
-        params.addAll(internIds);
         jdbc.query("""
                 SELECT ig.intern_id, g.id, g.code, g.label
                 FROM intern_group ig
                 JOIN \"group\" g ON g.id = ig.group_id
-                WHERE ig.intern_id IN (""" + inClause + ") ORDER BY g.label",
+                WHERE ig.intern_id = ANY(?::bigint[])
+                ORDER BY g.label
+                """,
                 rs -> {
                     long internId = rs.getLong("intern_id");
                     map.computeIfAbsent(internId, k -> new ArrayList<>())
                             .add(new GroupRow(rs.getLong("id"), rs.getInt("code"), rs.getString("label")));
                 },
-                params.toArray());
+                SqlArrays.bigints(internIds));
         return map;
     }
 
@@ -689,6 +685,10 @@ public class InternDao {
                         ps.setBoolean(4, allocation.includeInReportedCost());
                     });
         }
+
+        if (!toInsert.isEmpty() || !toDelete.isEmpty()) {
+            jdbc.update("UPDATE project SET team_members = ? WHERE id = ?", desired.size(), projectId);
+        }
     }
 
     public List<ProjectInternAllocation> listProjectInternAllocations(long projectId) {
@@ -717,17 +717,28 @@ public class InternDao {
     }
 
     /**
-     * Replaces the full level history for the given intern.
+     * Brings the stored level history ({@code existing}) to {@code entries}: identical rows are kept,
+     * rows that are gone are deleted and only new ones are inserted.
      */
-    public void replaceLevelHistory(long internId, List<LevelHistoryInput> entries) {
-        jdbc.update("DELETE FROM intern_level_history WHERE intern_id = ?", internId);
-        if (entries == null || entries.isEmpty()) {
+    public void replaceLevelHistory(long internId, List<LevelHistoryRow> existing, List<LevelHistoryInput> entries) {
+        List<LevelHistoryInput> toInsert = new ArrayList<>(entries == null ? List.of() : entries);
+        List<Object[]> toDelete = new ArrayList<>();
+        for (LevelHistoryRow row : existing) {
+            LevelHistoryInput kept = new LevelHistoryInput(row.levelId(), row.validFrom(), row.validTo());
+            if (!toInsert.remove(kept)) {
+                toDelete.add(new Object[]{row.id(), internId});
+            }
+        }
+        if (!toDelete.isEmpty()) {
+            jdbc.batchUpdate("DELETE FROM intern_level_history WHERE id = ? AND intern_id = ?", toDelete);
+        }
+        if (toInsert.isEmpty()) {
             return;
         }
         jdbc.batchUpdate(
                 "INSERT INTO intern_level_history (intern_id, level_id, valid_from, valid_to) VALUES (?, ?, ?, ?)",
-                entries,
-                entries.size(),
+                toInsert,
+                toInsert.size(),
                 (ps, entry) -> {
                     ps.setLong(1, internId);
                     ps.setLong(2, entry.levelId());
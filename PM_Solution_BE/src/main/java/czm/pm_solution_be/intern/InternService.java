@@ -11,10 +11,17 @@ import czm.pm_solution_be.intern.InternLevelHistoryResponse;
 import czm.pm_solution_be.intern.InternStatusHistoryResponse;
 import czm.pm_solution_be.intern.InternStatusUpdateRequest;
 import czm.pm_solution_be.sync.SyncDao;
-import czm.pm_solution_be.sync.SyncDao.InternPerformanceRow;
+import czm.pm_solution_be.sync.SyncDao.InternPerformanceColumns;
+import czm.pm_solution_be.sync.SyncDao.PerformanceIntern;
+import czm.pm_solution_be.sync.cache.CachedReportingQueries;
+import czm.pm_solution_be.sync.cache.ReportingCache;
+import czm.pm_solution_be.sync.cost.ReportCostRecomputeService;
+import czm.pm_solution_be.sync.cost.ReportCostScope;
+import czm.pm_solution_be.sync.event.ReportingDataChangedEvent;
 import czm.pm_solution_be.web.ApiException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -36,6 +43,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -55,10 +63,20 @@ public class InternService {
 
     private final InternDao dao;
     private final SyncDao syncDao;
-
-    public InternService(InternDao dao, SyncDao syncDao) {
+    private final CachedReportingQueries reportingQueries;
+    private final ApplicationEventPublisher events;
+    private final ReportCostRecomputeService costRecompute;
+
+    public InternService(InternDao dao,
+                         SyncDao syncDao,
+                         CachedReportingQueries reportingQueries,
+                         ApplicationEventPublisher events,
+                         ReportCostRecomputeService costRecompute) {
         this.dao = dao;
         this.syncDao = syncDao;
+        this.reportingQueries = reportingQueries;
+        this.events = events;
+        this.costRecompute = costRecompute;
     }
 
     @Transactional
@@ -79,7 +97,7 @@ public class InternService {
         // Persist the intern row with the resolved status code so subsequent queries read a consistent state.
         InternRow inserted = dao.insert(input.firstName(), input.lastName(), input.username(), currentLevel.id(), status.code());
         dao.replaceInternGroups(inserted.id(), input.groupIds());
-        dao.replaceLevelHistory(inserted.id(), input.history().stream()
+        dao.replaceLevelHistory(inserted.id(), List.of(), input.history().stream()
                 .map(entry -> new InternDao.LevelHistoryInput(entry.levelId(), entry.validFrom(), entry.validTo()))
                 .toList());
         // Immediately open the status history so auditing endpoints return a non-empty collection.
@@ -88,6 +106,8 @@ public class InternService {
         InternRow row = dao.findById(inserted.id())
                 .orElseThrow(() -> ApiException.internal("Stážista byl vytvořen, ale nepodařilo se načíst jeho data.", "intern_reload_failed"));
         Map<Long, List<GroupRow>> groupMap = dao.findGroupsForInternIds(List.of(row.id()));
+        // A new username can match reports that were stored as unregistered so far.
+        events.publishEvent(ReportingDataChangedEvent.everything());
         log.info("Intern created id={} username={} levelId={} status={}", row.id(), row.username(), row.levelId(), row.statusCode());
         return toResponse(row, groupMap.getOrDefault(row.id(), groups));
     }
@@ -111,9 +131,11 @@ public class InternService {
 
         InternRow updated = dao.update(existing.id(), input.firstName(), input.lastName(), input.username(), level.id());
         dao.replaceInternGroups(updated.id(), input.groupIds());
-        dao.replaceLevelHistory(updated.id(), input.history().stream()
+        List<InternDao.LevelHistoryRow> previousHistory = dao.findLevelHistory(updated.id());
+        List<InternDao.LevelHistoryInput> history = input.history().stream()
                 .map(entry -> new InternDao.LevelHistoryInput(entry.levelId(), entry.validFrom(), entry.validTo()))
-                .toList());
+                .toList();
+        dao.replaceLevelHistory(updated.id(), previousHistory, history);
 
         InternRow statusAwareRow = updated;
         if (requestedStatus != null && !Objects.equals(existing.statusCode(), requestedStatus.code())) {
@@ -121,14 +143,19 @@ public class InternService {
             statusAwareRow = applyStatusChange(updated.id(), requestedStatus.code(), LocalDate.now());
         }
 
-        if (existing.levelId() != level.id()) {
-            int recalculated = syncDao.recomputeReportCostsForIntern(existing.id());
-            log.info("Přepočítáno {} nákladů reportů pro stážistu {}", recalculated, updated.username());
+        // Only days whose level actually changed need new report costs; the jobs commit with the new
+        // history and rewrite them in the background.
+        for (LevelHistoryDiff.ChangedInterval changed : LevelHistoryDiff.changedIntervals(previousHistory, history)) {
+            costRecompute.submit(ReportCostScope.intern(existing.id(), changed.from(), changed.to()));
+            log.info("Naplánován přepočet nákladů reportů pro stážistu {} v období {} – {}",
+                    updated.username(), changed.from(), changed.to() != null ? changed.to() : "dosud");
         }
 
         InternRow finalRow = statusAwareRow != null ? statusAwareRow : dao.findById(updated.id())
                 .orElseThrow(() -> ApiException.internal("Stážista byl upraven, ale nepodařilo se načíst jeho data.", "intern_reload_failed"));
         Map<Long, List<GroupRow>> groupMap = dao.findGroupsForInternIds(List.of(finalRow.id()));
+        // Username and level history drive report joins and costs across every project.
+        events.publishEvent(ReportingDataChangedEvent.everything());
         log.info("Intern updated id={} username={} levelId={} status={}", finalRow.id(), finalRow.username(), finalRow.levelId(), finalRow.statusCode());
         return toResponse(finalRow, groupMap.getOrDefault(finalRow.id(), groups));
     }
@@ -141,6 +168,7 @@ public class InternService {
         if (deleted == 0) {
             throw ApiException.notFound("Stážista nebyl nalezen.", "intern");
         }
+        events.publishEvent(ReportingDataChangedEvent.everything());
         log.info("Intern deleted id={} username={}", existing.id(), existing.username());
     }
 
@@ -174,36 +202,75 @@ public class InternService {
      * returns stable numeric types even for gaps without activity.</p>
      */
     public List<InternMonthlyHoursResponse> monthlyHours(LocalDate from, LocalDate to) {
+        validateMonthlyInterval(from, to);
+        // Each month is cached on its own, so finished months survive new reports; the months missing
+        // from the cache are aggregated in one query.
+        LocalDate end = to.plusDays(1);
+        List<ReportingCache.Period> months = new ArrayList<>();
+        for (LocalDate monthStart = from.withDayOfMonth(1); monthStart.isBefore(end); monthStart = monthStart.plusMonths(1)) {
+            LocalDate windowFrom = monthStart.isBefore(from) ? from : monthStart;
+            LocalDate nextMonth = monthStart.plusMonths(1);
+            LocalDate windowTo = nextMonth.isBefore(end) ? nextMonth : end;
+            months.add(new ReportingCache.Period(windowFrom, windowTo));
+        }
+        Map<Long, List<InternMonthlyHoursResponse>> byIntern = new LinkedHashMap<>();
+        for (List<SyncDao.InternMonthlyHoursRow> monthRows : reportingQueries.listInternMonthlyHours(months)) {
+            for (SyncDao.InternMonthlyHoursRow row : monthRows) {
+                byIntern.computeIfAbsent(row.internId(), id -> new ArrayList<>()).add(toMonthlyHoursResponse(row));
+            }
+        }
+        return byIntern.values().stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    /**
+     * Validates the interval for {@link #streamMonthlyHours}; call it before the response is committed.
+     */
+    public void validateMonthlyInterval(LocalDate from, LocalDate to) {
         if (from == null || to == null) {
             throw ApiException.validation("Parametry \"from\" a \"to\" jsou povinné.", "interval_required");
         }
         if (to.isBefore(from)) {
             throw ApiException.validation("Datum \"Do\" nesmí být dříve než datum \"Od\".", "interval_invalid");
         }
+    }
 
-        OffsetDateTime fromDateTime = from.atStartOfDay().atOffset(ZoneOffset.UTC);
-        OffsetDateTime toDateTime = to.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC);
-
-        return syncDao.listInternMonthlyHours(fromDateTime, toDateTime).stream()
-                .map(row -> {
-                    OffsetDateTime monthStart = row.monthStart();
-                    int year = monthStart != null ? monthStart.getYear() : 0;
-                    int month = monthStart != null ? monthStart.getMonthValue() : 0;
-                    return new InternMonthlyHoursResponse(
-                            row.internId(),
-                            row.username(),
-                            row.firstName(),
-                            row.lastName(),
-                            monthStart,
-                            year,
-                            month,
-                            row.hours() != null ? row.hours() : BigDecimal.ZERO,
-                            row.cost() != null ? row.cost() : BigDecimal.ZERO,
-                            row.levelId(),
-                            row.levelCode(),
-                            row.levelLabel());
-                })
-                .toList();
+    /**
+     * Same rows as {@link #monthlyHours}, pushed to {@code consumer} one by one for file exports.
+     * Must be called inside a transaction (see {@code SyncDao#streamInternMonthlyHours}).
+     */
+    public void streamMonthlyHours(LocalDate from, LocalDate to, Consumer<? super InternMonthlyHoursResponse> consumer) {
+        validateMonthlyInterval(from, to);
+        syncDao.streamInternMonthlyHours(monthlyIntervalStart(from), monthlyIntervalEnd(to),
+                row -> consumer.accept(toMonthlyHoursResponse(row)));
+    }
+
+    private OffsetDateTime monthlyIntervalStart(LocalDate from) {
+        return from.atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+
+    private OffsetDateTime monthlyIntervalEnd(LocalDate to) {
+        return to.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+
+    private InternMonthlyHoursResponse toMonthlyHoursResponse(SyncDao.InternMonthlyHoursRow row) {
+        OffsetDateTime monthStart = row.monthStart();
+        int year = monthStart != null ? monthStart.getYear() : 0;
+        int month = monthStart != null ? monthStart.getMonthValue() : 0;
+        return new InternMonthlyHoursResponse(
+                row.internId(),
+                row.username(),
+                row.firstName(),
+                row.lastName(),
+                monthStart,
+                year,
+                month,
+                row.hours() != null ? row.hours() : BigDecimal.ZERO,
+                row.cost() != null ? row.cost() : BigDecimal.ZERO,
+                row.levelId(),
+                row.levelCode(),
+                row.levelLabel());
     }
 
     /**
@@ -221,7 +288,9 @@ public class InternService {
 
         List<Long> sanitizedInternIds = sanitizeInternIds(internIds);
         List<Long> sanitizedGroupIds = sanitizeGroupIds(groupIds);
-        List<PerformanceBucket> buckets = buildBuckets(period, periods);
+        // Reports are bucketed by their UTC day, so "today" and the closed-period boundary are UTC as well.
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        List<PerformanceBucket> buckets = buildBuckets(period, periods, today);
         if (buckets.isEmpty()) {
             return new InternPerformanceResponse(List.of(), List.of());
         }
@@ -231,41 +300,31 @@ public class InternService {
             bucketIndexByStart.put(bucket.from(), bucket.index());
         }
 
-        OffsetDateTime from = buckets.get(0).from().atStartOfDay().atOffset(ZoneOffset.UTC);
-        LocalDate lastStart = buckets.get(buckets.size() - 1).from();
-        OffsetDateTime to = period.nextStart(lastStart).atStartOfDay().atOffset(ZoneOffset.UTC);
-
-        List<InternPerformanceRow> rows = syncDao.listInternPerformance(
-                from,
-                to,
-                period.sqlUnit(),
-                sanitizedInternIds,
-                sanitizedGroupIds);
-
-        Map<Long, InternPerformanceAccumulator> accumulatorMap = new LinkedHashMap<>();
-        for (InternPerformanceRow row : rows) {
-            if (row.periodStart() == null) {
-                continue;
-            }
-            LocalDate bucketStart = row.periodStart().toLocalDate();
-            Integer bucketIndex = bucketIndexByStart.get(bucketStart);
-            if (bucketIndex == null) {
-                continue;
-            }
-            InternPerformanceAccumulator accumulator = accumulatorMap.computeIfAbsent(
-                    row.internId(),
-                    id -> new InternPerformanceAccumulator(
-                            row.internId(),
-                            row.username(),
-                            row.firstName(),
-                            row.lastName(),
-                            buckets.size()));
-            if (row.projectId() == null) {
-                accumulator.setTotalHours(bucketIndex, row.hours());
+        // Closed buckets are cached per period and survive syncs that only add recent reports; the ones
+        // missing from the cache are loaded together in one aggregation. Only the open (current) bucket
+        // is recomputed after every reporting change.
+        List<ReportingCache.Period> closedPeriods = new ArrayList<>(buckets.size());
+        PerformanceBucket openBucket = null;
+        for (PerformanceBucket bucket : buckets) {
+            LocalDate nextStart = period.nextStart(bucket.from());
+            if (!nextStart.isAfter(today)) {
+                closedPeriods.add(new ReportingCache.Period(bucket.from(), nextStart));
             } else {
-                accumulator.addProjectHours(bucketIndex, row.projectId(), row.projectName(), row.hours());
+                openBucket = bucket;
             }
         }
+        List<InternPerformanceColumns> parts = new ArrayList<>(reportingQueries.loadClosedInternPerformance(
+                closedPeriods, period.sqlUnit(), sanitizedInternIds, sanitizedGroupIds));
+        if (openBucket != null) {
+            parts.add(reportingQueries.loadInternPerformance(
+                    openBucket.from().atStartOfDay().atOffset(ZoneOffset.UTC),
+                    period.nextStart(openBucket.from()).atStartOfDay().atOffset(ZoneOffset.UTC),
+                    period.sqlUnit(),
+                    sanitizedInternIds,
+                    sanitizedGroupIds));
+        }
+        Map<Long, InternPerformanceAccumulator> accumulatorMap =
+                InternPerformanceAccumulator.fromColumns(parts, bucketIndexByStart, buckets.size());
 
         List<InternPerformanceIntern> internRows = accumulatorMap.values().stream()
                 .map(accumulator -> accumulator.toResponse(UNASSIGNED_PROJECT_NAME))
@@ -326,6 +385,7 @@ public class InternService {
 
         InternRow updated = applyStatusChange(existing.id(), status.code(), effectiveDate);
         Map<Long, List<GroupRow>> groupMap = dao.findGroupsForInternIds(List.of(updated.id()));
+        events.publishEvent(ReportingDataChangedEvent.forIntern(updated.id()));
         log.info("Intern status updated id={} username={} status={} effective={}", updated.id(), updated.username(), updated.statusCode(), effectiveDate);
         return toResponse(updated, groupMap.getOrDefault(updated.id(), List.of()));
     }
@@ -576,11 +636,10 @@ public class InternService {
         return new ArrayList<>(unique);
     }
 
-    private List<PerformanceBucket> buildBuckets(PerformancePeriod period, int count) {
+    private List<PerformanceBucket> buildBuckets(PerformancePeriod period, int count, LocalDate today) {
         if (count <= 0) {
             return List.of();
         }
-        LocalDate today = LocalDate.now();
         LocalDate anchor = period.alignStart(today);
         LocalDate firstStart = period.addPeriods(anchor, -(count - 1));
         List<PerformanceBucket> buckets = new ArrayList<>(count);
@@ -881,6 +940,46 @@ public class InternService {
             }
         }
 
+        /**
+         * Builds one accumulator per intern (in the DAO's display order) and folds the columnar rows of
+         * every period part into them. The intern list is taken from the most recent part.
+         */
+        static Map<Long, InternPerformanceAccumulator> fromColumns(List<InternPerformanceColumns> parts,
+                                                                   Map<LocalDate, Integer> bucketIndexByStart,
+                                                                   int bucketCount) {
+            Map<Long, InternPerformanceAccumulator> accumulators = new LinkedHashMap<>();
+            if (parts.isEmpty()) {
+                return accumulators;
+            }
+            for (PerformanceIntern intern : parts.get(parts.size() - 1).interns()) {
+                accumulators.put(intern.id(), new InternPerformanceAccumulator(
+                        intern.id(),
+                        intern.username(),
+                        intern.firstName(),
+                        intern.lastName(),
+                        bucketCount));
+            }
+            for (InternPerformanceColumns columns : parts) {
+                long[] internIds = columns.internIds();
+                Long[] projectIds = columns.projectIds();
+                LocalDate[] periodStarts = columns.periodStarts();
+                BigDecimal[] hours = columns.hours();
+                for (int row = 0; row < columns.rowCount(); row++) {
+                    Integer bucketIndex = periodStarts[row] != null ? bucketIndexByStart.get(periodStarts[row]) : null;
+                    InternPerformanceAccumulator accumulator = accumulators.get(internIds[row]);
+                    if (bucketIndex == null || accumulator == null) {
+                        continue;
+                    }
+                    if (projectIds[row] == null) {
+                        accumulator.setTotalHours(bucketIndex, hours[row]);
+                    } else {
+                        accumulator.addProjectHours(bucketIndex, projectIds[row], columns.projectNames()[row], hours[row]);
+                    }
+                }
+            }
+            return accumulators;
+        }
+
         void setTotalHours(int index, BigDecimal value) {
             this.hours[index] = value != null ? value : BigDecimal.ZERO;
         }
@@ -899,7 +998,10 @@ public class InternService {
             for (BigDecimal hour : hours) {
                 values.add(hour);
             }
+            // Parts arrive per period, so restore the name order; the unassigned bucket stays last.
             List<InternPerformanceProject> projectValues = projects.values().stream()
+                    .sorted(Comparator.comparing((InternPerformanceProjectAccumulator project) -> project.projectId == null)
+                            .thenComparing(project -> project.projectName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)))
                     .map(InternPerformanceProjectAccumulator::toResponse)
                     .toList();
             return new InternPerformanceIntern(internId, username, firstName, lastName, values, projectValues);
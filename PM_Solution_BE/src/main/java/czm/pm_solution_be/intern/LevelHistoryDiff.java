@@ -0,0 +1,78 @@
+package czm.pm_solution_be.intern;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Works out which days got a different level when an intern's level history is replaced.
+ *
+ * <p>Both histories are cut at every {@code valid_from} and day after {@code valid_to}; each resulting
+ * segment has a single level on either side, so comparing the segment starts is enough. Adjacent changed
+ * segments are merged. Days that end up without any level are ignored because report costs can only be
+ * recomputed for days covered by the new history.</p>
+ */
+final class LevelHistoryDiff {
+
+    /**
+     * Inclusive day interval whose level changed; {@code to == null} means open-ended.
+     */
+    record ChangedInterval(LocalDate from, LocalDate to) {
+    }
+
+    private LevelHistoryDiff() {
+    }
+
+    static List<ChangedInterval> changedIntervals(List<InternDao.LevelHistoryRow> before,
+                                                  List<InternDao.LevelHistoryInput> after) {
+        List<InternDao.LevelHistoryInput> previous = before.stream()
+                .map(row -> new InternDao.LevelHistoryInput(row.levelId(), row.validFrom(), row.validTo()))
+                .toList();
+        TreeSet<LocalDate> cuts = new TreeSet<>();
+        addCuts(cuts, previous);
+        addCuts(cuts, after);
+
+        List<ChangedInterval> changed = new ArrayList<>();
+        LocalDate openStart = null;
+        LocalDate lastEnd = null;
+        for (LocalDate start : cuts) {
+            LocalDate next = cuts.higher(start);
+            LocalDate end = next != null ? next.minusDays(1) : null;
+            Long newLevel = levelAt(after, start);
+            boolean differs = newLevel != null && !Objects.equals(newLevel, levelAt(previous, start));
+            if (differs) {
+                if (openStart == null) {
+                    openStart = start;
+                }
+                lastEnd = end;
+            } else if (openStart != null) {
+                changed.add(new ChangedInterval(openStart, lastEnd));
+                openStart = null;
+            }
+        }
+        if (openStart != null) {
+            changed.add(new ChangedInterval(openStart, lastEnd));
+        }
+        return changed;
+    }
+
+    private static void addCuts(TreeSet<LocalDate> cuts, List<InternDao.LevelHistoryInput> entries) {
+        for (InternDao.LevelHistoryInput entry : entries) {
+            cuts.add(entry.validFrom());
+            if (entry.validTo() != null) {
+                cuts.add(entry.validTo().plusDays(1));
+            }
+        }
+    }
+
+    private static Long levelAt(List<InternDao.LevelHistoryInput> entries, LocalDate day) {
+        for (InternDao.LevelHistoryInput entry : entries) {
+            if (!day.isBefore(entry.validFrom()) && (entry.validTo() == null || !day.isAfter(entry.validTo()))) {
+                return entry.levelId();
+            }
+        }
+        return null;
+    }
+}
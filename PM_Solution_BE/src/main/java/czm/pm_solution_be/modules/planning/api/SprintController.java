@@ -21,6 +21,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -45,10 +46,10 @@ public class SprintController {
     }
 
     @GetMapping("/history")
-    @Operation(summary = "Historie sprintů", description = "Vrací seznam sprintů projektu seřazený od nejnovějšího.")
+    @Operation(summary = "Historie sprintů", description = "Vrací seznam sprintů projektu seřazený od nejnovějšího včetně souhrnu úkolů.")
     public List<SprintSummaryDto> listHistory(@PathVariable long projectId) {
-        return sprintService.getSprintHistory(projectId).stream()
-                .map(SprintDtoMapper::toSummary)
+        return sprintSummaryService.getSprintHistory(projectId).stream()
+                .map(summary -> SprintDtoMapper.toSummary(summary.sprint(), toTaskSummaryDto(summary.taskSummary()), null))
                 .toList();
     }
 
@@ -70,18 +71,22 @@ public class SprintController {
     }
 
     @GetMapping("/{sprintId}/summary")
-    @Operation(summary = "Souhrn sprintu", description = "Vrací agregované informace a seznam úkolů sprintu.")
-    public SprintSummaryDto getSprintSummary(@PathVariable long projectId, @PathVariable long sprintId) {
-        SprintSummary summary = sprintSummaryService.getSprintSummary(projectId, sprintId);
-        SprintTaskSummary taskSummary = summary.taskSummary();
-        SprintTaskSummaryDto summaryDto = new SprintTaskSummaryDto(
+    @Operation(summary = "Souhrn sprintu", description = "Vrací agregované informace o úkolech sprintu; seznam úkolů jen s includeTasks=true.")
+    public SprintSummaryDto getSprintSummary(@PathVariable long projectId,
+                                             @PathVariable long sprintId,
+                                             @RequestParam(defaultValue = "false") boolean includeTasks) {
+        SprintSummary summary = sprintSummaryService.getSprintSummary(projectId, sprintId, includeTasks);
+        List<WeeklyTaskDto> tasks = summary.tasks() == null ? null : summary.tasks().stream()
+                .map(WeeklyTaskDtoMapper::toDto)
+                .toList();
+        return SprintDtoMapper.toSummary(summary.sprint(), toTaskSummaryDto(summary.taskSummary()), tasks);
+    }
+
+    private static SprintTaskSummaryDto toTaskSummaryDto(SprintTaskSummary taskSummary) {
+        return new SprintTaskSummaryDto(
                 taskSummary.totalTasks(),
                 taskSummary.openTasks(),
                 taskSummary.closedTasks(),
                 taskSummary.totalPlannedHours());
-        List<WeeklyTaskDto> tasks = summary.tasks().stream()
-                .map(WeeklyTaskDtoMapper::toDto)
-                .toList();
-        return SprintDtoMapper.toSummary(summary.sprint(), summaryDto, tasks);
     }
 }
@@ -9,7 +9,10 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Simplified repository providing aggregate information about weekly tasks across projects.
@@ -27,6 +30,31 @@ public class WeeklyTaskRepository {
               AND COALESCE(UPPER(wt.status), UPPER(iss.state), 'OPENED') <> 'CLOSED'
             """;
 
+    /**
+     * Per-sprint task counters. A task is closed when either its own status or its issue state is
+     * {@code closed}; the first placeholder takes that predicate, the second the sprint filter.
+     */
+    private static final String SQL_SUMMARIZE_TASKS_TEMPLATE =
+            """
+            SELECT wt.sprint_id,
+                   COUNT(*) AS total_tasks,
+                   COUNT(*) FILTER (WHERE %1$s) AS closed_tasks,
+                   COALESCE(SUM(wt.planned_hours), 0) AS total_planned_hours
+            FROM weekly_task wt
+            LEFT JOIN issue iss ON iss.id = wt.issue_id
+            WHERE wt.project_id = ?%2$s
+            GROUP BY wt.sprint_id
+            """;
+
+    private static final String CLOSED_TASK_PREDICATE =
+            "LOWER(TRIM(wt.status)) = 'closed' OR LOWER(TRIM(iss.state)) = 'closed'";
+
+    private static final String SQL_SUMMARIZE_TASKS_BY_SPRINT =
+            SQL_SUMMARIZE_TASKS_TEMPLATE.formatted(CLOSED_TASK_PREDICATE, "\n  AND wt.sprint_id = ?");
+
+    private static final String SQL_SUMMARIZE_TASKS_BY_PROJECT =
+            SQL_SUMMARIZE_TASKS_TEMPLATE.formatted(CLOSED_TASK_PREDICATE, "\n  AND wt.sprint_id IS NOT NULL");
+
     private static final String SQL_SELECT_TASKS_BY_SPRINT =
             """
             SELECT wt.id,
@@ -75,6 +103,17 @@ public class WeeklyTaskRepository {
         }
     };
 
+    private static final RowMapper<SprintTaskStats> SPRINT_STATS_MAPPER = (rs, rowNum) -> {
+        long total = rs.getLong("total_tasks");
+        long closed = rs.getLong("closed_tasks");
+        return new SprintTaskStats(
+                rs.getLong("sprint_id"),
+                total,
+                total - closed,
+                closed,
+                rs.getBigDecimal("total_planned_hours"));
+    };
+
     private final JdbcTemplate jdbcTemplate;
 
     public WeeklyTaskRepository(JdbcTemplate jdbcTemplate) {
@@ -86,10 +125,35 @@ public class WeeklyTaskRepository {
         return count == null ? 0L : count;
     }
 
+    public Optional<SprintTaskStats> summarizeTasksBySprint(long projectId, long sprintId) {
+        List<SprintTaskStats> rows = jdbcTemplate.query(SQL_SUMMARIZE_TASKS_BY_SPRINT, SPRINT_STATS_MAPPER,
+                projectId, sprintId);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    /**
+     * Task counters of every sprint of the project in one query; sprints without tasks are absent.
+     */
+    public Map<Long, SprintTaskStats> summarizeTasksByProject(long projectId) {
+        Map<Long, SprintTaskStats> stats = new HashMap<>();
+        jdbcTemplate.query(SQL_SUMMARIZE_TASKS_BY_PROJECT, rs -> {
+            SprintTaskStats row = SPRINT_STATS_MAPPER.mapRow(rs, 0);
+            stats.put(row.sprintId(), row);
+        }, projectId);
+        return stats;
+    }
+
     public List<WeeklyTaskEntity> findTasksBySprint(long projectId, long sprintId) {
         return jdbcTemplate.query(SQL_SELECT_TASKS_BY_SPRINT, TASK_ENTITY_MAPPER, projectId, sprintId);
     }
 
+    public record SprintTaskStats(long sprintId,
+                                  long totalTasks,
+                                  long openTasks,
+                                  long closedTasks,
+                                  BigDecimal totalPlannedHours) {
+    }
+
     public record WeeklyTaskEntity(long id,
                                    long projectId,
                                    Long projectWeekId,
@@ -1,52 +1,61 @@
 package czm.pm_solution_be.modules.planning.service;
 
+import czm.pm_solution_be.modules.planning.repository.WeeklyTaskRepository;
+import czm.pm_solution_be.modules.planning.repository.WeeklyTaskRepository.SprintTaskStats;
 import czm.pm_solution_be.modules.planning.repository.WeeklyTaskRepository.WeeklyTaskEntity;
 import czm.pm_solution_be.planning.sprint.PlanningSprintEntity;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class SprintSummaryService {
 
+    private static final SprintTaskSummary EMPTY_SUMMARY = new SprintTaskSummary(0L, 0L, 0L, BigDecimal.ZERO);
+
     private final SprintService sprintService;
+    private final WeeklyTaskRepository weeklyTaskRepository;
 
-    public SprintSummaryService(SprintService sprintService) {
+    public SprintSummaryService(SprintService sprintService, WeeklyTaskRepository weeklyTaskRepository) {
         this.sprintService = sprintService;
+        this.weeklyTaskRepository = weeklyTaskRepository;
     }
 
-    public SprintSummary getSprintSummary(long projectId, long sprintId) {
+    /**
+     * Counters come from one aggregate query; the task list is only loaded when {@code includeTasks} is set
+     * (otherwise {@link SprintSummary#tasks()} is {@code null}).
+     */
+    public SprintSummary getSprintSummary(long projectId, long sprintId, boolean includeTasks) {
         PlanningSprintEntity sprint = sprintService.requireSprint(projectId, sprintId);
-        List<WeeklyTaskEntity> tasks = sprintService.listSprintTasks(sprint);
-        SprintTaskSummary taskSummary = computeSummary(tasks);
-        return new SprintSummary(sprint, taskSummary, List.copyOf(tasks));
+        SprintTaskSummary taskSummary = weeklyTaskRepository.summarizeTasksBySprint(projectId, sprintId)
+                .map(SprintSummaryService::toSummary)
+                .orElse(EMPTY_SUMMARY);
+        List<WeeklyTaskEntity> tasks = includeTasks ? List.copyOf(sprintService.listSprintTasks(sprint)) : null;
+        return new SprintSummary(sprint, taskSummary, tasks);
     }
 
-    private SprintTaskSummary computeSummary(List<WeeklyTaskEntity> tasks) {
-        long open = 0L;
-        long closed = 0L;
-        BigDecimal hours = BigDecimal.ZERO;
-        for (WeeklyTaskEntity task : tasks) {
-            if (isTaskClosed(task)) {
-                closed++;
-            } else {
-                open++;
-            }
-            if (task.plannedHours() != null) {
-                hours = hours.add(task.plannedHours());
-            }
+    /**
+     * Every sprint of the project, newest first, each with its task counters; two queries in total.
+     */
+    public List<SprintSummary> getSprintHistory(long projectId) {
+        List<PlanningSprintEntity> sprints = sprintService.getSprintHistory(projectId);
+        if (sprints.isEmpty()) {
+            return List.of();
         }
-        return new SprintTaskSummary(tasks.size(), open, closed, hours);
+        Map<Long, SprintTaskStats> stats = weeklyTaskRepository.summarizeTasksByProject(projectId);
+        return sprints.stream()
+                .map(sprint -> {
+                    SprintTaskStats row = stats.get(sprint.id());
+                    return new SprintSummary(sprint, row == null ? EMPTY_SUMMARY : toSummary(row), null);
+                })
+                .toList();
     }
 
-    private boolean isTaskClosed(WeeklyTaskEntity task) {
-        String status = task.taskStatus();
-        if (status != null && "closed".equalsIgnoreCase(status.trim())) {
-            return true;
-        }
-        String state = task.issueState();
-        return state != null && "closed".equalsIgnoreCase(state.trim());
+    private static SprintTaskSummary toSummary(SprintTaskStats stats) {
+        return new SprintTaskSummary(stats.totalTasks(), stats.openTasks(), stats.closedTasks(),
+                stats.totalPlannedHours());
     }
 
     public record SprintSummary(PlanningSprintEntity sprint,
@@ -12,23 +12,20 @@ import java.util.Objects;
 
 /**
  * Repository responsible for aggregating current capacity information for planning dashboards.
+ *
+ * <p>Project statuses come from {@code project_capacity_current} (one row per project), so the cost does
+ * not grow with the report history.</p>
  */
 @Repository
 public class PlanningCapacityRepository {
 
     private static final String SQL_PROJECT_STATUS_COUNTS =
             """
-            WITH latest AS (
-                SELECT DISTINCT ON (r.project_id) r.id,
-                                                r.project_id
-                FROM project_capacity_report r
-                ORDER BY r.project_id, r.reported_at DESC, r.id DESC
-            ),
-            latest_statuses AS (
-                SELECT l.project_id,
+            WITH latest_statuses AS (
+                SELECT c.project_id,
                        rs.status_code
-                FROM latest l
-                JOIN project_capacity_report_status rs ON rs.report_id = l.id
+                FROM project_capacity_current c
+                JOIN project_capacity_report_status rs ON rs.report_id = c.report_id
             )
             SELECT cs.code,
                    cs.label,
@@ -42,17 +39,11 @@ public class PlanningCapacityRepository {
 
     private static final String SQL_PROJECTS_BY_STATUS =
             """
-            WITH latest AS (
-                SELECT DISTINCT ON (r.project_id) r.id,
-                                                r.project_id
-                FROM project_capacity_report r
-                ORDER BY r.project_id, r.reported_at DESC, r.id DESC
-            ),
-            latest_statuses AS (
-                SELECT l.project_id,
+            WITH latest_statuses AS (
+                SELECT c.project_id,
                        rs.status_code
-                FROM latest l
-                JOIN project_capacity_report_status rs ON rs.report_id = l.id
+                FROM project_capacity_current c
+                JOIN project_capacity_report_status rs ON rs.report_id = c.report_id
             )
             SELECT ls.status_code,
                    p.id          AS project_id,
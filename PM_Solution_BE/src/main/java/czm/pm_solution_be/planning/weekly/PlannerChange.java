@@ -0,0 +1,50 @@
+package czm.pm_solution_be.planning.weekly;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import czm.pm_solution_be.planning.weekly.WeeklyPlannerService.TaskDetail;
+
+import java.util.List;
+
+/**
+ * Compact delta of one planner mutation, sent to every subscribed client of the project.
+ *
+ * <p>{@code tasks} carry the current state of created/updated/moved tasks in the same shape as the REST
+ * responses, {@code deletedTaskIds} the removed ones. When the task list does not fit into a
+ * {@code pg_notify} payload it is dropped and {@code truncated} is set; clients then reload the week.</p>
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record PlannerChange(Type type,
+        long projectId,
+        Long weekId,
+        List<TaskDetail> tasks,
+        List<Long> deletedTaskIds,
+        boolean truncated) {
+
+    public enum Type {
+        TASKS_CREATED,
+        TASKS_UPDATED,
+        TASKS_MOVED,
+        TASK_STATUS_CHANGED,
+        TASKS_DELETED,
+        TASKS_CARRIED_OVER,
+        WEEK_CLOSED,
+        WEEKS_CHANGED,
+        BULK_CHANGED
+    }
+
+    static PlannerChange tasks(Type type, long projectId, Long weekId, List<TaskDetail> tasks) {
+        return new PlannerChange(type, projectId, weekId, List.copyOf(tasks), List.of(), false);
+    }
+
+    static PlannerChange deleted(long projectId, Long weekId, List<Long> taskIds) {
+        return new PlannerChange(Type.TASKS_DELETED, projectId, weekId, List.of(), List.copyOf(taskIds), false);
+    }
+
+    static PlannerChange weeksChanged(long projectId) {
+        return new PlannerChange(Type.WEEKS_CHANGED, projectId, null, List.of(), List.of(), false);
+    }
+
+    PlannerChange withoutTasks() {
+        return new PlannerChange(type, projectId, weekId, List.of(), deletedTaskIds, true);
+    }
+}
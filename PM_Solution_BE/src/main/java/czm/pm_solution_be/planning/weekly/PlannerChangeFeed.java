@@ -0,0 +1,176 @@
+package czm.pm_solution_be.planning.weekly;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import czm.pm_solution_be.config.PgNotificationListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Listens on the {@value PlannerChangePublisher#CHANNEL} channel and forwards every notification to the
+ * SSE clients of the affected project connected to this instance.
+ *
+ * <p>Notifications arrive through the instance's shared {@link PgNotificationListener} connection, from this
+ * and all other instances alike, so fan-out works across any number of backends.
+ * A comment is sent every {@value #HEARTBEAT_SECONDS} s to keep idle streams open behind proxies.</p>
+ *
+ * <p>The notification listener thread never writes to a client itself: every client has a queue of at most
+ * {@value #MAX_PENDING_EVENTS} events drained by its own virtual thread. A client whose queue is full has
+ * fallen behind and is disconnected (it reloads on reconnect), so one stalled connection cannot hold up
+ * delivery to the others or keep the notification queue from draining.</p>
+ */
+@Component
+public class PlannerChangeFeed implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(PlannerChangeFeed.class);
+    static final long EMITTER_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30);
+    static final int HEARTBEAT_SECONDS = 25;
+    static final int MAX_PENDING_EVENTS = 64;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor();
+    private final ObjectMapper objectMapper;
+
+    public PlannerChangeFeed(PgNotificationListener notifications, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        notifications.listen(PlannerChangePublisher.CHANNEL, this::dispatch);
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Opens an event stream delivering {@link PlannerChange} deltas of the project as {@code planner-change}
+     * events.
+     */
+    public SseEmitter subscribe(long projectId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber(projectId, emitter);
+        emitter.onCompletion(subscriber::detach);
+        emitter.onTimeout(subscriber::detach);
+        emitter.onError(ex -> subscriber.detach());
+        subscribers.computeIfAbsent(projectId, id -> new CopyOnWriteArraySet<>()).add(subscriber);
+        subscriber.start();
+        return emitter;
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.projectId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private void dispatch(String payload) {
+        long projectId;
+        try {
+            JsonNode node = objectMapper.readTree(payload);
+            projectId = node.path("projectId").asLong(-1);
+        } catch (IOException ex) {
+            log.warn("Ignoring malformed planner change payload: {}", ex.getMessage());
+            return;
+        }
+        Set<Subscriber> projectSubscribers = subscribers.get(projectId);
+        if (projectSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : projectSubscribers) {
+            subscriber.offer(SseEmitter.event().name("planner-change").data(payload, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private void sendHeartbeat() {
+        subscribers.values().forEach(projectSubscribers -> {
+            for (Subscriber subscriber : projectSubscribers) {
+                subscriber.offer(SseEmitter.event().comment("heartbeat"));
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        heartbeat.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.close(null)));
+        subscribers.clear();
+    }
+
+    /**
+     * One SSE client. Events are queued without blocking by the listener and heartbeat threads and written by
+     * the client's own virtual thread.
+     */
+    private final class Subscriber {
+        private final long projectId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(MAX_PENDING_EVENTS);
+        private final Thread writer;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(long projectId, SseEmitter emitter) {
+            this.projectId = projectId;
+            this.emitter = emitter;
+            this.writer = Thread.ofVirtual().name("planner-sse-" + projectId).unstarted(this::drain);
+        }
+
+        private void start() {
+            writer.start();
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!pending.offer(event)) {
+                log.warn("Disconnecting a planner change client of project {}: {} events pending",
+                        projectId, MAX_PENDING_EVENTS);
+                close(new IllegalStateException("Planner change client fell behind"));
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed.get()) {
+                    emitter.send(pending.take());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException ex) {
+                close(ex);
+            }
+        }
+
+        /** Stops delivery after the emitter finished on its own (completion, timeout or error callback). */
+        private void detach() {
+            if (closed.compareAndSet(false, true)) {
+                unregister(this);
+                writer.interrupt();
+            }
+        }
+
+        /** Stops delivery and completes the emitter; {@code error} is {@code null} for a regular shutdown. */
+        private void close(Throwable error) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            unregister(this);
+            writer.interrupt();
+            if (error == null) {
+                emitter.complete();
+            } else {
+                emitter.completeWithError(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package czm.pm_solution_be.planning.weekly;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sends {@link PlannerChange} deltas through {@code pg_notify} so that every backend instance (each runs a
+ * {@link PlannerChangeFeed}) can forward them to its own SSE clients.
+ *
+ * <p>Publishing is best effort: the mutation has already been committed, so a failed notify is only
+ * logged and clients catch up on their next reload.</p>
+ */
+@Component
+public class PlannerChangePublisher {
+    private static final Logger log = LoggerFactory.getLogger(PlannerChangePublisher.class);
+    static final String CHANNEL = "planner_changes";
+    /** PostgreSQL rejects NOTIFY payloads of 8000 bytes and more; keep some headroom. */
+    static final int MAX_PAYLOAD_BYTES = 7_500;
+
+    private final JdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+
+    public PlannerChangePublisher(JdbcTemplate jdbc, ObjectMapper objectMapper) {
+        this.jdbc = jdbc;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Publishes the change once the current transaction commits, or right away without one.
+     */
+    public void publish(PlannerChange change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send(change);
+            }
+        });
+    }
+
+    private void send(PlannerChange change) {
+        try {
+            String payload = objectMapper.writeValueAsString(change);
+            if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+                payload = objectMapper.writeValueAsString(change.withoutTasks());
+            }
+            String notification = payload;
+            jdbc.execute("SELECT pg_notify(?, ?)", (PreparedStatementCallback<Boolean>) ps -> {
+                ps.setString(1, CHANNEL);
+                ps.setString(2, notification);
+                return ps.execute();
+            });
+        } catch (JsonProcessingException | RuntimeException ex) {
+            log.warn("Publishing planner change {} of project {} failed: {}", change.type(), change.projectId(),
+                    ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package czm.pm_solution_be.planning.weekly;
+
+import czm.pm_solution_be.modules.planning.service.SprintService;
+import czm.pm_solution_be.planning.sprint.PlanningSprintEntity;
+import czm.pm_solution_be.planning.weekly.WeeklyPlannerRepository.ProjectConfigurationRow;
+import czm.pm_solution_be.web.ApiException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Planner lookups shared by every service call of one HTTP request: the project configuration, the
+ * active sprint, sprints by id and the id of the current week are loaded at most once per project.
+ *
+ * <p>The context lives in the request attributes; outside of a web request (no attributes bound) each
+ * call gets a fresh, unshared instance. Methods that change the cached data call {@link #projectChanged()}
+ * or {@link #weeksChanged()}.</p>
+ */
+final class PlannerRequestContext {
+
+    private static final String ATTRIBUTE_PREFIX = PlannerRequestContext.class.getName() + ".";
+
+    private final long projectId;
+    private final WeeklyPlannerRepository repository;
+    private final SprintService sprintService;
+    private final Map<Long, PlanningSprintEntity> sprintsById = new HashMap<>();
+    private ProjectConfigurationRow project;
+    private PlanningSprintEntity activeSprint;
+    private LocalDate currentWeekStart;
+    private Optional<Long> currentWeekId;
+
+    private PlannerRequestContext(long projectId, WeeklyPlannerRepository repository, SprintService sprintService) {
+        this.projectId = projectId;
+        this.repository = repository;
+        this.sprintService = sprintService;
+    }
+
+    static PlannerRequestContext of(long projectId, WeeklyPlannerRepository repository, SprintService sprintService) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return new PlannerRequestContext(projectId, repository, sprintService);
+        }
+        String key = ATTRIBUTE_PREFIX + projectId;
+        if (attributes.getAttribute(key, RequestAttributes.SCOPE_REQUEST) instanceof PlannerRequestContext existing) {
+            return existing;
+        }
+        PlannerRequestContext context = new PlannerRequestContext(projectId, repository, sprintService);
+        attributes.setAttribute(key, context, RequestAttributes.SCOPE_REQUEST);
+        return context;
+    }
+
+    ProjectConfigurationRow project() {
+        if (project == null) {
+            project = repository.findProjectConfiguration(projectId)
+                    .orElseThrow(() -> ApiException.notFound("Projekt nebyl nalezen.", "project"));
+        }
+        return project;
+    }
+
+    PlanningSprintEntity activeSprint() {
+        if (activeSprint == null) {
+            activeSprint = sprintService.requireActiveSprint(projectId);
+            sprintsById.put(activeSprint.id(), activeSprint);
+        }
+        return activeSprint;
+    }
+
+    PlanningSprintEntity sprint(long sprintId) {
+        return sprintsById.computeIfAbsent(sprintId, id -> sprintService.requireSprint(projectId, id));
+    }
+
+    /**
+     * Id of the week starting at {@code weekStart}, or {@code null} when it has not been generated yet.
+     */
+    Long currentWeekId(LocalDate weekStart) {
+        if (currentWeekId == null || !weekStart.equals(currentWeekStart)) {
+            currentWeekId = repository.findProjectWeekId(projectId, weekStart);
+            currentWeekStart = weekStart;
+        }
+        return currentWeekId.orElse(null);
+    }
+
+    void projectChanged() {
+        project = null;
+        currentWeekId = null;
+    }
+
+    void weeksChanged() {
+        currentWeekId = null;
+    }
+}
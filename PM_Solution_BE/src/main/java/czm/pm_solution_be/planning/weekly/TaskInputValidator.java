@@ -0,0 +1,142 @@
+package czm.pm_solution_be.planning.weekly;
+
+import czm.pm_solution_be.planning.weekly.WeeklyPlannerService.TaskInput;
+import czm.pm_solution_be.web.ApiException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Validates any number of task inputs with a fixed number of queries: field checks run while inputs are
+ * {@linkplain #add added}, the issue and intern references of all inputs are resolved together by
+ * {@link #validate()} (one {@code = ANY} query each).
+ *
+ * <p>A single invalid entry is reported with its own error, exactly as the single-task endpoints always
+ * did. Several invalid entries produce one validation error listing all of them.</p>
+ */
+final class TaskInputValidator {
+
+    private static final BigDecimal MAX_WEEKLY_HOURS = new BigDecimal("168");
+    private static final Set<String> ALLOWED_STATUSES = Set.of("opened", "closed", "in_progress");
+
+    private final WeeklyPlannerRepository repository;
+    private final long projectId;
+    private final List<Entry> entries = new ArrayList<>();
+    private final List<Failure> failures = new ArrayList<>();
+
+    TaskInputValidator(WeeklyPlannerRepository repository, long projectId) {
+        this.repository = repository;
+        this.projectId = projectId;
+    }
+
+    /**
+     * @param target    label of the entry in the error report, e.g. {@code create[2]}
+     * @param weekStart start of the week the task is planned in, {@code null} for the backlog
+     */
+    TaskInputValidator add(String target, LocalDate weekStart, TaskInput input) {
+        if (input == null) {
+            fail(target, ApiException.validation("Tělo požadavku je povinné.", "task_body_required"));
+            return this;
+        }
+        if (input.plannedHours() != null) {
+            BigDecimal hours = input.plannedHours().setScale(2, RoundingMode.HALF_UP);
+            if (hours.compareTo(BigDecimal.ZERO) < 0) {
+                fail(target, ApiException.validation("Počet hodin nesmí být záporný.", "planned_hours_negative"));
+            } else if (hours.compareTo(MAX_WEEKLY_HOURS) > 0) {
+                fail(target, ApiException.validation("Počet hodin nesmí překročit " + MAX_WEEKLY_HOURS + ".",
+                        "planned_hours_exceeded"));
+            }
+        }
+        if (input.status() != null) {
+            String status = input.status().trim().toLowerCase(Locale.ROOT);
+            if (status.isEmpty()) {
+                fail(target, ApiException.validation("Status je povinný.", "issue_status_required"));
+            } else if (!ALLOWED_STATUSES.contains(status)) {
+                fail(target, ApiException.validation("Status může být pouze OPENED, CLOSED nebo IN_PROGRESS.",
+                        "issue_status_invalid"));
+            }
+        }
+        Long issueId = input.issueId();
+        if (issueId != null && issueId <= 0) {
+            fail(target, ApiException.validation("ID issue musí být kladné.", "issue_id_invalid"));
+            issueId = null;
+        }
+        Long internId = input.internId();
+        if (internId != null && internId <= 0) {
+            fail(target, ApiException.validation("ID stážisty musí být kladné.", "intern_id_invalid"));
+            internId = null;
+        }
+        if (input.deadline() != null && weekStart != null) {
+            LocalDate weekEnd = weekStart.plusDays(6);
+            if (input.deadline().isBefore(weekStart) || input.deadline().isAfter(weekEnd)) {
+                fail(target, ApiException.validation("Deadline musí spadat do vybraného týdne.",
+                        "deadline_out_of_range"));
+            }
+        }
+        if (issueId != null || internId != null) {
+            entries.add(new Entry(target, issueId, internId));
+        }
+        return this;
+    }
+
+    /**
+     * Resolves the collected issue and intern references and throws when any entry is invalid.
+     */
+    void validate() {
+        Set<Long> issueIds = new LinkedHashSet<>();
+        Set<Long> internIds = new LinkedHashSet<>();
+        for (Entry entry : entries) {
+            if (entry.issueId() != null) {
+                issueIds.add(entry.issueId());
+            }
+            if (entry.internId() != null) {
+                internIds.add(entry.internId());
+            }
+        }
+        Map<Long, Boolean> issues = repository.checkIssuesInProject(projectId, issueIds);
+        Set<Long> assignedInterns = repository.findInternsAssignedToProject(projectId, internIds);
+        for (Entry entry : entries) {
+            if (entry.issueId() != null) {
+                Boolean inProject = issues.get(entry.issueId());
+                if (inProject == null) {
+                    fail(entry.target(), ApiException.notFound("Issue nebylo nalezeno.", "issue"));
+                } else if (!inProject) {
+                    fail(entry.target(), ApiException.validation("Issue nepatří do vybraného projektu.",
+                            "issue_project_mismatch"));
+                }
+            }
+            if (entry.internId() != null && !assignedInterns.contains(entry.internId())) {
+                fail(entry.target(), ApiException.validation("Stážista není přiřazen k projektu.",
+                        "intern_project_mismatch"));
+            }
+        }
+        if (failures.size() == 1) {
+            throw failures.get(0).error();
+        }
+        if (!failures.isEmpty()) {
+            List<ApiException.Violation> violations = failures.stream()
+                    .map(failure -> new ApiException.Violation(failure.target(), failure.error().getMessage(),
+                            failure.error().getDetails()))
+                    .toList();
+            throw ApiException.validation("Požadavek obsahuje " + failures.size() + " neplatných položek.",
+                    "task_batch_invalid", violations);
+        }
+    }
+
+    private void fail(String target, ApiException error) {
+        failures.add(new Failure(target, error));
+    }
+
+    private record Entry(String target, Long issueId, Long internId) {
+    }
+
+    private record Failure(String target, ApiException error) {
+    }
+}
@@ -0,0 +1,237 @@
+package czm.pm_solution_be.planning.weekly;
+
+import czm.pm_solution_be.planning.weekly.WeeklyPlannerRepository.InternWeekLoadRow;
+import czm.pm_solution_be.planning.weekly.WeeklyPlannerRepository.InternWorkloadRow;
+import czm.pm_solution_be.planning.weekly.WeeklyPlannerRepository.WeeklyTaskRow;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Proposes weeks for backlog tasks without touching the database.
+ *
+ * <p>Tasks are ordered by their effective deadline (issue due date capped by the sprint deadline, tasks
+ * without one last), then by planned hours descending so large tasks get placed while there is still
+ * room. Each task goes into the earliest week in which its intern has enough hours left both on this
+ * project ({@code intern_project.workload_hours}) and in total over all of their projects, counting what
+ * is already planned. When no week up to the deadline fits, the earliest later week is used and the
+ * assignment is marked late.</p>
+ *
+ * <p>Hours are tracked as whole hundredths in {@code long} arrays, so a run is O(tasks × weeks) without
+ * allocation per step.</p>
+ */
+final class WeeklyPlanGenerator {
+
+    static final String REASON_INTERN_MISSING = "intern_missing";
+    static final String REASON_PLANNED_HOURS_MISSING = "planned_hours_missing";
+    static final String REASON_WORKLOAD_MISSING = "workload_missing";
+    static final String REASON_NO_WEEKS = "no_weeks";
+    static final String REASON_NO_CAPACITY = "no_capacity";
+
+    private WeeklyPlanGenerator() {
+    }
+
+    /**
+     * @param weekStarts start dates of the candidate weeks in ascending order
+     * @param loads      planned hours per intern and week start over all projects; rows are attributed to
+     *                   the candidate week starting at most three days away
+     */
+    static Plan generate(List<LocalDate> weekStarts,
+            List<WeeklyTaskRow> tasks,
+            LocalDate sprintDeadline,
+            List<InternWorkloadRow> workloads,
+            List<InternWeekLoadRow> loads) {
+        int weekCount = weekStarts.size();
+        Map<Long, InternState> interns = new HashMap<>();
+        for (InternWorkloadRow workload : workloads) {
+            if (workload.projectWorkloadHours() == null) {
+                continue;
+            }
+            long projectCap = toHundredths(workload.projectWorkloadHours());
+            long totalCap = workload.totalWorkloadHours() == null ? projectCap
+                    : toHundredths(workload.totalWorkloadHours());
+            interns.put(workload.internId(), new InternState(workload, weekCount, projectCap, totalCap));
+        }
+        for (InternWeekLoadRow load : loads) {
+            InternState intern = interns.get(load.internId());
+            int weekIndex = weekIndexOf(weekStarts, load.weekStartDate());
+            if (intern == null || weekIndex < 0) {
+                continue;
+            }
+            long projectHours = toHundredths(load.projectHours());
+            intern.planned[weekIndex] += projectHours;
+            intern.projectLeft[weekIndex] -= projectHours;
+            intern.totalLeft[weekIndex] -= toHundredths(load.totalHours());
+        }
+        for (InternState intern : interns.values()) {
+            for (int w = 0; w < weekCount; w++) {
+                intern.available[w] = Math.max(0, intern.left(w));
+            }
+        }
+
+        List<Candidate> candidates = new ArrayList<>(tasks.size());
+        List<Unplanned> unplanned = new ArrayList<>();
+        for (WeeklyTaskRow task : tasks) {
+            if (isClosed(task)) {
+                continue;
+            }
+            if (task.internId() == null) {
+                unplanned.add(new Unplanned(task, REASON_INTERN_MISSING));
+            } else if (task.plannedHours() == null || task.plannedHours().signum() <= 0) {
+                unplanned.add(new Unplanned(task, REASON_PLANNED_HOURS_MISSING));
+            } else if (!interns.containsKey(task.internId())) {
+                unplanned.add(new Unplanned(task, REASON_WORKLOAD_MISSING));
+            } else if (weekCount == 0) {
+                unplanned.add(new Unplanned(task, REASON_NO_WEEKS));
+            } else {
+                candidates.add(new Candidate(task, effectiveDeadline(task, sprintDeadline),
+                        toHundredths(task.plannedHours())));
+            }
+        }
+        candidates.sort(Comparator.comparing(Candidate::deadline, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(Comparator.comparingLong(Candidate::hours).reversed())
+                .thenComparingLong(candidate -> candidate.task().id()));
+
+        List<Assignment> assignments = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            InternState intern = interns.get(candidate.task().internId());
+            int lastOnTime = lastWeekStartingBy(weekStarts, candidate.deadline());
+            int week = firstFit(intern, candidate.hours(), 0, lastOnTime + 1);
+            boolean late = false;
+            if (week < 0) {
+                week = firstFit(intern, candidate.hours(), lastOnTime + 1, weekCount);
+                late = true;
+            }
+            if (week < 0) {
+                unplanned.add(new Unplanned(candidate.task(), REASON_NO_CAPACITY));
+                continue;
+            }
+            intern.projectLeft[week] -= candidate.hours();
+            intern.totalLeft[week] -= candidate.hours();
+            intern.proposed[week] += candidate.hours();
+            assignments.add(new Assignment(candidate.task(), week, late));
+        }
+
+        List<InternWeek> capacity = new ArrayList<>(interns.size() * weekCount);
+        interns.values().stream()
+                .sorted(Comparator.comparingLong(intern -> intern.workload.internId()))
+                .forEach(intern -> {
+                    for (int w = 0; w < weekCount; w++) {
+                        capacity.add(new InternWeek(intern.workload.internId(),
+                                intern.workload.internName(),
+                                w,
+                                intern.workload.projectWorkloadHours(),
+                                fromHundredths(intern.planned[w]),
+                                fromHundredths(intern.available[w]),
+                                fromHundredths(intern.proposed[w])));
+                    }
+                });
+        return new Plan(List.copyOf(assignments), List.copyOf(unplanned), List.copyOf(capacity));
+    }
+
+    private static int firstFit(InternState intern, long hours, int fromWeek, int toWeekExclusive) {
+        for (int w = fromWeek; w < toWeekExclusive; w++) {
+            if (intern.left(w) >= hours) {
+                return w;
+            }
+        }
+        return -1;
+    }
+
+    /** Index of the last week starting on or before {@code deadline}; all weeks without a deadline. */
+    private static int lastWeekStartingBy(List<LocalDate> weekStarts, LocalDate deadline) {
+        if (deadline == null) {
+            return weekStarts.size() - 1;
+        }
+        int last = -1;
+        for (int w = 0; w < weekStarts.size() && !weekStarts.get(w).isAfter(deadline); w++) {
+            last = w;
+        }
+        return last;
+    }
+
+    private static int weekIndexOf(List<LocalDate> weekStarts, LocalDate date) {
+        for (int w = 0; w < weekStarts.size(); w++) {
+            if (Math.abs(ChronoUnit.DAYS.between(weekStarts.get(w), date)) <= 3) {
+                return w;
+            }
+        }
+        return -1;
+    }
+
+    private static LocalDate effectiveDeadline(WeeklyTaskRow task, LocalDate sprintDeadline) {
+        LocalDate due = task.issueDueDate();
+        if (due == null) {
+            return sprintDeadline;
+        }
+        return sprintDeadline != null && sprintDeadline.isBefore(due) ? sprintDeadline : due;
+    }
+
+    private static boolean isClosed(WeeklyTaskRow task) {
+        String status = task.issueId() != null ? task.issueState() : task.status();
+        return status != null && status.toLowerCase(Locale.ROOT).equals("closed");
+    }
+
+    private static long toHundredths(BigDecimal hours) {
+        return hours == null ? 0 : hours.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal fromHundredths(long hundredths) {
+        return BigDecimal.valueOf(hundredths, 2);
+    }
+
+    private static final class InternState {
+        private final InternWorkloadRow workload;
+        private final long[] projectLeft;
+        private final long[] totalLeft;
+        private final long[] planned;
+        private final long[] available;
+        private final long[] proposed;
+
+        private InternState(InternWorkloadRow workload, int weekCount, long projectCap, long totalCap) {
+            this.workload = workload;
+            this.projectLeft = new long[weekCount];
+            this.totalLeft = new long[weekCount];
+            this.planned = new long[weekCount];
+            this.available = new long[weekCount];
+            this.proposed = new long[weekCount];
+            Arrays.fill(projectLeft, projectCap);
+            Arrays.fill(totalLeft, totalCap);
+        }
+
+        private long left(int week) {
+            return Math.min(projectLeft[week], totalLeft[week]);
+        }
+    }
+
+    private record Candidate(WeeklyTaskRow task, LocalDate deadline, long hours) {
+    }
+
+    record Assignment(WeeklyTaskRow task, int weekIndex, boolean late) {
+    }
+
+    record Unplanned(WeeklyTaskRow task, String reason) {
+    }
+
+    /** Hours of one intern in one candidate week; {@code availableHours} is before the proposal. */
+    record InternWeek(long internId,
+            String internName,
+            int weekIndex,
+            BigDecimal workloadHours,
+            BigDecimal plannedHours,
+            BigDecimal availableHours,
+            BigDecimal proposedHours) {
+    }
+
+    record Plan(List<Assignment> assignments, List<Unplanned> unplanned, List<InternWeek> capacity) {
+    }
+}
@@ -1,15 +1,25 @@
 package czm.pm_solution_be.planning.weekly;
 
+import czm.pm_solution_be.planning.weekly.WeeklyPlannerService.BulkTaskCreate;
+import czm.pm_solution_be.planning.weekly.WeeklyPlannerService.BulkTaskInput;
+import czm.pm_solution_be.planning.weekly.WeeklyPlannerService.BulkTaskMove;
+import czm.pm_solution_be.planning.weekly.WeeklyPlannerService.BulkTaskResult;
+import czm.pm_solution_be.planning.weekly.WeeklyPlannerService.BulkTaskUpdate;
+import czm.pm_solution_be.planning.weekly.WeeklyPlannerService.PlanProposal;
 import czm.pm_solution_be.planning.weekly.WeeklyPlannerService.PlannerMetadata;
 import czm.pm_solution_be.planning.weekly.WeeklyPlannerService.TaskDetail;
 import czm.pm_solution_be.planning.weekly.WeeklyPlannerService.TaskInput;
+import czm.pm_solution_be.planning.weekly.WeeklyPlannerService.TaskPage;
 import czm.pm_solution_be.planning.weekly.WeeklyPlannerService.WeekCollection;
 import czm.pm_solution_be.planning.weekly.WeeklyPlannerService.WeekConfiguration;
 import czm.pm_solution_be.planning.weekly.WeeklyPlannerService.WeekDetail;
+import czm.pm_solution_be.planning.weekly.WeeklyPlannerService.WeekSummaryCollection;
 import czm.pm_solution_be.planning.weekly.WeeklyPlannerService.WeekWithMetadata;
 import czm.pm_solution_be.planning.weekly.WeeklyPlannerService.WeeklySummary;
 import czm.pm_solution_be.web.ApiException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,9 +27,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -31,9 +43,16 @@ import java.util.List;
 public class WeeklyPlannerController {
 
     private final WeeklyPlannerService service;
+    private final PlannerChangeFeed changeFeed;
 
-    public WeeklyPlannerController(WeeklyPlannerService service) {
+    public WeeklyPlannerController(WeeklyPlannerService service, PlannerChangeFeed changeFeed) {
         this.service = service;
+        this.changeFeed = changeFeed;
+    }
+
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@PathVariable long projectId) {
+        return changeFeed.subscribe(projectId);
     }
 
     @GetMapping("/settings")
@@ -74,6 +93,31 @@ public class WeeklyPlannerController {
         return toWeekCollectionResponse(weeks);
     }
 
+    @GetMapping("/weeks/summaries")
+    public WeekSummaryCollectionResponse listWeekSummaries(@PathVariable long projectId,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) Long sprintId) {
+        WeekSummaryCollection summaries = service.listWeekSummaries(projectId, sprintId, limit, offset);
+        List<WeekSummaryResponse> weeks = summaries.weeks().stream()
+                .map(week -> new WeekSummaryResponse(week.id(), week.projectId(), week.sprintId(), week.weekStart(),
+                        week.weekEnd(), week.createdAt(), week.updatedAt(), week.version(), week.taskCount(),
+                        week.plannedHours(),
+                        week.openTaskCount(), week.closedTaskCount()))
+                .toList();
+        return new WeekSummaryCollectionResponse(weeks, toMetadataResponse(summaries.metadata()));
+    }
+
+    @GetMapping("/weeks/{projectWeekId}/tasks")
+    public TaskPageResponse listWeekTasks(@PathVariable long projectId,
+            @PathVariable long projectWeekId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int limit) {
+        TaskPage page = service.listWeekTasks(projectId, projectWeekId, after, limit);
+        return new TaskPageResponse(page.items().stream().map(this::toTaskResponse).toList(), page.nextAfter(),
+                page.limit());
+    }
+
     @GetMapping("/weeks/{projectWeekId}")
     public WeekWithMetadataResponse getWeek(@PathVariable long projectId,
             @PathVariable long projectWeekId,
@@ -104,46 +148,54 @@ public class WeeklyPlannerController {
     }
 
     @DeleteMapping("/weeks/{projectWeekId}")
-    public ResponseEntity<Void> deleteWeek(@PathVariable long projectId, @PathVariable long projectWeekId) {
-        service.deleteWeek(projectId, projectWeekId);
+    public ResponseEntity<Void> deleteWeek(@PathVariable long projectId,
+            @PathVariable long projectWeekId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        service.deleteWeek(projectId, projectWeekId, requireIfMatch(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
     @PutMapping("/weeks/{projectWeekId}/tasks/{taskId}")
-    public TaskDetailResponse updateTask(@PathVariable long projectId,
+    public ResponseEntity<TaskDetailResponse> updateTask(@PathVariable long projectId,
             @PathVariable long projectWeekId,
             @PathVariable long taskId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody WeeklyTaskRequest request) {
         if (request == null) {
             throw ApiException.validation("Request nesmí být prázdný.", "request_required");
         }
-        TaskDetail updated = service.updateTask(projectId, projectWeekId, taskId, toTaskInput(request));
-        return toTaskResponse(updated);
+        TaskDetail updated = service.updateTask(projectId, projectWeekId, taskId, requireIfMatch(ifMatch),
+                toTaskInput(request));
+        return withETag(updated);
     }
 
     @DeleteMapping("/weeks/{projectWeekId}/tasks/{taskId}")
     public ResponseEntity<Void> deleteTask(@PathVariable long projectId,
             @PathVariable long projectWeekId,
-            @PathVariable long taskId) {
-        service.deleteTask(projectId, projectWeekId, taskId);
+            @PathVariable long taskId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        service.deleteTask(projectId, projectWeekId, taskId, requireIfMatch(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/weeks/{projectWeekId}/tasks/{taskId}/status")
-    public TaskDetailResponse changeStatus(@PathVariable long projectId,
+    public ResponseEntity<TaskDetailResponse> changeStatus(@PathVariable long projectId,
             @PathVariable long projectWeekId,
             @PathVariable long taskId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody ChangeStatusRequest request) {
         if (request == null) {
             throw ApiException.validation("Request nesmí být prázdný.", "request_required");
         }
-        TaskDetail updated = service.changeStatus(projectId, projectWeekId, taskId, request.status());
-        return toTaskResponse(updated);
+        TaskDetail updated = service.changeStatus(projectId, projectWeekId, taskId, requireIfMatch(ifMatch),
+                request.status());
+        return withETag(updated);
     }
 
     @PutMapping("/tasks/{taskId}/assignment")
-    public TaskDetailResponse assignTask(@PathVariable long projectId,
+    public ResponseEntity<TaskDetailResponse> assignTask(@PathVariable long projectId,
             @PathVariable long taskId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody TaskAssignmentRequest request) {
         if (request == null) {
             throw ApiException.validation("Request nesmí být prázdný.", "request_required");
@@ -152,8 +204,66 @@ public class WeeklyPlannerController {
         if (request.destination() != null && "backlog".equalsIgnoreCase(request.destination().trim())) {
             targetWeekId = null;
         }
-        TaskDetail updated = service.assignTask(projectId, taskId, targetWeekId);
-        return toTaskResponse(updated);
+        TaskDetail updated = service.assignTask(projectId, taskId, requireIfMatch(ifMatch), targetWeekId);
+        return withETag(updated);
+    }
+
+    @PostMapping("/tasks/bulk")
+    public BulkTaskResponse bulkMutateTasks(@PathVariable long projectId, @RequestBody BulkTaskRequest request) {
+        if (request == null) {
+            throw ApiException.validation("Request nesmí být prázdný.", "request_required");
+        }
+        List<BulkTaskCreate> creates = request.create() == null ? null : request.create().stream()
+                .map(item -> new BulkTaskCreate(item.weekId(), item.task() == null ? null : toTaskInput(item.task())))
+                .toList();
+        List<BulkTaskUpdate> updates = request.update() == null ? null : request.update().stream()
+                .map(item -> new BulkTaskUpdate(item.taskId(), item.version(),
+                        item.task() == null ? null : toTaskInput(item.task())))
+                .toList();
+        List<BulkTaskMove> moves = request.move() == null ? null : request.move().stream()
+                .map(item -> {
+                    boolean backlog = item.destination() != null && "backlog".equalsIgnoreCase(item.destination().trim());
+                    return new BulkTaskMove(item.taskId(), item.version(), backlog ? null : item.weekId());
+                })
+                .toList();
+        BulkTaskResult result = service.bulkMutateTasks(projectId,
+                new BulkTaskInput(creates, updates, moves, request.delete()));
+        return toBulkResponse(result);
+    }
+
+    @GetMapping("/plan/proposal")
+    public PlanProposalResponse proposePlan(@PathVariable long projectId) {
+        PlanProposal proposal = service.proposePlan(projectId);
+        List<PlanAssignmentResponse> assignments = proposal.assignments().stream()
+                .map(item -> new PlanAssignmentResponse(toTaskResponse(item.task()), item.weekId(), item.weekStart(),
+                        item.weekEnd(), item.late()))
+                .toList();
+        List<UnplannedTaskResponse> unplanned = proposal.unplanned().stream()
+                .map(item -> new UnplannedTaskResponse(toTaskResponse(item.task()), item.reason()))
+                .toList();
+        List<InternWeekCapacityResponse> capacity = proposal.capacity().stream()
+                .map(item -> new InternWeekCapacityResponse(item.internId(), item.internName(), item.weekId(),
+                        item.weekStart(), item.workloadHours(), item.plannedHours(), item.availableHours(),
+                        item.proposedHours()))
+                .toList();
+        return new PlanProposalResponse(assignments, unplanned, capacity, toMetadataResponse(proposal.metadata()));
+    }
+
+    @PostMapping("/plan/apply")
+    public BulkTaskResponse applyPlan(@PathVariable long projectId, @RequestBody PlanApplyRequest request) {
+        if (request == null || request.assignments() == null) {
+            throw ApiException.validation("Request nesmí být prázdný.", "request_required");
+        }
+        List<BulkTaskMove> moves = request.assignments().stream()
+                .map(item -> {
+                    if (item == null || item.weekId() == null) {
+                        throw ApiException.validation("Každé přiřazení musí obsahovat týden.",
+                                "project_week_required");
+                    }
+                    return new BulkTaskMove(item.taskId(), item.version(), item.weekId());
+                })
+                .toList();
+        return toBulkResponse(service.applyPlan(projectId, moves));
     }
 
     @PostMapping("/weeks/{projectWeekId}/carry-over")
@@ -169,8 +279,10 @@ public class WeeklyPlannerController {
     }
 
     @PostMapping("/weeks/{projectWeekId}/close")
-    public WeekWithMetadataResponse closeWeek(@PathVariable long projectId, @PathVariable long projectWeekId) {
-        WeekWithMetadata detail = service.closeWeek(projectId, projectWeekId);
+    public WeekWithMetadataResponse closeWeek(@PathVariable long projectId,
+            @PathVariable long projectWeekId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        WeekWithMetadata detail = service.closeWeek(projectId, projectWeekId, requireIfMatch(ifMatch));
         return new WeekWithMetadataResponse(toWeekResponse(detail.week()), toMetadataResponse(detail.metadata()));
     }
 
@@ -184,6 +296,14 @@ public class WeeklyPlannerController {
         return new WeeklySummaryResponse(summary.projectWeekId(), summary.taskCount(), summary.totalHours(), perIntern);
     }
 
+    private BulkTaskResponse toBulkResponse(BulkTaskResult result) {
+        return new BulkTaskResponse(
+                result.created().stream().map(this::toTaskResponse).toList(),
+                result.updated().stream().map(this::toTaskResponse).toList(),
+                result.moved().stream().map(this::toTaskResponse).toList(),
+                result.deleted());
+    }
+
     private WeekCollectionResponse toWeekCollectionResponse(WeekCollection weeks) {
         List<WeekDetailResponse> responses = weeks.weeks().stream()
                 .map(this::toWeekResponse)
@@ -196,7 +316,40 @@ public class WeeklyPlannerController {
                 .map(this::toTaskResponse)
                 .toList();
         return new WeekDetailResponse(detail.id(), detail.projectId(), detail.sprintId(), detail.weekStart(),
-                detail.weekEnd(), detail.createdAt(), detail.updatedAt(), tasks);
+                detail.weekEnd(), detail.createdAt(), detail.updatedAt(), detail.version(), tasks);
+    }
+
+    /**
+     * Reads the version from an {@code If-Match} header ({@code "3"}, {@code W/"3"} or a bare {@code 3}).
+     * The header is mandatory on mutating endpoints (428 when missing) so that a client cannot overwrite
+     * concurrent edits by accident; {@code *} explicitly skips the version check.
+     */
+    private static Long requireIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            throw ApiException.preconditionRequired(
+                    "Chybí hlavička If-Match s verzí záznamu; načtěte záznam a zkuste to znovu.", "if_match_required");
+        }
+        if (ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw ApiException.validation("Hlavička If-Match musí obsahovat verzi záznamu.", "if_match_invalid");
+        }
+    }
+
+    private ResponseEntity<TaskDetailResponse> withETag(TaskDetail detail) {
+        return ResponseEntity.ok()
+                .eTag(Long.toString(detail.version()))
+                .body(toTaskResponse(detail));
     }
 
     private PlannerMetadataResponse toMetadataResponse(PlannerMetadata metadata) {
@@ -229,7 +382,8 @@ public class WeeklyPlannerController {
                 detail.status(),
                 detail.deadline(),
                 detail.createdAt(),
-                detail.updatedAt());
+                detail.updatedAt(),
+                detail.version());
     }
 
     private TaskInput toTaskInput(WeeklyTaskRequest request) {
@@ -262,6 +416,59 @@ public class WeeklyPlannerController {
     public record TaskAssignmentRequest(Long weekId, String destination) {
     }
 
+    public record BulkTaskCreateRequest(Long weekId, WeeklyTaskRequest task) {
+    }
+
+    public record BulkTaskUpdateRequest(Long taskId, Long version, WeeklyTaskRequest task) {
+    }
+
+    public record BulkTaskMoveRequest(Long taskId, Long version, Long weekId, String destination) {
+    }
+
+    public record BulkTaskRequest(List<BulkTaskCreateRequest> create,
+            List<BulkTaskUpdateRequest> update,
+            List<BulkTaskMoveRequest> move,
+            List<Long> delete) {
+    }
+
+    public record BulkTaskResponse(List<TaskDetailResponse> created,
+            List<TaskDetailResponse> updated,
+            List<TaskDetailResponse> moved,
+            List<Long> deleted) {
+    }
+
+    public record PlanAssignmentRequest(Long taskId, Long version, Long weekId) {
+    }
+
+    public record PlanApplyRequest(List<PlanAssignmentRequest> assignments) {
+    }
+
+    public record PlanProposalResponse(List<PlanAssignmentResponse> assignments,
+            List<UnplannedTaskResponse> unplanned,
+            List<InternWeekCapacityResponse> capacity,
+            PlannerMetadataResponse metadata) {
+    }
+
+    public record PlanAssignmentResponse(TaskDetailResponse task,
+            long weekId,
+            LocalDate weekStart,
+            LocalDate weekEnd,
+            boolean late) {
+    }
+
+    public record UnplannedTaskResponse(TaskDetailResponse task, String reason) {
+    }
+
+    public record InternWeekCapacityResponse(long internId,
+            String internName,
+            long weekId,
+            LocalDate weekStart,
+            BigDecimal workloadHours,
+            BigDecimal plannedHours,
+            BigDecimal availableHours,
+            BigDecimal proposedHours) {
+    }
+
     public record CarryOverRequest(LocalDate targetWeekStart, List<Long> taskIds) {
     }
 
@@ -272,6 +479,27 @@ public class WeeklyPlannerController {
             PlannerMetadataResponse metadata) {
     }
 
+    public record WeekSummaryCollectionResponse(List<WeekSummaryResponse> weeks,
+            PlannerMetadataResponse metadata) {
+    }
+
+    public record WeekSummaryResponse(long id,
+            long projectId,
+            Long sprintId,
+            LocalDate weekStart,
+            LocalDate weekEnd,
+            OffsetDateTime createdAt,
+            OffsetDateTime updatedAt,
+            long version,
+            long taskCount,
+            BigDecimal plannedHours,
+            long openTaskCount,
+            long closedTaskCount) {
+    }
+
+    public record TaskPageResponse(List<TaskDetailResponse> items, Long nextAfter, int limit) {
+    }
+
     public record WeekWithMetadataResponse(WeekDetailResponse week,
             PlannerMetadataResponse metadata) {
     }
@@ -295,6 +523,7 @@ public class WeeklyPlannerController {
             LocalDate weekEnd,
             OffsetDateTime createdAt,
             OffsetDateTime updatedAt,
+            long version,
             List<TaskDetailResponse> tasks) {
     }
 
@@ -312,7 +541,8 @@ public class WeeklyPlannerController {
             String status,
             LocalDate deadline,
             OffsetDateTime createdAt,
-            OffsetDateTime updatedAt) {
+            OffsetDateTime updatedAt,
+            long version) {
     }
 
     public record WeeklySummaryResponse(long projectWeekId,
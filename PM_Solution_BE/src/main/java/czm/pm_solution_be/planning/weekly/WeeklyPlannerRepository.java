@@ -1,10 +1,13 @@
 package czm.pm_solution_be.planning.weekly;
 
+import czm.pm_solution_be.config.ParallelQueries;
+import czm.pm_solution_be.config.SqlArrays;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlParameterValue;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
@@ -15,11 +18,17 @@ import java.sql.Types;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Low-level repository encapsulating access to weekly planning tables.
@@ -41,6 +50,7 @@ public class WeeklyPlannerRepository {
                    pw.week_start_date,
                    pw.created_at               AS project_week_created_at,
                    pw.updated_at               AS project_week_updated_at,
+                   pw.version                  AS project_week_version,
                    wt.id                       AS task_id,
                    wt.note,
                    wt.planned_hours,
@@ -48,6 +58,7 @@ public class WeeklyPlannerRepository {
                    wt.issue_id,
                    wt.created_at               AS task_created_at,
                    wt.updated_at               AS task_updated_at,
+                   wt.version                  AS task_version,
                    concat_ws(' ', i.first_name, i.last_name) AS intern_name,
                    iss.title                   AS issue_title,
                    iss.state                   AS issue_state,
@@ -68,6 +79,7 @@ public class WeeklyPlannerRepository {
                    pw.week_start_date,
                    pw.created_at               AS project_week_created_at,
                    pw.updated_at               AS project_week_updated_at,
+                   pw.version                  AS project_week_version,
                    wt.id                       AS task_id,
                    wt.note,
                    wt.planned_hours,
@@ -75,6 +87,7 @@ public class WeeklyPlannerRepository {
                    wt.issue_id,
                    wt.created_at               AS task_created_at,
                    wt.updated_at               AS task_updated_at,
+                   wt.version                  AS task_version,
                    concat_ws(' ', i.first_name, i.last_name) AS intern_name,
                    iss.title                   AS issue_title,
                    iss.state                   AS issue_state,
@@ -89,6 +102,36 @@ public class WeeklyPlannerRepository {
             ORDER BY wt.id ASC
             """;
 
+    private static final String SQL_LIST_WEEKS_IN_RANGE = """
+            SELECT pw.id                       AS project_week_id,
+                   pw.project_id,
+                   pw.sprint_id,
+                   pw.week_start_date,
+                   pw.created_at               AS project_week_created_at,
+                   pw.updated_at               AS project_week_updated_at,
+                   pw.version                  AS project_week_version,
+                   wt.id                       AS task_id,
+                   wt.note,
+                   wt.planned_hours,
+                   wt.intern_id,
+                   wt.issue_id,
+                   wt.created_at               AS task_created_at,
+                   wt.updated_at               AS task_updated_at,
+                   wt.version                  AS task_version,
+                   concat_ws(' ', i.first_name, i.last_name) AS intern_name,
+                   iss.title                   AS issue_title,
+                   iss.state                   AS issue_state,
+                   iss.due_date                AS issue_due_date,
+                   wt.status                   AS task_status
+            FROM project_week pw
+            LEFT JOIN weekly_task wt ON wt.project_week_id = pw.id
+            LEFT JOIN intern i ON i.id = wt.intern_id
+            LEFT JOIN issue iss ON iss.id = wt.issue_id
+            WHERE pw.project_id = ?
+              AND pw.week_start_date BETWEEN ? AND ?
+            ORDER BY pw.week_start_date ASC, pw.id ASC, wt.id ASC
+            """;
+
     private static final String SQL_LIST_WEEKS_BY_PROJECT = """
             WITH selected AS (
                 SELECT pw.id         AS project_week_id,
@@ -96,7 +139,8 @@ public class WeeklyPlannerRepository {
                        pw.sprint_id,
                        pw.week_start_date,
                        pw.created_at AS project_week_created_at,
-                       pw.updated_at AS project_week_updated_at
+                       pw.updated_at AS project_week_updated_at,
+                       pw.version    AS project_week_version
                 FROM project_week pw
                 WHERE pw.project_id = ?
                 ORDER BY pw.week_start_date DESC, pw.id DESC
@@ -109,6 +153,7 @@ public class WeeklyPlannerRepository {
                    s.week_start_date,
                    s.project_week_created_at,
                    s.project_week_updated_at,
+                   s.project_week_version,
                    wt.id         AS task_id,
                    wt.note,
                    wt.planned_hours,
@@ -116,6 +161,7 @@ public class WeeklyPlannerRepository {
                    wt.issue_id,
                    wt.created_at AS task_created_at,
                    wt.updated_at AS task_updated_at,
+                   wt.version    AS task_version,
                    concat_ws(' ', i.first_name, i.last_name) AS intern_name,
                    iss.title     AS issue_title,
                    iss.state     AS issue_state,
@@ -135,7 +181,8 @@ public class WeeklyPlannerRepository {
                        pw.sprint_id,
                        pw.week_start_date,
                        pw.created_at AS project_week_created_at,
-                       pw.updated_at AS project_week_updated_at
+                       pw.updated_at AS project_week_updated_at,
+                       pw.version    AS project_week_version
                 FROM project_week pw
                 WHERE pw.project_id = ?
                   AND pw.sprint_id = ?
@@ -149,6 +196,7 @@ public class WeeklyPlannerRepository {
                    s.week_start_date,
                    s.project_week_created_at,
                    s.project_week_updated_at,
+                   s.project_week_version,
                    wt.id         AS task_id,
                    wt.note,
                    wt.planned_hours,
@@ -156,6 +204,7 @@ public class WeeklyPlannerRepository {
                    wt.issue_id,
                    wt.created_at AS task_created_at,
                    wt.updated_at AS task_updated_at,
+                   wt.version    AS task_version,
                    concat_ws(' ', i.first_name, i.last_name) AS intern_name,
                    iss.title     AS issue_title,
                    iss.state     AS issue_state,
@@ -174,7 +223,8 @@ public class WeeklyPlannerRepository {
                    pw.sprint_id,
                    pw.week_start_date,
                    pw.created_at AS project_week_created_at,
-                   pw.updated_at AS project_week_updated_at
+                   pw.updated_at AS project_week_updated_at,
+                   pw.version    AS project_week_version
             FROM project_week pw
             WHERE pw.project_id = ?
               AND pw.sprint_id = ?
@@ -192,23 +242,42 @@ public class WeeklyPlannerRepository {
                       sprint_id,
                       week_start_date,
                       created_at AS project_week_created_at,
-                      updated_at AS project_week_updated_at
+                      updated_at AS project_week_updated_at,
+                      version    AS project_week_version
+            """;
+
+    private static final String SQL_INSERT_PROJECT_WEEK_RANGE = """
+            INSERT INTO project_week (project_id, sprint_id, week_start_date)
+            SELECT ?, ?, week_start::date
+            FROM generate_series(?::date, ?::date, INTERVAL '1 week') AS week_start
+            ON CONFLICT (project_id, week_start_date) DO NOTHING
             """;
 
     private static final String SQL_UPDATE_PROJECT_WEEK = """
             UPDATE project_week
             SET week_start_date = ?,
-                updated_at      = NOW()
+                updated_at      = NOW(),
+                version         = version + 1
             WHERE id = ?
             RETURNING id,
                       project_id,
                       sprint_id,
                       week_start_date,
                       created_at AS project_week_created_at,
-                      updated_at AS project_week_updated_at
+                      updated_at AS project_week_updated_at,
+                      version    AS project_week_version
             """;
 
-    private static final String SQL_DELETE_PROJECT_WEEK = "DELETE FROM project_week WHERE id = ?";
+    private static final String SQL_DELETE_PROJECT_WEEK =
+            "DELETE FROM project_week WHERE id = ? AND version = COALESCE(?::bigint, version)";
+
+    private static final String SQL_TOUCH_PROJECT_WEEK = """
+            UPDATE project_week
+            SET updated_at = NOW(),
+                version    = version + 1
+            WHERE id = ?
+              AND version = COALESCE(?::bigint, version)
+            """;
 
     private static final String SQL_SELECT_TASK_BY_ID = """
             SELECT wt.id,
@@ -221,6 +290,7 @@ public class WeeklyPlannerRepository {
                    wt.issue_id,
                    wt.created_at,
                    wt.updated_at,
+                   wt.version,
                    concat_ws(' ', i.first_name, i.last_name) AS intern_name,
                    iss.title AS issue_title,
                    iss.state AS issue_state,
@@ -232,6 +302,70 @@ public class WeeklyPlannerRepository {
             WHERE wt.id = ?
             """;
 
+    private static final String SQL_SELECT_TASKS_BY_IDS = """
+            SELECT wt.id,
+                   wt.project_id,
+                   wt.project_week_id,
+                   wt.sprint_id,
+                   wt.note,
+                   wt.planned_hours,
+                   wt.intern_id,
+                   wt.issue_id,
+                   wt.created_at,
+                   wt.updated_at,
+                   wt.version,
+                   concat_ws(' ', i.first_name, i.last_name) AS intern_name,
+                   iss.title AS issue_title,
+                   iss.state AS issue_state,
+                   iss.due_date AS issue_due_date,
+                   wt.status AS task_status
+            FROM weekly_task wt
+            LEFT JOIN intern i ON i.id = wt.intern_id
+            LEFT JOIN issue iss ON iss.id = wt.issue_id
+            WHERE wt.id = ANY(?::bigint[])
+            ORDER BY wt.id ASC
+            """;
+
+    private static final String SQL_SELECT_WEEKS_BY_IDS = """
+            SELECT pw.id,
+                   pw.project_id,
+                   pw.sprint_id,
+                   pw.week_start_date,
+                   pw.created_at AS project_week_created_at,
+                   pw.updated_at AS project_week_updated_at,
+                   pw.version    AS project_week_version
+            FROM project_week pw
+            WHERE pw.id = ANY(?::bigint[])
+            """;
+
+    private static final String SQL_SELECT_WEEK_METADATA_BY_ID = """
+            SELECT pw.id,
+                   pw.project_id,
+                   pw.sprint_id,
+                   pw.week_start_date,
+                   pw.created_at AS project_week_created_at,
+                   pw.updated_at AS project_week_updated_at,
+                   pw.version    AS project_week_version
+            FROM project_week pw
+            WHERE pw.id = ?
+            """;
+
+    private static final String SQL_SELECT_WEEK_METADATA_BY_PROJECT_AND_DATE = """
+            SELECT pw.id,
+                   pw.project_id,
+                   pw.sprint_id,
+                   pw.week_start_date,
+                   pw.created_at AS project_week_created_at,
+                   pw.updated_at AS project_week_updated_at,
+                   pw.version    AS project_week_version
+            FROM project_week pw
+            WHERE pw.project_id = ?
+              AND pw.week_start_date = ?
+            """;
+
+    private static final String SQL_SELECT_WEEK_ID_BY_PROJECT_AND_DATE =
+            "SELECT id FROM project_week WHERE project_id = ? AND week_start_date = ?";
+
     private static final String SQL_LIST_TASKS_BY_WEEK = """
             SELECT wt.id,
                    wt.project_id,
@@ -243,6 +377,31 @@ public class WeeklyPlannerRepository {
                    wt.issue_id,
                    wt.created_at,
                    wt.updated_at,
+                   wt.version,
+                   concat_ws(' ', i.first_name, i.last_name) AS intern_name,
+                   iss.title AS issue_title,
+                   iss.state AS issue_state,
+                   iss.due_date AS issue_due_date,
+                   wt.status AS task_status
+            FROM weekly_task wt
+            LEFT JOIN intern i ON i.id = wt.intern_id
+            LEFT JOIN issue iss ON iss.id = wt.issue_id
+            WHERE wt.project_week_id = ?
+            ORDER BY wt.id ASC
+            """;
+
+    private static final String SQL_LIST_TASKS_BY_WEEK_PAGE = """
+            SELECT wt.id,
+                   wt.project_id,
+                   wt.project_week_id,
+                   wt.sprint_id,
+                   wt.note,
+                   wt.planned_hours,
+                   wt.intern_id,
+                   wt.issue_id,
+                   wt.created_at,
+                   wt.updated_at,
+                   wt.version,
                    concat_ws(' ', i.first_name, i.last_name) AS intern_name,
                    iss.title AS issue_title,
                    iss.state AS issue_state,
@@ -252,15 +411,174 @@ public class WeeklyPlannerRepository {
             LEFT JOIN intern i ON i.id = wt.intern_id
             LEFT JOIN issue iss ON iss.id = wt.issue_id
             WHERE wt.project_week_id = ?
+              AND wt.id > ?
+            ORDER BY wt.id ASC
+            LIMIT ?
+            """;
+
+    private static final String SQL_LIST_BACKLOG_TASKS = """
+            SELECT wt.id,
+                   wt.project_id,
+                   wt.project_week_id,
+                   wt.sprint_id,
+                   wt.note,
+                   wt.planned_hours,
+                   wt.intern_id,
+                   wt.issue_id,
+                   wt.created_at,
+                   wt.updated_at,
+                   wt.version,
+                   concat_ws(' ', i.first_name, i.last_name) AS intern_name,
+                   iss.title AS issue_title,
+                   iss.state AS issue_state,
+                   iss.due_date AS issue_due_date,
+                   wt.status AS task_status
+            FROM weekly_task wt
+            LEFT JOIN intern i ON i.id = wt.intern_id
+            LEFT JOIN issue iss ON iss.id = wt.issue_id
+            WHERE wt.project_id = ?
+              AND wt.project_week_id IS NULL
+              AND (wt.sprint_id = ? OR wt.sprint_id IS NULL)
             ORDER BY wt.id ASC
             """;
 
+    private static final String SQL_LIST_SPRINT_WEEKS_FROM = """
+            SELECT pw.id         AS id,
+                   pw.project_id,
+                   pw.sprint_id,
+                   pw.week_start_date,
+                   pw.created_at AS project_week_created_at,
+                   pw.updated_at AS project_week_updated_at,
+                   pw.version    AS project_week_version
+            FROM project_week pw
+            WHERE pw.project_id = ?
+              AND pw.sprint_id = ?
+              AND pw.week_start_date >= ?
+            ORDER BY pw.week_start_date ASC
+            """;
+
+    /** Weekly workload of each intern on this project and summed over all of their projects. */
+    private static final String SQL_INTERN_WORKLOADS = """
+            SELECT ip.intern_id,
+                   concat_ws(' ', i.first_name, i.last_name)                 AS intern_name,
+                   MAX(ip.workload_hours) FILTER (WHERE ip.project_id = ?) AS project_workload_hours,
+                   SUM(ip.workload_hours)                                  AS total_workload_hours
+            FROM intern_project ip
+            JOIN intern i ON i.id = ip.intern_id
+            WHERE ip.intern_id = ANY(?::bigint[])
+            GROUP BY ip.intern_id, i.first_name, i.last_name
+            """;
+
+    /** Hours already planned for the interns in weeks of any project starting within the date range. */
+    private static final String SQL_INTERN_PLANNED_LOAD = """
+            SELECT pw.week_start_date,
+                   wt.intern_id,
+                   COALESCE(SUM(wt.planned_hours) FILTER (WHERE pw.project_id = ?), 0) AS project_hours,
+                   COALESCE(SUM(wt.planned_hours), 0)                                AS total_hours
+            FROM weekly_task wt
+            JOIN project_week pw ON pw.id = wt.project_week_id
+            WHERE wt.intern_id = ANY(?::bigint[])
+              AND pw.week_start_date BETWEEN ? AND ?
+            GROUP BY pw.week_start_date, wt.intern_id
+            """;
+
+    /**
+     * Per-week counters computed in SQL; {@code %s} is replaced by an optional sprint filter. A task is
+     * closed when its issue (or, without an issue, its own status) is {@code closed}.
+     */
+    private static final String SQL_LIST_WEEK_SUMMARIES_TEMPLATE = """
+            SELECT pw.id,
+                   pw.project_id,
+                   pw.sprint_id,
+                   pw.week_start_date,
+                   pw.created_at AS project_week_created_at,
+                   pw.updated_at AS project_week_updated_at,
+                   pw.version    AS project_week_version,
+                   t.task_count,
+                   COALESCE(t.planned_hours, 0) AS planned_hours,
+                   t.closed_task_count
+            FROM project_week pw
+            CROSS JOIN LATERAL (
+                SELECT COUNT(wt.id) AS task_count,
+                       SUM(wt.planned_hours) AS planned_hours,
+                       COUNT(wt.id) FILTER (
+                           WHERE lower(CASE WHEN wt.issue_id IS NOT NULL THEN iss.state ELSE wt.status END) = 'closed'
+                       ) AS closed_task_count
+                FROM weekly_task wt
+                LEFT JOIN issue iss ON iss.id = wt.issue_id
+                WHERE wt.project_week_id = pw.id
+            ) t
+            WHERE pw.project_id = ?%s
+            ORDER BY pw.week_start_date DESC, pw.id DESC
+            LIMIT ?
+            OFFSET ?
+            """;
+
+    private static final String SQL_LIST_WEEK_SUMMARIES_BY_PROJECT = SQL_LIST_WEEK_SUMMARIES_TEMPLATE.formatted("");
+
+    private static final String SQL_LIST_WEEK_SUMMARIES_BY_PROJECT_AND_SPRINT =
+            SQL_LIST_WEEK_SUMMARIES_TEMPLATE.formatted("\n  AND pw.sprint_id = ?");
+
     private static final String SQL_INSERT_WEEKLY_TASK = """
             INSERT INTO weekly_task (project_id, sprint_id, project_week_id, intern_id, issue_id, note, planned_hours, status)
             VALUES (?, ?, ?, ?, ?, ?, ?, ?)
             RETURNING id
             """;
 
+    private static final String SQL_INSERT_WEEKLY_TASKS_RETURNING = """
+            WITH inserted AS (
+                INSERT INTO weekly_task (project_id, sprint_id, project_week_id, intern_id, issue_id, note, planned_hours, status)
+                SELECT ?, ?, ?, t.intern_id, t.issue_id, t.note, t.planned_hours, t.status
+                FROM unnest(?::bigint[], ?::bigint[], ?::text[], ?::numeric[], ?::text[])
+                     WITH ORDINALITY AS t(intern_id, issue_id, note, planned_hours, status, ord)
+                ORDER BY t.ord
+                RETURNING *
+            )
+            SELECT wt.id,
+                   wt.project_id,
+                   wt.project_week_id,
+                   wt.sprint_id,
+                   wt.note,
+                   wt.planned_hours,
+                   wt.intern_id,
+                   wt.issue_id,
+                   wt.created_at,
+                   wt.updated_at,
+                   wt.version,
+                   concat_ws(' ', i.first_name, i.last_name) AS intern_name,
+                   iss.title AS issue_title,
+                   iss.state AS issue_state,
+                   iss.due_date AS issue_due_date,
+                   wt.status AS task_status
+            FROM inserted wt
+            LEFT JOIN intern i ON i.id = wt.intern_id
+            LEFT JOIN issue iss ON iss.id = wt.issue_id
+            ORDER BY wt.id ASC
+            """;
+
+    private static final String SQL_BATCH_UPDATE_TASK = """
+            UPDATE weekly_task
+            SET intern_id     = ?,
+                issue_id      = ?,
+                note          = ?,
+                planned_hours = ?,
+                status        = ?,
+                updated_at    = NOW(),
+                version       = version + 1
+            WHERE id = ?
+              AND version = COALESCE(?::bigint, version)
+            """;
+
+    private static final String SQL_BATCH_UPDATE_TASK_ASSIGNMENT = """
+            UPDATE weekly_task
+            SET project_week_id = ?,
+                sprint_id       = ?,
+                updated_at      = NOW(),
+                version         = version + 1
+            WHERE id = ?
+              AND version = COALESCE(?::bigint, version)
+            """;
+
     private static final String SQL_UPDATE_WEEKLY_TASK = """
             UPDATE weekly_task
             SET intern_id     = ?,
@@ -268,12 +586,23 @@ public class WeeklyPlannerRepository {
                 note          = ?,
                 planned_hours = ?,
                 status        = ?,
-                updated_at    = NOW()
+                updated_at    = NOW(),
+                version       = version + 1
             WHERE id = ?
+              AND version = COALESCE(?::bigint, version)
             RETURNING id
             """;
 
-    private static final String SQL_DELETE_WEEKLY_TASK = "DELETE FROM weekly_task WHERE id = ?";
+    private static final String SQL_DELETE_WEEKLY_TASK =
+            "DELETE FROM weekly_task WHERE id = ? AND version = COALESCE(?::bigint, version)";
+
+    private static final String SQL_TOUCH_WEEKLY_TASK = """
+            UPDATE weekly_task
+            SET updated_at = NOW(),
+                version    = version + 1
+            WHERE id = ?
+              AND version = COALESCE(?::bigint, version)
+            """;
 
     private static final String SQL_BATCH_INSERT_TASK = "INSERT INTO weekly_task (project_id, sprint_id, project_week_id, intern_id, issue_id, note, planned_hours, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
 
@@ -281,8 +610,10 @@ public class WeeklyPlannerRepository {
             UPDATE weekly_task
             SET project_week_id = ?,
                 sprint_id       = ?,
-                updated_at      = NOW()
+                updated_at      = NOW(),
+                version         = version + 1
             WHERE id = ?
+              AND version = COALESCE(?::bigint, version)
             RETURNING id
             """;
 
@@ -292,24 +623,52 @@ public class WeeklyPlannerRepository {
 
     private static final String SQL_UPDATE_PROJECT_WEEK_START_DAY = "UPDATE project SET week_start_day = ? WHERE id = ?";
 
-    private static final String SQL_CHECK_ISSUE_BELONGS_TO_PROJECT = """
-            SELECT EXISTS (
-                SELECT 1
-                FROM issue iss
-                JOIN projects_to_repositorie ptr ON ptr.repository_id = iss.repository_id
-                WHERE ptr.project_id = ?
-                  AND iss.id = ?
-            )
+    private static final String SQL_CHECK_ISSUES_IN_PROJECT = """
+            SELECT iss.id,
+                   EXISTS (
+                       SELECT 1
+                       FROM projects_to_repositorie ptr
+                       WHERE ptr.project_id = ?
+                         AND ptr.repository_id = iss.repository_id
+                   ) AS in_project
+            FROM issue iss
+            WHERE iss.id = ANY(?::bigint[])
             """;
 
-    private static final String SQL_CHECK_INTERN_ASSIGNED_TO_PROJECT = "SELECT EXISTS (SELECT 1 FROM intern_project ip WHERE ip.project_id = ? AND ip.intern_id = ?)";
+    private static final String SQL_SELECT_PROJECTS_OF_ISSUES = """
+            SELECT DISTINCT ptr.project_id
+            FROM issue iss
+            JOIN projects_to_repositorie ptr ON ptr.repository_id = iss.repository_id
+            WHERE iss.id = ANY(?::bigint[])
+            """;
 
-    private static final String SQL_SELECT_ISSUE_METADATA = "SELECT id, state, due_date FROM issue WHERE id = ?";
+    private static final String SQL_SELECT_INTERNS_ASSIGNED_TO_PROJECT =
+            "SELECT ip.intern_id FROM intern_project ip WHERE ip.project_id = ? AND ip.intern_id = ANY(?::bigint[])";
 
     private static final String SQL_UPDATE_ISSUE_STATE = "UPDATE issue SET state = ?, updated_at = NOW() WHERE id = ?";
 
     private static final String SQL_UPDATE_ISSUE_DUE_DATE = "UPDATE issue SET due_date = ? WHERE id = ?";
 
+    private static final String SQL_UPDATE_ISSUES_STATE = "UPDATE issue SET state = ?, updated_at = NOW() WHERE id = ANY(?::bigint[])";
+
+    private static final String SQL_UPDATE_ISSUES_DUE_DATE = "UPDATE issue SET due_date = ? WHERE id = ANY(?::bigint[])";
+
+    private static final String SQL_CLOSE_ISSUES = """
+            UPDATE issue
+            SET state      = 'closed',
+                due_date   = ?,
+                updated_at = NOW()
+            WHERE id = ANY(?::bigint[])
+            """;
+
+    private static final String SQL_TOUCH_ISSUE_TASKS_OF_WEEK = """
+            UPDATE weekly_task
+            SET updated_at = NOW(),
+                version    = version + 1
+            WHERE project_week_id = ?
+              AND issue_id IS NOT NULL
+            """;
+
     private static final String SQL_STATS_TOTAL = """
             SELECT COUNT(*)                    AS task_count,
                    COALESCE(SUM(planned_hours), 0) AS total_hours
@@ -330,9 +689,11 @@ public class WeeklyPlannerRepository {
             """;
 
     private final JdbcTemplate jdbc;
+    private final ParallelQueries parallelQueries;
 
-    public WeeklyPlannerRepository(JdbcTemplate jdbc) {
+    public WeeklyPlannerRepository(JdbcTemplate jdbc, ParallelQueries parallelQueries) {
         this.jdbc = jdbc;
+        this.parallelQueries = parallelQueries;
     }
 
     private static final RowMapper<ProjectWeekRawRow> PROJECT_WEEK_RAW_MAPPER = new RowMapper<>() {
@@ -347,6 +708,7 @@ public class WeeklyPlannerRepository {
             Long issueId = mapNullableLong(rs, "issue_id");
             OffsetDateTime taskCreated = rs.getObject("task_created_at", OffsetDateTime.class);
             OffsetDateTime taskUpdated = rs.getObject("task_updated_at", OffsetDateTime.class);
+            long taskVersion = rs.getLong("task_version");
             BigDecimal plannedHours = rs.getBigDecimal("planned_hours");
             LocalDate issueDueDate = rs.getObject("issue_due_date", LocalDate.class);
             return new ProjectWeekRawRow(
@@ -356,6 +718,7 @@ public class WeeklyPlannerRepository {
                     weekStart,
                     projectWeekCreated,
                     projectWeekUpdated,
+                    rs.getLong("project_week_version"),
                     taskId,
                     rs.getString("note"),
                     plannedHours,
@@ -367,7 +730,8 @@ public class WeeklyPlannerRepository {
                     issueDueDate,
                     rs.getString("task_status"),
                     taskCreated,
-                    taskUpdated);
+                    taskUpdated,
+                    taskVersion);
         }
     };
 
@@ -383,7 +747,8 @@ public class WeeklyPlannerRepository {
                     mapNullableLong(rs, "sprint_id"),
                     weekStart,
                     createdAt,
-                    updatedAt);
+                    updatedAt,
+                    rs.getLong("project_week_version"));
         }
     };
 
@@ -411,7 +776,8 @@ public class WeeklyPlannerRepository {
                     issueDueDate,
                     rs.getString("task_status"),
                     createdAt,
-                    updatedAt);
+                    updatedAt,
+                    rs.getLong("version"));
         }
     };
 
@@ -437,12 +803,41 @@ public class WeeklyPlannerRepository {
         }
     };
 
+    private static final RowMapper<InternWorkloadRow> INTERN_WORKLOAD_MAPPER = (rs, rn) -> new InternWorkloadRow(
+            rs.getLong("intern_id"),
+            rs.getString("intern_name"),
+            rs.getBigDecimal("project_workload_hours"),
+            rs.getBigDecimal("total_workload_hours"));
+
+    private static final RowMapper<InternWeekLoadRow> INTERN_WEEK_LOAD_MAPPER = (rs, rn) -> new InternWeekLoadRow(
+            rs.getObject("week_start_date", LocalDate.class),
+            rs.getLong("intern_id"),
+            rs.getBigDecimal("project_hours"),
+            rs.getBigDecimal("total_hours"));
+
+    private static final RowMapper<WeekSummaryRow> WEEK_SUMMARY_MAPPER = new RowMapper<>() {
+        @Override
+        public WeekSummaryRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+            long taskCount = rs.getLong("task_count");
+            long closedTaskCount = rs.getLong("closed_task_count");
+            return new WeekSummaryRow(
+                    rs.getLong("id"),
+                    rs.getLong("project_id"),
+                    mapNullableLong(rs, "sprint_id"),
+                    rs.getObject("week_start_date", LocalDate.class),
+                    rs.getObject("project_week_created_at", OffsetDateTime.class),
+                    rs.getObject("project_week_updated_at", OffsetDateTime.class),
+                    rs.getLong("project_week_version"),
+                    taskCount,
+                    rs.getBigDecimal("planned_hours"),
+                    taskCount - closedTaskCount,
+                    closedTaskCount);
+        }
+    };
+
     private static final RowMapper<ProjectConfigurationRow> PROJECT_CONFIGURATION_MAPPER = (rs,
             rn) -> new ProjectConfigurationRow(rs.getLong("id"), rs.getInt("week_start_day"));
 
-    private static final RowMapper<IssueMetadataRow> ISSUE_METADATA_MAPPER = (rs, rn) -> new IssueMetadataRow(
-            rs.getLong("id"), rs.getString("state"), rs.getObject("due_date", LocalDate.class));
-
     public Optional<ProjectWeekRow> findProjectWeekById(long projectWeekId) {
         List<ProjectWeekRawRow> rows = jdbc.query(SQL_SELECT_WEEK_BY_ID, PROJECT_WEEK_RAW_MAPPER, projectWeekId);
         List<ProjectWeekRow> aggregated = aggregateWeeks(rows);
@@ -457,6 +852,28 @@ public class WeeklyPlannerRepository {
         return aggregated.isEmpty() ? Optional.empty() : Optional.of(aggregated.get(0));
     }
 
+    /**
+     * Week row without its tasks, for callers that only need ownership, sprint or date.
+     */
+    public Optional<ProjectWeekMetadataRow> findProjectWeekMetadata(long projectWeekId) {
+        List<ProjectWeekMetadataRow> rows = jdbc.query(SQL_SELECT_WEEK_METADATA_BY_ID, PROJECT_WEEK_METADATA_MAPPER,
+                projectWeekId);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    public Optional<ProjectWeekMetadataRow> findProjectWeekMetadata(long projectId, LocalDate weekStartDate) {
+        Objects.requireNonNull(weekStartDate, "weekStartDate");
+        List<ProjectWeekMetadataRow> rows = jdbc.query(SQL_SELECT_WEEK_METADATA_BY_PROJECT_AND_DATE,
+                PROJECT_WEEK_METADATA_MAPPER, projectId, weekStartDate);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    public Optional<Long> findProjectWeekId(long projectId, LocalDate weekStartDate) {
+        Objects.requireNonNull(weekStartDate, "weekStartDate");
+        List<Long> ids = jdbc.queryForList(SQL_SELECT_WEEK_ID_BY_PROJECT_AND_DATE, Long.class, projectId, weekStartDate);
+        return ids.isEmpty() ? Optional.empty() : Optional.of(ids.get(0));
+    }
+
     public List<ProjectWeekRow> listProjectWeeks(long projectId, Long sprintId, int limit, int offset) {
         if (limit <= 0) {
             return List.of();
@@ -471,6 +888,32 @@ public class WeeklyPlannerRepository {
         return aggregateWeeks(rows);
     }
 
+    /**
+     * Week rows with task counters aggregated in SQL, without loading the tasks themselves.
+     */
+    public List<WeekSummaryRow> listWeekSummaries(long projectId, Long sprintId, int limit, int offset) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        if (sprintId == null) {
+            return jdbc.query(SQL_LIST_WEEK_SUMMARIES_BY_PROJECT, WEEK_SUMMARY_MAPPER, projectId, limit, offset);
+        }
+        return jdbc.query(SQL_LIST_WEEK_SUMMARIES_BY_PROJECT_AND_SPRINT, WEEK_SUMMARY_MAPPER, projectId, sprintId,
+                limit, offset);
+    }
+
+    /**
+     * Loads every week of the project starting within {@code [fromWeekStart, toWeekStart]} together with
+     * its tasks in one query, ordered by week start.
+     */
+    public List<ProjectWeekRow> listProjectWeeksInRange(long projectId, LocalDate fromWeekStart, LocalDate toWeekStart) {
+        Objects.requireNonNull(fromWeekStart, "fromWeekStart");
+        Objects.requireNonNull(toWeekStart, "toWeekStart");
+        List<ProjectWeekRawRow> rows = jdbc.query(SQL_LIST_WEEKS_IN_RANGE, PROJECT_WEEK_RAW_MAPPER,
+                projectId, fromWeekStart, toWeekStart);
+        return aggregateWeeks(rows);
+    }
+
     public boolean projectWeekExists(long projectId, LocalDate weekStartDate) {
         Objects.requireNonNull(weekStartDate, "weekStartDate");
         Boolean exists = jdbc.queryForObject(SQL_PROJECT_WEEK_EXISTS, Boolean.class, projectId, weekStartDate);
@@ -497,6 +940,25 @@ public class WeeklyPlannerRepository {
         return metadata;
     }
 
+    /**
+     * Creates the missing weeks between {@code fromWeekStart} and {@code toWeekStart} (both aligned week
+     * starts, inclusive) in a single statement; existing weeks are left untouched.
+     *
+     * @return number of newly created weeks
+     */
+    public int insertMissingProjectWeeks(long projectId, Long sprintId, LocalDate fromWeekStart, LocalDate toWeekStart) {
+        Objects.requireNonNull(fromWeekStart, "fromWeekStart");
+        Objects.requireNonNull(toWeekStart, "toWeekStart");
+        return jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement(SQL_INSERT_PROJECT_WEEK_RANGE);
+            ps.setLong(1, projectId);
+            setNullableLong(ps, 2, sprintId);
+            ps.setObject(3, fromWeekStart);
+            ps.setObject(4, toWeekStart);
+            return ps;
+        });
+    }
+
     public Optional<ProjectWeekMetadataRow> updateProjectWeek(long projectWeekId, LocalDate newWeekStartDate) {
         Objects.requireNonNull(newWeekStartDate, "newWeekStartDate");
         try {
@@ -517,8 +979,19 @@ public class WeeklyPlannerRepository {
         return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
     }
 
-    public int deleteProjectWeek(long projectWeekId) {
-        return jdbc.update(SQL_DELETE_PROJECT_WEEK, projectWeekId);
+    public int deleteProjectWeek(long projectWeekId, Long expectedVersion) {
+        return jdbc.update(SQL_DELETE_PROJECT_WEEK, projectWeekId, version(expectedVersion));
+    }
+
+    /**
+     * Bumps the version of a week when {@code expectedVersion} still matches ({@code null} skips the check).
+     */
+    public boolean touchProjectWeek(long projectWeekId, Long expectedVersion) {
+        return jdbc.update(SQL_TOUCH_PROJECT_WEEK, projectWeekId, version(expectedVersion)) > 0;
+    }
+
+    private static SqlParameterValue version(Long expectedVersion) {
+        return new SqlParameterValue(Types.BIGINT, expectedVersion);
     }
 
     public Optional<WeeklyTaskRow> findTaskById(long taskId) {
@@ -526,10 +999,66 @@ public class WeeklyPlannerRepository {
         return tasks.isEmpty() ? Optional.empty() : Optional.of(tasks.get(0));
     }
 
+    public List<WeeklyTaskRow> findTasksByIds(Collection<Long> taskIds) {
+        if (taskIds == null || taskIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbc.query(SQL_SELECT_TASKS_BY_IDS, TASK_MAPPER, SqlArrays.bigints(new LinkedHashSet<>(taskIds)));
+    }
+
+    public List<ProjectWeekMetadataRow> findProjectWeeksByIds(Collection<Long> projectWeekIds) {
+        if (projectWeekIds == null || projectWeekIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbc.query(SQL_SELECT_WEEKS_BY_IDS, PROJECT_WEEK_METADATA_MAPPER,
+                SqlArrays.bigints(new LinkedHashSet<>(projectWeekIds)));
+    }
+
     public List<WeeklyTaskRow> listTasksForWeek(long projectWeekId) {
         return jdbc.query(SQL_LIST_TASKS_BY_WEEK, TASK_MAPPER, projectWeekId);
     }
 
+    /**
+     * One keyset page of a week's tasks ordered by id; {@code afterTaskId} is the last id of the previous page.
+     */
+    public List<WeeklyTaskRow> listTasksForWeekPage(long projectWeekId, Long afterTaskId, int limit) {
+        return jdbc.query(SQL_LIST_TASKS_BY_WEEK_PAGE, TASK_MAPPER, projectWeekId,
+                afterTaskId == null ? 0L : afterTaskId, limit);
+    }
+
+    /**
+     * Backlog tasks (no week) of the project that belong to the sprint or to no sprint yet.
+     */
+    public List<WeeklyTaskRow> listBacklogTasks(long projectId, long sprintId) {
+        return jdbc.query(SQL_LIST_BACKLOG_TASKS, TASK_MAPPER, projectId, sprintId);
+    }
+
+    public List<ProjectWeekMetadataRow> listSprintWeeksFrom(long projectId, long sprintId, LocalDate fromWeekStart) {
+        return jdbc.query(SQL_LIST_SPRINT_WEEKS_FROM, PROJECT_WEEK_METADATA_MAPPER, projectId, sprintId, fromWeekStart);
+    }
+
+    public List<InternWorkloadRow> listInternWorkloads(long projectId, Collection<Long> internIds) {
+        if (internIds == null || internIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbc.query(SQL_INTERN_WORKLOADS, INTERN_WORKLOAD_MAPPER, projectId, SqlArrays.bigints(internIds));
+    }
+
+    /**
+     * Planned hours per intern and week start across all projects; {@code projectHours} is the part
+     * planned in {@code projectId}.
+     */
+    public List<InternWeekLoadRow> listInternPlannedLoad(long projectId,
+            Collection<Long> internIds,
+            LocalDate fromWeekStart,
+            LocalDate toWeekStart) {
+        if (internIds == null || internIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbc.query(SQL_INTERN_PLANNED_LOAD, INTERN_WEEK_LOAD_MAPPER, projectId, SqlArrays.bigints(internIds),
+                fromWeekStart, toWeekStart);
+    }
+
     public WeeklyTaskRow insertTask(long projectId, long sprintId, Long projectWeekId, WeeklyTaskMutation mutation) {
         Objects.requireNonNull(mutation, "mutation");
         Long taskId = jdbc.query(con -> {
@@ -554,16 +1083,35 @@ public class WeeklyPlannerRepository {
     private static final String SQL_UPDATE_TASK_STATUS = """
             UPDATE weekly_task
             SET status = ?,
-                updated_at = NOW()
+                updated_at = NOW(),
+                version = version + 1
             WHERE id = ?
+              AND version = COALESCE(?::bigint, version)
             """;
 
-    public boolean updateTaskStatus(long taskId, String status) {
-        int updated = jdbc.update(SQL_UPDATE_TASK_STATUS, status, taskId);
+    /**
+     * Sets the status when the task is still at {@code expectedVersion} ({@code null} skips the check).
+     *
+     * @return {@code false} when the task does not exist or has a different version
+     */
+    public boolean updateTaskStatus(long taskId, Long expectedVersion, String status) {
+        int updated = jdbc.update(SQL_UPDATE_TASK_STATUS, status, taskId, version(expectedVersion));
         return updated > 0;
     }
 
-    public Optional<WeeklyTaskRow> updateTask(long taskId, WeeklyTaskMutation mutation) {
+    /**
+     * Bumps the version of a task whose visible state changed outside of its own row (e.g. the linked
+     * issue was closed or reopened).
+     */
+    public boolean touchTask(long taskId, Long expectedVersion) {
+        return jdbc.update(SQL_TOUCH_WEEKLY_TASK, taskId, version(expectedVersion)) > 0;
+    }
+
+    /**
+     * Compare-and-set update of a task. An empty result means the task does not exist or its version
+     * differs from {@code expectedVersion}; callers reload the row to tell the two apart.
+     */
+    public Optional<WeeklyTaskRow> updateTask(long taskId, Long expectedVersion, WeeklyTaskMutation mutation) {
         Objects.requireNonNull(mutation, "mutation");
         try {
             Long updatedId = jdbc.query(con -> {
@@ -574,6 +1122,7 @@ public class WeeklyPlannerRepository {
                 setNullableBigDecimal(ps, 4, mutation.plannedHours());
                 setNullableString(ps, 5, mutation.status());
                 ps.setLong(6, taskId);
+                setNullableLong(ps, 7, expectedVersion);
                 return ps;
             }, singleLongExtractor());
             if (updatedId == null) {
@@ -585,8 +1134,8 @@ public class WeeklyPlannerRepository {
         }
     }
 
-    public int deleteTask(long taskId) {
-        return jdbc.update(SQL_DELETE_WEEKLY_TASK, taskId);
+    public int deleteTask(long taskId, Long expectedVersion) {
+        return jdbc.update(SQL_DELETE_WEEKLY_TASK, taskId, version(expectedVersion));
     }
 
     public int[] batchInsertTasks(long projectId, long sprintId, long projectWeekId, List<WeeklyTaskMutation> tasks) {
@@ -614,7 +1163,85 @@ public class WeeklyPlannerRepository {
         });
     }
 
+    /**
+     * Inserts all {@code tasks} into one week (or the backlog when {@code projectWeekId} is {@code null})
+     * with a single statement and returns them in input order, joined with intern and issue data.
+     */
+    public List<WeeklyTaskRow> insertTasks(long projectId, long sprintId, Long projectWeekId,
+            List<WeeklyTaskMutation> tasks) {
+        if (tasks == null || tasks.isEmpty()) {
+            return List.of();
+        }
+        List<Long> internIds = new ArrayList<>(tasks.size());
+        List<Long> issueIds = new ArrayList<>(tasks.size());
+        List<String> notes = new ArrayList<>(tasks.size());
+        List<BigDecimal> plannedHours = new ArrayList<>(tasks.size());
+        List<String> statuses = new ArrayList<>(tasks.size());
+        for (WeeklyTaskMutation task : tasks) {
+            internIds.add(task.internId());
+            issueIds.add(task.issueId());
+            notes.add(task.note());
+            plannedHours.add(task.plannedHours());
+            statuses.add(task.status());
+        }
+        return jdbc.query(SQL_INSERT_WEEKLY_TASKS_RETURNING, TASK_MAPPER,
+                projectId,
+                sprintId,
+                new SqlParameterValue(Types.BIGINT, projectWeekId),
+                SqlArrays.bigints(internIds),
+                SqlArrays.bigints(issueIds),
+                SqlArrays.texts(notes),
+                SqlArrays.numerics(plannedHours),
+                SqlArrays.texts(statuses));
+    }
+
+    public int[] batchUpdateTasks(List<TaskUpdate> updates) {
+        if (updates == null || updates.isEmpty()) {
+            return new int[0];
+        }
+        return jdbc.batchUpdate(SQL_BATCH_UPDATE_TASK, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                WeeklyTaskMutation mutation = updates.get(i).mutation();
+                setNullableLong(ps, 1, mutation.internId());
+                setNullableLong(ps, 2, mutation.issueId());
+                setNullableString(ps, 3, mutation.note());
+                setNullableBigDecimal(ps, 4, mutation.plannedHours());
+                setNullableString(ps, 5, mutation.status());
+                ps.setLong(6, updates.get(i).taskId());
+                setNullableLong(ps, 7, updates.get(i).expectedVersion());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return updates.size();
+            }
+        });
+    }
+
+    public int[] batchUpdateTaskAssignments(List<TaskAssignment> assignments) {
+        if (assignments == null || assignments.isEmpty()) {
+            return new int[0];
+        }
+        return jdbc.batchUpdate(SQL_BATCH_UPDATE_TASK_ASSIGNMENT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                TaskAssignment assignment = assignments.get(i);
+                setNullableLong(ps, 1, assignment.projectWeekId());
+                ps.setLong(2, assignment.sprintId());
+                ps.setLong(3, assignment.taskId());
+                setNullableLong(ps, 4, assignment.expectedVersion());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return assignments.size();
+            }
+        });
+    }
+
     public Optional<WeeklyTaskRow> updateTaskAssignment(long taskId,
+            Long expectedVersion,
             Long projectWeekId,
             long sprintId) {
         try {
@@ -623,6 +1250,7 @@ public class WeeklyPlannerRepository {
                 setNullableLong(ps, 1, projectWeekId);
                 ps.setLong(2, sprintId);
                 ps.setLong(3, taskId);
+                setNullableLong(ps, 4, expectedVersion);
                 return ps;
             }, singleLongExtractor());
             if (updatedId == null) {
@@ -653,27 +1281,54 @@ public class WeeklyPlannerRepository {
     }
 
     public WeeklyStatisticsRow loadWeeklyStatistics(long projectWeekId) {
-        WeeklyTotalsRow totals = jdbc.queryForObject(SQL_STATS_TOTAL, WEEKLY_TOTALS_MAPPER, projectWeekId);
-        List<InternStatisticsRow> perIntern = jdbc.query(SQL_STATS_BY_INTERN, INTERN_STATS_MAPPER, projectWeekId);
+        WeeklyTotalsRow totals;
+        List<InternStatisticsRow> perIntern;
+        try (ParallelQueries.Scope scope = parallelQueries.open()) {
+            Supplier<WeeklyTotalsRow> totalsQuery =
+                    scope.fork(() -> jdbc.queryForObject(SQL_STATS_TOTAL, WEEKLY_TOTALS_MAPPER, projectWeekId));
+            Supplier<List<InternStatisticsRow>> perInternQuery =
+                    scope.fork(() -> jdbc.query(SQL_STATS_BY_INTERN, INTERN_STATS_MAPPER, projectWeekId));
+            scope.join();
+            totals = totalsQuery.get();
+            perIntern = perInternQuery.get();
+        }
         if (totals == null) {
             totals = new WeeklyTotalsRow(0L, BigDecimal.ZERO);
         }
         return new WeeklyStatisticsRow(projectWeekId, totals.taskCount(), totals.totalHours(), perIntern);
     }
 
-    public boolean issueBelongsToProject(long projectId, long issueId) {
-        Boolean exists = jdbc.queryForObject(SQL_CHECK_ISSUE_BELONGS_TO_PROJECT, Boolean.class, projectId, issueId);
-        return Boolean.TRUE.equals(exists);
+    /**
+     * For every existing issue of {@code issueIds}, whether it belongs to a repository of the project.
+     * Ids missing from the result do not exist.
+     */
+    public Map<Long, Boolean> checkIssuesInProject(long projectId, Collection<Long> issueIds) {
+        Map<Long, Boolean> result = new HashMap<>();
+        if (issueIds == null || issueIds.isEmpty()) {
+            return result;
+        }
+        jdbc.query(SQL_CHECK_ISSUES_IN_PROJECT, rs -> {
+            result.put(rs.getLong("id"), rs.getBoolean("in_project"));
+        }, projectId, SqlArrays.bigints(new LinkedHashSet<>(issueIds)));
+        return result;
     }
 
-    public boolean internAssignedToProject(long projectId, long internId) {
-        Boolean exists = jdbc.queryForObject(SQL_CHECK_INTERN_ASSIGNED_TO_PROJECT, Boolean.class, projectId, internId);
-        return Boolean.TRUE.equals(exists);
+    /** Projects linked to the repository of any of {@code issueIds}. */
+    public Set<Long> findProjectsOfIssues(Collection<Long> issueIds) {
+        if (issueIds == null || issueIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbc.queryForList(SQL_SELECT_PROJECTS_OF_ISSUES, Long.class,
+                SqlArrays.bigints(new LinkedHashSet<>(issueIds))));
     }
 
-    public Optional<IssueMetadataRow> findIssueMetadata(long issueId) {
-        List<IssueMetadataRow> rows = jdbc.query(SQL_SELECT_ISSUE_METADATA, ISSUE_METADATA_MAPPER, issueId);
-        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    /** The subset of {@code internIds} assigned to the project. */
+    public Set<Long> findInternsAssignedToProject(long projectId, Collection<Long> internIds) {
+        if (internIds == null || internIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbc.queryForList(SQL_SELECT_INTERNS_ASSIGNED_TO_PROJECT, Long.class, projectId,
+                SqlArrays.bigints(new LinkedHashSet<>(internIds))));
     }
 
     public boolean updateIssueState(long issueId, String state) {
@@ -693,6 +1348,39 @@ public class WeeklyPlannerRepository {
         });
     }
 
+    public int updateIssuesState(Collection<Long> issueIds, String state) {
+        if (issueIds == null || issueIds.isEmpty()) {
+            return 0;
+        }
+        return jdbc.update(SQL_UPDATE_ISSUES_STATE, state, SqlArrays.bigints(new LinkedHashSet<>(issueIds)));
+    }
+
+    public int updateIssuesDueDate(Collection<Long> issueIds, LocalDate dueDate) {
+        if (issueIds == null || issueIds.isEmpty()) {
+            return 0;
+        }
+        return jdbc.update(SQL_UPDATE_ISSUES_DUE_DATE, new SqlParameterValue(Types.DATE, dueDate),
+                SqlArrays.bigints(new LinkedHashSet<>(issueIds)));
+    }
+
+    /**
+     * Closes all {@code issueIds} and sets their due date in one statement.
+     */
+    public int closeIssues(Collection<Long> issueIds, LocalDate dueDate) {
+        if (issueIds == null || issueIds.isEmpty()) {
+            return 0;
+        }
+        return jdbc.update(SQL_CLOSE_ISSUES, new SqlParameterValue(Types.DATE, dueDate),
+                SqlArrays.bigints(new LinkedHashSet<>(issueIds)));
+    }
+
+    /**
+     * Bumps the version of every issue-backed task of the week, whose effective status follows the issue.
+     */
+    public int touchIssueTasksOfWeek(long projectWeekId) {
+        return jdbc.update(SQL_TOUCH_ISSUE_TASKS_OF_WEEK, projectWeekId);
+    }
+
     private static List<ProjectWeekRow> aggregateWeeks(List<ProjectWeekRawRow> rows) {
         if (rows.isEmpty()) {
             return List.of();
@@ -701,7 +1389,8 @@ public class WeeklyPlannerRepository {
         for (ProjectWeekRawRow row : rows) {
             ProjectWeekAggregation aggregation = aggregated.computeIfAbsent(row.projectWeekId(),
                     id -> new ProjectWeekAggregation(row.projectWeekId(), row.projectId(), row.sprintId(),
-                            row.weekStartDate(), row.projectWeekCreatedAt(), row.projectWeekUpdatedAt()));
+                            row.weekStartDate(), row.projectWeekCreatedAt(), row.projectWeekUpdatedAt(),
+                            row.projectWeekVersion()));
             if (row.taskId() != null) {
                 aggregation.addTask(new WeeklyTaskRow(
                         row.taskId(),
@@ -718,7 +1407,8 @@ public class WeeklyPlannerRepository {
                         row.issueDueDate(),
                         row.status(),
                         row.taskCreatedAt(),
-                        row.taskUpdatedAt()));
+                        row.taskUpdatedAt(),
+                        row.taskVersion()));
             }
         }
         return aggregated.values().stream()
@@ -772,6 +1462,7 @@ public class WeeklyPlannerRepository {
             LocalDate weekStartDate,
             OffsetDateTime projectWeekCreatedAt,
             OffsetDateTime projectWeekUpdatedAt,
+            long projectWeekVersion,
             Long taskId,
             String note,
             BigDecimal plannedHours,
@@ -783,7 +1474,8 @@ public class WeeklyPlannerRepository {
             LocalDate issueDueDate,
             String status,
             OffsetDateTime taskCreatedAt,
-            OffsetDateTime taskUpdatedAt) {
+            OffsetDateTime taskUpdatedAt,
+            long taskVersion) {
     }
 
     public record ProjectWeekRow(long id,
@@ -792,15 +1484,30 @@ public class WeeklyPlannerRepository {
             LocalDate weekStartDate,
             OffsetDateTime createdAt,
             OffsetDateTime updatedAt,
+            long version,
             List<WeeklyTaskRow> tasks) {
     }
 
+    public record WeekSummaryRow(long id,
+            long projectId,
+            Long sprintId,
+            LocalDate weekStartDate,
+            OffsetDateTime createdAt,
+            OffsetDateTime updatedAt,
+            long version,
+            long taskCount,
+            BigDecimal plannedHours,
+            long openTaskCount,
+            long closedTaskCount) {
+    }
+
     public record ProjectWeekMetadataRow(long id,
             long projectId,
             Long sprintId,
             LocalDate weekStartDate,
             OffsetDateTime createdAt,
-            OffsetDateTime updatedAt) {
+            OffsetDateTime updatedAt,
+            long version) {
     }
 
     public record WeeklyTaskRow(long id,
@@ -817,7 +1524,17 @@ public class WeeklyPlannerRepository {
             LocalDate issueDueDate,
             String status,
             OffsetDateTime createdAt,
-            OffsetDateTime updatedAt) {
+            OffsetDateTime updatedAt,
+            long version) {
+    }
+
+    /**
+     * @param expectedVersion version the caller last saw; {@code null} skips the compare-and-set check
+     */
+    public record TaskUpdate(long taskId, Long expectedVersion, WeeklyTaskMutation mutation) {
+    }
+
+    public record TaskAssignment(long taskId, Long expectedVersion, Long projectWeekId, long sprintId) {
     }
 
     public record WeeklyTaskMutation(Long internId,
@@ -845,7 +1562,16 @@ public class WeeklyPlannerRepository {
     public record ProjectConfigurationRow(long id, int weekStartDay) {
     }
 
-    public record IssueMetadataRow(long id, String state, LocalDate dueDate) {
+    public record InternWorkloadRow(long internId,
+            String internName,
+            BigDecimal projectWorkloadHours,
+            BigDecimal totalWorkloadHours) {
+    }
+
+    public record InternWeekLoadRow(LocalDate weekStartDate,
+            long internId,
+            BigDecimal projectHours,
+            BigDecimal totalHours) {
     }
 
     private static final class ProjectWeekAggregation {
@@ -855,6 +1581,7 @@ public class WeeklyPlannerRepository {
         private final LocalDate weekStartDate;
         private final OffsetDateTime createdAt;
         private final OffsetDateTime updatedAt;
+        private final long version;
         private final List<WeeklyTaskRow> tasks = new ArrayList<>();
 
         private ProjectWeekAggregation(long projectWeekId,
@@ -862,13 +1589,15 @@ public class WeeklyPlannerRepository {
                 Long sprintId,
                 LocalDate weekStartDate,
                 OffsetDateTime createdAt,
-                OffsetDateTime updatedAt) {
+                OffsetDateTime updatedAt,
+                long version) {
             this.projectWeekId = projectWeekId;
             this.projectId = projectId;
             this.sprintId = sprintId;
             this.weekStartDate = weekStartDate;
             this.createdAt = createdAt;
             this.updatedAt = updatedAt;
+            this.version = version;
         }
 
         private void addTask(WeeklyTaskRow task) {
@@ -876,7 +1605,7 @@ public class WeeklyPlannerRepository {
         }
 
         private ProjectWeekRow toRow() {
-            return new ProjectWeekRow(projectWeekId, projectId, sprintId, weekStartDate, createdAt, updatedAt,
+            return new ProjectWeekRow(projectWeekId, projectId, sprintId, weekStartDate, createdAt, updatedAt, version,
                     List.copyOf(tasks));
         }
     }
@@ -3,13 +3,19 @@ package czm.pm_solution_be.planning.weekly;
 import czm.pm_solution_be.modules.planning.service.SprintService;
 import czm.pm_solution_be.planning.sprint.PlanningSprintEntity;
 import czm.pm_solution_be.planning.sprint.SprintStatus;
-import czm.pm_solution_be.planning.weekly.WeeklyPlannerRepository.IssueMetadataRow;
+import czm.pm_solution_be.planning.weekly.WeeklyPlannerRepository.InternWeekLoadRow;
+import czm.pm_solution_be.planning.weekly.WeeklyPlannerRepository.InternWorkloadRow;
 import czm.pm_solution_be.planning.weekly.WeeklyPlannerRepository.ProjectConfigurationRow;
+import czm.pm_solution_be.planning.weekly.WeeklyPlannerRepository.ProjectWeekMetadataRow;
 import czm.pm_solution_be.planning.weekly.WeeklyPlannerRepository.ProjectWeekRow;
+import czm.pm_solution_be.planning.weekly.WeeklyPlannerRepository.TaskAssignment;
+import czm.pm_solution_be.planning.weekly.WeeklyPlannerRepository.TaskUpdate;
 import czm.pm_solution_be.planning.weekly.WeeklyPlannerRepository.WeeklyStatisticsRow;
 import czm.pm_solution_be.planning.weekly.WeeklyPlannerRepository.WeeklyTaskMutation;
 import czm.pm_solution_be.planning.weekly.WeeklyPlannerRepository.WeeklyTaskRow;
+import czm.pm_solution_be.sync.event.ReportingDataChangedEvent;
 import czm.pm_solution_be.web.ApiException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -23,9 +29,13 @@ import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -35,23 +45,32 @@ import java.util.stream.Collectors;
 public class WeeklyPlannerService {
 
     private static final int MAX_GENERATED_WEEKS = 104;
-    private static final BigDecimal MAX_WEEKLY_HOURS = new BigDecimal("168");
+    private static final int MAX_BULK_TASK_OPERATIONS = 500;
+    private static final int MAX_TASK_PAGE_LIMIT = 500;
+    private static final int MAX_PLAN_ASSIGNMENTS = 5000;
 
     private final WeeklyPlannerRepository repository;
     private final TransactionTemplate txTemplate;
     private final SprintService sprintService;
+    private final PlannerChangePublisher changes;
+    private final ApplicationEventPublisher events;
 
     public WeeklyPlannerService(WeeklyPlannerRepository repository,
             PlatformTransactionManager transactionManager,
-            SprintService sprintService) {
+            SprintService sprintService,
+            PlannerChangePublisher changes,
+            ApplicationEventPublisher events) {
         this.repository = repository;
         this.sprintService = sprintService;
+        this.changes = changes;
+        this.events = events;
         this.txTemplate = new TransactionTemplate(transactionManager);
     }
 
     public WeekConfiguration getWeekConfiguration(long projectId) {
-        ProjectConfigurationRow project = requireProject(projectId);
-        PlanningSprintEntity sprint = sprintService.requireActiveSprint(projectId);
+        PlannerRequestContext context = context(projectId);
+        ProjectConfigurationRow project = context.project();
+        context.activeSprint();
         return new WeekConfiguration(project.id(), project.weekStartDay());
     }
 
@@ -59,8 +78,8 @@ public class WeeklyPlannerService {
         if (weekStartDay < 1 || weekStartDay > 7) {
             throw ApiException.validation("Začátek týdne musí být v intervalu 1 až 7.", "week_start_day_invalid");
         }
-        ProjectConfigurationRow project = repository.findProjectConfiguration(projectId)
-                .orElseThrow(() -> ApiException.notFound("Projekt nebyl nalezen.", "project"));
+        PlannerRequestContext context = context(projectId);
+        ProjectConfigurationRow project = context.project();
         if (project.weekStartDay() == weekStartDay) {
             return new WeekConfiguration(projectId, weekStartDay);
         }
@@ -68,12 +87,14 @@ public class WeeklyPlannerService {
         if (!updated) {
             throw ApiException.notFound("Projekt nebyl nalezen.", "project");
         }
+        context.projectChanged();
         return new WeekConfiguration(projectId, weekStartDay);
     }
 
     public WeekCollection generateWeeks(long projectId, LocalDate from, LocalDate to) {
-        ProjectConfigurationRow project = requireProject(projectId);
-        PlanningSprintEntity sprint = sprintService.requireActiveSprint(projectId);
+        PlannerRequestContext context = context(projectId);
+        ProjectConfigurationRow project = context.project();
+        PlanningSprintEntity sprint = context.activeSprint();
         if (from == null) {
             throw ApiException.validation("Datum 'od' je povinné.", "from_required");
         }
@@ -91,61 +112,103 @@ public class WeeklyPlannerService {
                     "Rozsah generování může pokrývat maximálně " + MAX_GENERATED_WEEKS + " týdnů.",
                     "week_range_too_large");
         }
-        txTemplate.executeWithoutResult(status -> {
-            LocalDate current = start;
-            while (!current.isAfter(end)) {
-                if (!repository.projectWeekExists(projectId, current)) {
-                    repository.insertProjectWeek(projectId, sprint.id(), current);
-                }
-                current = current.plusWeeks(1);
-            }
-        });
-        List<WeekDetail> result = new ArrayList<>();
-        LocalDate current = start;
-        while (!current.isAfter(end)) {
-            ProjectWeekRow row = repository.findProjectWeek(projectId, current)
-                    .orElseThrow(() -> ApiException.internal("Nepodařilo se načíst vygenerovaný týden.",
-                            "week_reload_failed"));
-            result.add(mapWeek(row));
-            current = current.plusWeeks(1);
+        txTemplate.executeWithoutResult(status -> repository.insertMissingProjectWeeks(projectId, sprint.id(), start, end));
+        context.weeksChanged();
+        changes.publish(PlannerChange.weeksChanged(projectId));
+        // Weeks created before a change of the project's week start day can lie in between; skip them.
+        List<ProjectWeekRow> rows = repository.listProjectWeeksInRange(projectId, start, end).stream()
+                .filter(row -> ChronoUnit.DAYS.between(start, row.weekStartDate()) % 7 == 0)
+                .toList();
+        if (rows.size() != weeks) {
+            throw ApiException.internal("Nepodařilo se načíst vygenerovaný týden.", "week_reload_failed");
         }
-        PlannerMetadata metadata = createMetadata(projectId, project, sprint);
-        return new WeekCollection(metadata, List.copyOf(result));
+        List<WeekDetail> result = rows.stream()
+                .map(this::mapWeek)
+                .toList();
+        PlannerMetadata metadata = createMetadata(context, sprint);
+        return new WeekCollection(metadata, result);
     }
 
     public WeekCollection listWeeks(long projectId, Long sprintId, int limit, int offset) {
-        ProjectConfigurationRow project = requireProject(projectId);
+        PlannerRequestContext context = context(projectId);
+        context.project();
         if (limit <= 0 || limit > 200) {
             throw ApiException.validation("Limit musí být v intervalu 1 až 200.", "pagination_limit_invalid");
         }
         if (offset < 0) {
             throw ApiException.validation("Offset nesmí být záporný.", "pagination_offset_invalid");
         }
-        PlanningSprintEntity sprint = resolveSprint(projectId, sprintId);
+        PlanningSprintEntity sprint = sprintId == null ? context.activeSprint() : context.sprint(sprintId);
         List<ProjectWeekRow> rows = repository.listProjectWeeks(projectId, sprint.id(), limit, offset);
-        PlannerMetadata metadata = createMetadata(projectId, project, sprint);
+        PlannerMetadata metadata = createMetadata(context, sprint);
         List<WeekDetail> weeks = rows.stream()
                 .map(this::mapWeek)
                 .toList();
         return new WeekCollection(metadata, weeks);
     }
 
+    /**
+     * Planner overview without tasks: one row per week with counts and hours aggregated in SQL. Tasks of a
+     * week are fetched page by page through {@link #listWeekTasks}.
+     */
+    public WeekSummaryCollection listWeekSummaries(long projectId, Long sprintId, int limit, int offset) {
+        PlannerRequestContext context = context(projectId);
+        context.project();
+        if (limit <= 0 || limit > 200) {
+            throw ApiException.validation("Limit musí být v intervalu 1 až 200.", "pagination_limit_invalid");
+        }
+        if (offset < 0) {
+            throw ApiException.validation("Offset nesmí být záporný.", "pagination_offset_invalid");
+        }
+        PlanningSprintEntity sprint = sprintId == null ? context.activeSprint() : context.sprint(sprintId);
+        List<WeekSummary> weeks = repository.listWeekSummaries(projectId, sprint.id(), limit, offset).stream()
+                .map(row -> new WeekSummary(
+                        row.id(),
+                        row.projectId(),
+                        row.sprintId(),
+                        row.weekStartDate(),
+                        computeWeekEnd(row.weekStartDate()),
+                        row.createdAt(),
+                        row.updatedAt(),
+                        row.version(),
+                        row.taskCount(),
+                        row.plannedHours(),
+                        row.openTaskCount(),
+                        row.closedTaskCount()))
+                .toList();
+        return new WeekSummaryCollection(createMetadata(context, sprint), weeks);
+    }
+
+    public TaskPage listWeekTasks(long projectId, long projectWeekId, Long afterTaskId, int limit) {
+        if (limit <= 0 || limit > MAX_TASK_PAGE_LIMIT) {
+            throw ApiException.validation("Limit musí být v intervalu 1 až " + MAX_TASK_PAGE_LIMIT + ".",
+                    "pagination_limit_invalid");
+        }
+        requireWeekMetadata(projectId, projectWeekId, null);
+        List<WeeklyTaskRow> rows = repository.listTasksForWeekPage(projectWeekId, afterTaskId, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<WeeklyTaskRow> page = hasMore ? rows.subList(0, limit) : rows;
+        Long nextAfter = hasMore ? page.get(page.size() - 1).id() : null;
+        return new TaskPage(page.stream().map(this::mapTask).toList(), nextAfter, limit);
+    }
+
     public WeekWithMetadata getWeek(long projectId, long projectWeekId, Long sprintId) {
-        ProjectConfigurationRow project = requireProject(projectId);
+        PlannerRequestContext context = context(projectId);
+        context.project();
         ProjectWeekRow row = requireWeek(projectId, projectWeekId, sprintId);
-        PlanningSprintEntity sprint = loadSprint(projectId, row.sprintId());
-        PlannerMetadata metadata = createMetadata(projectId, project, sprint);
+        PlanningSprintEntity sprint = row.sprintId() == null ? null : context.sprint(row.sprintId());
+        PlannerMetadata metadata = createMetadata(context, sprint);
         return new WeekWithMetadata(metadata, mapWeek(row));
     }
 
     public TaskDetail createTask(long projectId, Long projectWeekId, TaskInput input) {
-        PlanningSprintEntity sprint = sprintService.requireActiveSprint(projectId);
-        ProjectWeekRow week = null;
+        PlanningSprintEntity sprint = context(projectId).activeSprint();
+        ProjectWeekMetadataRow week = null;
         if (projectWeekId != null) {
-            week = requireWeek(projectId, projectWeekId, sprint.id());
+            week = requireWeekMetadata(projectId, projectWeekId, sprint.id());
         }
-        validateTaskInput(projectId, week, input);
         LocalDate weekStart = week == null ? null : week.weekStartDate();
+        new TaskInputValidator(repository, projectId).add("task", weekStart, input).validate();
         WeeklyTaskRow inserted = txTemplate.execute(status -> {
             WeeklyTaskRow created = repository.insertTask(projectId, sprint.id(), projectWeekId, toMutation(input));
             if (input.issueId() != null) {
@@ -155,22 +218,30 @@ public class WeeklyPlannerService {
                     String normalized = normalizeIssueState(input.status());
                     repository.updateIssueState(input.issueId(), normalized);
                 }
+                issuesChanged(projectId, List.of(input.issueId()));
             }
             return repository.findTaskById(created.id())
                     .orElseThrow(() -> ApiException.internal("Úkol byl vytvořen, ale nepodařilo se jej načíst.",
                             "task_reload_failed"));
         });
-        return mapTask(inserted);
+        TaskDetail created = mapTask(inserted);
+        changes.publish(PlannerChange.tasks(PlannerChange.Type.TASKS_CREATED, projectId, projectWeekId, List.of(created)));
+        return created;
     }
 
-    public TaskDetail updateTask(long projectId, long projectWeekId, long taskId, TaskInput input) {
-        PlanningSprintEntity sprint = sprintService.requireActiveSprint(projectId);
-        ProjectWeekRow week = requireWeek(projectId, projectWeekId, sprint.id());
-        requireTask(projectId, projectWeekId, taskId);
-        validateTaskInput(projectId, week, input);
+    /**
+     * @param expectedVersion version from {@code If-Match}; {@code null} (explicit {@code If-Match: *}) skips
+     *                        the check
+     */
+    public TaskDetail updateTask(long projectId, long projectWeekId, long taskId, Long expectedVersion,
+            TaskInput input) {
+        PlanningSprintEntity sprint = context(projectId).activeSprint();
+        ProjectWeekMetadataRow week = requireWeekMetadata(projectId, projectWeekId, sprint.id());
+        requireTaskVersion(requireTask(projectId, projectWeekId, taskId), expectedVersion);
+        new TaskInputValidator(repository, projectId).add("task", week.weekStartDate(), input).validate();
         WeeklyTaskRow updated = txTemplate.execute(status -> {
-            WeeklyTaskRow row = repository.updateTask(taskId, toMutation(input))
-                    .orElseThrow(() -> ApiException.notFound("Úkol nebyl nalezen.", "weekly_task"));
+            WeeklyTaskRow row = repository.updateTask(taskId, expectedVersion, toMutation(input))
+                    .orElseThrow(() -> staleTask(taskId));
             if (input.issueId() != null) {
                 LocalDate deadline = resolveDeadline(input.deadline(), week.weekStartDate());
                 repository.updateIssueDueDate(input.issueId(), deadline);
@@ -178,63 +249,85 @@ public class WeeklyPlannerService {
                     String normalized = normalizeIssueState(input.status());
                     repository.updateIssueState(input.issueId(), normalized);
                 }
+                issuesChanged(projectId, List.of(input.issueId()));
             }
             return repository.findTaskById(row.id())
                     .orElseThrow(() -> ApiException.internal("Úkol byl upraven, ale nepodařilo se jej načíst.",
                             "task_reload_failed"));
         });
-        return mapTask(updated);
+        TaskDetail detail = mapTask(updated);
+        changes.publish(PlannerChange.tasks(PlannerChange.Type.TASKS_UPDATED, projectId, projectWeekId, List.of(detail)));
+        return detail;
     }
 
-    public void deleteTask(long projectId, long projectWeekId, long taskId) {
-        PlanningSprintEntity sprint = sprintService.requireActiveSprint(projectId);
-        requireWeek(projectId, projectWeekId, sprint.id());
+    public void deleteTask(long projectId, long projectWeekId, long taskId, Long expectedVersion) {
+        PlanningSprintEntity sprint = context(projectId).activeSprint();
+        requireWeekMetadata(projectId, projectWeekId, sprint.id());
         WeeklyTaskRow task = requireTask(projectId, projectWeekId, taskId);
-        txTemplate.executeWithoutResult(status -> repository.deleteTask(task.id()));
+        requireTaskVersion(task, expectedVersion);
+        txTemplate.executeWithoutResult(status -> {
+            if (repository.deleteTask(task.id(), expectedVersion) == 0) {
+                throw staleTask(task.id());
+            }
+        });
+        changes.publish(PlannerChange.deleted(projectId, projectWeekId, List.of(task.id())));
     }
 
-    public TaskDetail changeStatus(long projectId, long projectWeekId, long taskId, String newStatus) {
-        PlanningSprintEntity sprint = sprintService.requireActiveSprint(projectId);
-        ProjectWeekRow week = requireWeek(projectId, projectWeekId, sprint.id());
+    public TaskDetail changeStatus(long projectId, long projectWeekId, long taskId, Long expectedVersion,
+            String newStatus) {
+        PlanningSprintEntity sprint = context(projectId).activeSprint();
+        requireWeekMetadata(projectId, projectWeekId, sprint.id());
         WeeklyTaskRow task = requireTask(projectId, projectWeekId, taskId);
+        requireTaskVersion(task, expectedVersion);
         String normalized = normalizeIssueState(newStatus);
 
         txTemplate.executeWithoutResult(status -> {
             if (task.issueId() != null) {
-                IssueMetadataRow issue = repository.findIssueMetadata(task.issueId())
-                        .orElseThrow(() -> ApiException.notFound("Issue nebylo nalezeno.", "issue"));
-                if (!repository.issueBelongsToProject(projectId, issue.id())) {
+                // The status lives on the issue; bump the task version so other editors see the change.
+                if (!repository.touchTask(taskId, expectedVersion)) {
+                    throw staleTask(taskId);
+                }
+                Boolean inProject = repository.checkIssuesInProject(projectId, List.of(task.issueId()))
+                        .get(task.issueId());
+                if (inProject == null) {
+                    throw ApiException.notFound("Issue nebylo nalezeno.", "issue");
+                }
+                if (!inProject) {
                     throw ApiException.validation("Issue nepatří do vybraného projektu.", "issue_project_mismatch");
                 }
-                boolean updated = repository.updateIssueState(issue.id(), normalized);
+                boolean updated = repository.updateIssueState(task.issueId(), normalized);
                 if (!updated) {
                     throw ApiException.internal("Nepodařilo se aktualizovat stav issue.", "issue_update_failed");
                 }
-            } else {
-                repository.updateTaskStatus(taskId, normalized);
+                issuesChanged(projectId, List.of(task.issueId()));
+            } else if (!repository.updateTaskStatus(taskId, expectedVersion, normalized)) {
+                throw staleTask(taskId);
             }
         });
 
         WeeklyTaskRow reloaded = repository.findTaskById(task.id())
                 .orElseThrow(
                         () -> ApiException.internal("Nepodařilo se načíst úkol po změně stavu.", "task_reload_failed"));
-        return mapTask(reloaded);
+        TaskDetail detail = mapTask(reloaded);
+        changes.publish(PlannerChange.tasks(PlannerChange.Type.TASK_STATUS_CHANGED, projectId, projectWeekId,
+                List.of(detail)));
+        return detail;
     }
 
-    public TaskDetail assignTask(long projectId, long taskId, Long destinationWeekId) {
+    public TaskDetail assignTask(long projectId, long taskId, Long expectedVersion, Long destinationWeekId) {
         WeeklyTaskRow task = repository.findTaskById(taskId)
                 .orElseThrow(() -> ApiException.notFound("Úkol nebyl nalezen.", "weekly_task"));
         if (task.projectId() != projectId) {
             throw ApiException.validation("Úkol nepatří do vybraného projektu.", "weekly_task_project_mismatch");
         }
+        requireTaskVersion(task, expectedVersion);
         Long newWeekId = destinationWeekId;
         Long newSprintId = task.sprintId();
         if (newSprintId == null) {
-            PlanningSprintEntity sprint = sprintService.requireActiveSprint(projectId);
-            newSprintId = sprint.id();
+            newSprintId = context(projectId).activeSprint().id();
         }
         if (destinationWeekId != null) {
-            ProjectWeekRow targetWeek = requireWeek(projectId, destinationWeekId, newSprintId);
+            ProjectWeekMetadataRow targetWeek = requireWeekMetadata(projectId, destinationWeekId, newSprintId);
             if (targetWeek.sprintId() != null && !Objects.equals(targetWeek.sprintId(), newSprintId)) {
                 throw ApiException.validation("Týden nepatří do sprintu úkolu.", "project_week_sprint_mismatch");
             }
@@ -245,15 +338,20 @@ public class WeeklyPlannerService {
         Long targetWeekId = newWeekId;
         WeeklyTaskRow updated = txTemplate.execute(status -> repository.updateTaskAssignment(
                 taskId,
+                expectedVersion,
                 targetWeekId,
                 sprintId)
-                .orElseThrow(() -> ApiException.notFound("Úkol nebyl nalezen.", "weekly_task")));
-        return mapTask(updated);
+                .orElseThrow(() -> staleTask(taskId)));
+        TaskDetail detail = mapTask(updated);
+        changes.publish(PlannerChange.tasks(PlannerChange.Type.TASKS_MOVED, projectId, targetWeekId, List.of(detail)));
+        return detail;
     }
 
-    public void deleteWeek(long projectId, long projectWeekId) {
-        PlanningSprintEntity sprint = sprintService.requireActiveSprint(projectId);
+    public void deleteWeek(long projectId, long projectWeekId, Long expectedVersion) {
+        PlannerRequestContext context = context(projectId);
+        PlanningSprintEntity sprint = context.activeSprint();
         ProjectWeekRow week = requireWeek(projectId, projectWeekId, sprint.id());
+        requireWeekVersion(week, expectedVersion);
         if (week.sprintId() == null) {
             throw ApiException.validation("Týden není přiřazen k žádnému sprintu.", "project_week_sprint_missing");
         }
@@ -266,23 +364,26 @@ public class WeeklyPlannerService {
             throw ApiException.validation("Týden nelze smazat, protože obsahuje úkoly.", "project_week_not_empty");
         }
         txTemplate.executeWithoutResult(status -> {
-            int removed = repository.deleteProjectWeek(projectWeekId);
+            int removed = repository.deleteProjectWeek(projectWeekId, expectedVersion);
             if (removed == 0) {
-                throw ApiException.notFound("Požadovaný týden neexistuje.", "project_week");
+                throw staleWeek(projectWeekId);
             }
         });
+        context.weeksChanged();
+        changes.publish(PlannerChange.weeksChanged(projectId));
     }
 
     public List<TaskDetail> carryOverTasks(long projectId,
             long sourceProjectWeekId,
             LocalDate targetWeekStart,
             List<Long> taskIds) {
-        PlanningSprintEntity sprint = sprintService.requireActiveSprint(projectId);
+        PlannerRequestContext context = context(projectId);
+        PlanningSprintEntity sprint = context.activeSprint();
         ProjectWeekRow source = requireWeek(projectId, sourceProjectWeekId, sprint.id());
         if (targetWeekStart == null) {
             throw ApiException.validation("Datum cílového týdne je povinné.", "target_week_required");
         }
-        ProjectConfigurationRow project = requireProject(projectId);
+        ProjectConfigurationRow project = context.project();
         LocalDate alignedTarget = alignToWeekStart(targetWeekStart, project.weekStartDay());
         List<WeeklyTaskRow> sourceTasks = source.tasks();
         Set<Long> filterIds = taskIds == null ? Set.of() : new LinkedHashSet<>(taskIds);
@@ -303,8 +404,8 @@ public class WeeklyPlannerService {
             return List.of();
         }
         LocalDate targetWeekEnd = computeWeekEnd(alignedTarget);
-        List<Long> newTaskIds = txTemplate.execute(status -> {
-            ProjectWeekRow targetWeek = repository.findProjectWeek(projectId, alignedTarget)
+        List<WeeklyTaskRow> carried = txTemplate.execute(status -> {
+            ProjectWeekMetadataRow targetWeek = repository.findProjectWeekMetadata(projectId, alignedTarget)
                     .map(existing -> {
                         if (existing.sprintId() != null && !existing.sprintId().equals(sprint.id())) {
                             throw ApiException.validation("Týden nepatří do aktuálního sprintu.",
@@ -312,57 +413,275 @@ public class WeeklyPlannerService {
                         }
                         return existing;
                     })
-                    .orElseGet(() -> {
-                        var inserted = repository.insertProjectWeek(projectId, sprint.id(), alignedTarget);
-                        return repository.findProjectWeekById(inserted.id())
-                                .orElseThrow(() -> ApiException.internal("Nepodařilo se načíst cílový týden.",
-                                        "target_week_reload_failed"));
-                    });
-            List<Long> ids = new ArrayList<>();
+                    .orElseGet(() -> repository.insertProjectWeek(projectId, sprint.id(), alignedTarget));
             Long targetSprintId = targetWeek.sprintId() == null ? sprint.id() : targetWeek.sprintId();
-            for (WeeklyTaskRow task : toCopy) {
-                WeeklyTaskRow inserted = repository.insertTask(projectId,
-                        targetSprintId,
-                        targetWeek.id(),
-                        new WeeklyTaskMutation(task.internId(), task.issueId(), task.note(), task.plannedHours(),
-                                null));
-                ids.add(inserted.id());
-                if (task.issueId() != null) {
-                    repository.updateIssueDueDate(task.issueId(), targetWeekEnd);
-                }
-            }
-            return ids;
+            // Due dates go first so the inserted rows are returned with the moved deadlines.
+            repository.updateIssuesDueDate(issueIdsOf(toCopy), targetWeekEnd);
+            issuesChanged(projectId, issueIdsOf(toCopy));
+            return repository.insertTasks(projectId,
+                    targetSprintId,
+                    targetWeek.id(),
+                    toCopy.stream()
+                            .map(task -> new WeeklyTaskMutation(task.internId(), task.issueId(), task.note(),
+                                    task.plannedHours(), null))
+                            .toList());
         });
-        return newTaskIds.stream()
-                .map(id -> repository.findTaskById(id)
-                        .orElseThrow(() -> ApiException.internal("Nepodařilo se načíst přenesený úkol.",
-                                "task_reload_failed")))
+        context.weeksChanged();
+        List<TaskDetail> details = carried.stream()
                 .map(this::mapTask)
                 .toList();
+        changes.publish(PlannerChange.tasks(PlannerChange.Type.TASKS_CARRIED_OVER, projectId,
+                details.get(0).weekId(), details));
+        return details;
     }
 
-    public WeekWithMetadata closeWeek(long projectId, long projectWeekId) {
-        ProjectConfigurationRow project = requireProject(projectId);
-        PlanningSprintEntity sprint = sprintService.requireActiveSprint(projectId);
+    public WeekWithMetadata closeWeek(long projectId, long projectWeekId, Long expectedVersion) {
+        PlannerRequestContext context = context(projectId);
+        context.project();
+        PlanningSprintEntity sprint = context.activeSprint();
         ProjectWeekRow week = requireWeek(projectId, projectWeekId, sprint.id());
+        requireWeekVersion(week, expectedVersion);
         LocalDate weekEnd = computeWeekEnd(week.weekStartDate());
         txTemplate.executeWithoutResult(status -> {
-            for (WeeklyTaskRow task : week.tasks()) {
-                if (task.issueId() != null) {
-                    repository.updateIssueState(task.issueId(), "closed");
-                    repository.updateIssueDueDate(task.issueId(), weekEnd);
-                }
+            if (!repository.touchProjectWeek(projectWeekId, expectedVersion)) {
+                throw staleWeek(projectWeekId);
             }
+            repository.closeIssues(issueIdsOf(week.tasks()), weekEnd);
+            issuesChanged(projectId, issueIdsOf(week.tasks()));
+            repository.touchIssueTasksOfWeek(projectWeekId);
         });
         ProjectWeekRow refreshed = repository.findProjectWeekById(projectWeekId)
                 .orElseThrow(
                         () -> ApiException.internal("Nepodařilo se načíst týden po uzavření.", "week_reload_failed"));
-        PlannerMetadata metadata = createMetadata(projectId, project, sprint);
-        return new WeekWithMetadata(metadata, mapWeek(refreshed));
+        PlannerMetadata metadata = createMetadata(context, sprint);
+        WeekDetail detail = mapWeek(refreshed);
+        changes.publish(PlannerChange.tasks(PlannerChange.Type.WEEK_CLOSED, projectId, projectWeekId, detail.tasks()));
+        return new WeekWithMetadata(metadata, detail);
+    }
+
+    /**
+     * Applies many task creations, updates, moves and deletions in one transaction. Every referenced
+     * week and task is loaded with one query each and the writes are batched per kind.
+     */
+    public BulkTaskResult bulkMutateTasks(long projectId, BulkTaskInput input) {
+        return bulkMutateTasks(projectId, input, MAX_BULK_TASK_OPERATIONS);
+    }
+
+    /**
+     * Proposes weeks for the backlog tasks of the active sprint, from the current week on, respecting each
+     * intern's weekly workload over all of their projects. Nothing is written; the assignments carry the
+     * task versions and are accepted as a whole through {@link #applyPlan}.
+     */
+    public PlanProposal proposePlan(long projectId) {
+        PlannerRequestContext context = context(projectId);
+        ProjectConfigurationRow project = context.project();
+        PlanningSprintEntity sprint = context.activeSprint();
+        LocalDate today = OffsetDateTime.now(ZoneOffset.UTC).toLocalDate();
+        LocalDate currentWeekStart = alignToWeekStart(today, project.weekStartDay());
+        List<ProjectWeekMetadataRow> weeks = repository.listSprintWeeksFrom(projectId, sprint.id(), currentWeekStart);
+        List<WeeklyTaskRow> backlog = repository.listBacklogTasks(projectId, sprint.id());
+        Set<Long> internIds = backlog.stream()
+                .map(WeeklyTaskRow::internId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        List<LocalDate> weekStarts = weeks.stream().map(ProjectWeekMetadataRow::weekStartDate).toList();
+        List<InternWorkloadRow> workloads = repository.listInternWorkloads(projectId, internIds);
+        List<InternWeekLoadRow> loads = weekStarts.isEmpty() ? List.of()
+                : repository.listInternPlannedLoad(projectId, internIds, weekStarts.get(0).minusDays(3),
+                        weekStarts.get(weekStarts.size() - 1).plusDays(3));
+
+        WeeklyPlanGenerator.Plan plan = WeeklyPlanGenerator.generate(weekStarts, backlog, sprint.deadline(),
+                workloads, loads);
+        List<PlanAssignment> assignments = plan.assignments().stream()
+                .map(assignment -> {
+                    ProjectWeekMetadataRow week = weeks.get(assignment.weekIndex());
+                    return new PlanAssignment(mapTask(assignment.task()), week.id(), week.weekStartDate(),
+                            computeWeekEnd(week.weekStartDate()), assignment.late());
+                })
+                .toList();
+        List<UnplannedTask> unplanned = plan.unplanned().stream()
+                .map(item -> new UnplannedTask(mapTask(item.task()), item.reason()))
+                .toList();
+        List<InternWeekCapacity> capacity = plan.capacity().stream()
+                .map(item -> new InternWeekCapacity(item.internId(),
+                        item.internName(),
+                        weeks.get(item.weekIndex()).id(),
+                        weeks.get(item.weekIndex()).weekStartDate(),
+                        item.workloadHours(),
+                        item.plannedHours(),
+                        item.availableHours(),
+                        item.proposedHours()))
+                .toList();
+        return new PlanProposal(createMetadata(context, sprint), assignments, unplanned, capacity);
+    }
+
+    /**
+     * Moves the tasks of an accepted proposal into their weeks in one transaction. Every move is checked
+     * against the task version from the proposal, so a task edited in the meantime fails the whole batch
+     * with a conflict carrying its current state.
+     */
+    public BulkTaskResult applyPlan(long projectId, List<BulkTaskMove> assignments) {
+        return bulkMutateTasks(projectId, new BulkTaskInput(null, null, assignments, null), MAX_PLAN_ASSIGNMENTS);
+    }
+
+    private BulkTaskResult bulkMutateTasks(long projectId, BulkTaskInput input, int maxOperations) {
+        if (input == null) {
+            throw ApiException.validation("Tělo požadavku je povinné.", "task_body_required");
+        }
+        List<BulkTaskCreate> creates = input.create() == null ? List.of() : input.create();
+        List<BulkTaskUpdate> updates = input.update() == null ? List.of() : input.update();
+        List<BulkTaskMove> moves = input.move() == null ? List.of() : input.move();
+        List<Long> deletes = input.delete() == null ? List.of() : input.delete();
+        int operations = creates.size() + updates.size() + moves.size() + deletes.size();
+        if (operations == 0) {
+            return new BulkTaskResult(List.of(), List.of(), List.of(), List.of());
+        }
+        if (operations > maxOperations) {
+            throw ApiException.validation("Dávka může obsahovat nejvýše " + maxOperations + " operací.",
+                    "bulk_too_large");
+        }
+        PlanningSprintEntity sprint = context(projectId).activeSprint();
+
+        Set<Long> taskIds = new LinkedHashSet<>();
+        for (BulkTaskUpdate update : updates) {
+            addUniqueTaskId(taskIds, update == null ? null : update.taskId());
+        }
+        for (BulkTaskMove move : moves) {
+            addUniqueTaskId(taskIds, move == null ? null : move.taskId());
+        }
+        for (Long taskId : deletes) {
+            addUniqueTaskId(taskIds, taskId);
+        }
+        Map<Long, WeeklyTaskRow> tasks = new HashMap<>();
+        for (WeeklyTaskRow task : repository.findTasksByIds(taskIds)) {
+            if (task.projectId() != projectId) {
+                throw ApiException.validation("Úkol nepatří do vybraného projektu.", "weekly_task_project_mismatch");
+            }
+            tasks.put(task.id(), task);
+        }
+        for (Long taskId : taskIds) {
+            if (!tasks.containsKey(taskId)) {
+                throw ApiException.notFound("Úkol nebyl nalezen.", "weekly_task");
+            }
+        }
+
+        Set<Long> weekIds = new LinkedHashSet<>();
+        for (BulkTaskCreate create : creates) {
+            if (create == null) {
+                throw ApiException.validation("Tělo požadavku je povinné.", "task_body_required");
+            }
+            if (create.weekId() != null) {
+                weekIds.add(create.weekId());
+            }
+        }
+        for (BulkTaskMove move : moves) {
+            if (move.weekId() != null) {
+                weekIds.add(move.weekId());
+            }
+        }
+        for (BulkTaskUpdate update : updates) {
+            Long weekId = tasks.get(update.taskId()).projectWeekId();
+            if (weekId != null) {
+                weekIds.add(weekId);
+            }
+        }
+        Map<Long, ProjectWeekMetadataRow> weeks = new HashMap<>();
+        for (ProjectWeekMetadataRow week : repository.findProjectWeeksByIds(weekIds)) {
+            if (week.projectId() == projectId) {
+                weeks.put(week.id(), week);
+            }
+        }
+        for (Long weekId : weekIds) {
+            if (!weeks.containsKey(weekId)) {
+                throw ApiException.notFound("Požadovaný týden neexistuje.", "project_week");
+            }
+        }
+
+        // Validate everything before the first write; all invalid inputs are reported together.
+        TaskInputValidator validator = new TaskInputValidator(repository, projectId);
+        for (int i = 0; i < creates.size(); i++) {
+            BulkTaskCreate create = creates.get(i);
+            ProjectWeekMetadataRow week = create.weekId() == null ? null : weeks.get(create.weekId());
+            if (week != null) {
+                requireSprintMatch(week, sprint.id());
+            }
+            validator.add("create[" + i + "]", week == null ? null : week.weekStartDate(), create.task());
+        }
+        for (int i = 0; i < updates.size(); i++) {
+            WeeklyTaskRow task = tasks.get(updates.get(i).taskId());
+            validator.add("update[" + i + "]", weekStartOf(task, weeks), updates.get(i).task());
+        }
+        validator.validate();
+
+        Map<LocalDate, Set<Long>> issueDueDates = new HashMap<>();
+        Map<String, Set<Long>> issueStates = new HashMap<>();
+        Map<Long, List<WeeklyTaskMutation>> createsByWeek = new LinkedHashMap<>();
+        for (BulkTaskCreate create : creates) {
+            ProjectWeekMetadataRow week = create.weekId() == null ? null : weeks.get(create.weekId());
+            collectIssueChanges(create.task(), week == null ? null : week.weekStartDate(), issueDueDates, issueStates);
+            createsByWeek.computeIfAbsent(create.weekId(), ignored -> new ArrayList<>()).add(toMutation(create.task()));
+        }
+        List<TaskUpdate> taskUpdates = new ArrayList<>();
+        for (BulkTaskUpdate update : updates) {
+            WeeklyTaskRow task = tasks.get(update.taskId());
+            collectIssueChanges(update.task(), weekStartOf(task, weeks), issueDueDates, issueStates);
+            requireTaskVersion(task, update.version());
+            taskUpdates.add(new TaskUpdate(task.id(), update.version(), toMutation(update.task())));
+        }
+        List<TaskAssignment> assignments = new ArrayList<>();
+        for (BulkTaskMove move : moves) {
+            WeeklyTaskRow task = tasks.get(move.taskId());
+            requireTaskVersion(task, move.version());
+            long sprintId = task.sprintId() == null ? sprint.id() : task.sprintId();
+            if (move.weekId() != null) {
+                ProjectWeekMetadataRow week = weeks.get(move.weekId());
+                requireSprintMatch(week, sprintId);
+                sprintId = week.sprintId() == null ? sprintId : week.sprintId();
+            }
+            assignments.add(new TaskAssignment(task.id(), move.version(), move.weekId(), sprintId));
+        }
+
+        List<WeeklyTaskRow> created = txTemplate.execute(status -> {
+            repository.batchDeleteTasks(deletes);
+            // Issue changes go first so the inserted rows are returned with the new due dates and states.
+            issueDueDates.forEach((dueDate, issueIds) -> repository.updateIssuesDueDate(issueIds, dueDate));
+            issueStates.forEach((state, issueIds) -> repository.updateIssuesState(issueIds, state));
+            Set<Long> changedIssueIds = new LinkedHashSet<>();
+            issueDueDates.values().forEach(changedIssueIds::addAll);
+            issueStates.values().forEach(changedIssueIds::addAll);
+            issuesChanged(projectId, changedIssueIds);
+            requireAllApplied(repository.batchUpdateTasks(taskUpdates),
+                    taskUpdates.stream().map(TaskUpdate::taskId).toList());
+            requireAllApplied(repository.batchUpdateTaskAssignments(assignments),
+                    assignments.stream().map(TaskAssignment::taskId).toList());
+            List<WeeklyTaskRow> inserted = new ArrayList<>();
+            createsByWeek.forEach((weekId, mutations) ->
+                    inserted.addAll(repository.insertTasks(projectId, sprint.id(), weekId, mutations)));
+            return inserted;
+        });
+
+        Map<Long, WeeklyTaskRow> reloaded = new HashMap<>();
+        List<Long> changedIds = new ArrayList<>();
+        taskUpdates.forEach(update -> changedIds.add(update.taskId()));
+        assignments.forEach(assignment -> changedIds.add(assignment.taskId()));
+        for (WeeklyTaskRow row : repository.findTasksByIds(changedIds)) {
+            reloaded.put(row.id(), row);
+        }
+        BulkTaskResult result = new BulkTaskResult(
+                created.stream().map(this::mapTask).toList(),
+                taskUpdates.stream().map(update -> mapTask(reloaded.get(update.taskId()))).toList(),
+                assignments.stream().map(assignment -> mapTask(reloaded.get(assignment.taskId()))).toList(),
+                List.copyOf(deletes));
+        List<TaskDetail> changed = new ArrayList<>(result.created());
+        changed.addAll(result.updated());
+        changed.addAll(result.moved());
+        changes.publish(new PlannerChange(PlannerChange.Type.BULK_CHANGED, projectId, null, changed, result.deleted(),
+                false));
+        return result;
     }
 
     public WeeklySummary getSummary(long projectId, long projectWeekId) {
-        requireWeek(projectId, projectWeekId);
+        requireWeekMetadata(projectId, projectWeekId, null);
         WeeklyStatisticsRow stats = repository.loadWeeklyStatistics(projectWeekId);
         List<InternSummary> perIntern = stats.perIntern().stream()
                 .map(row -> new InternSummary(row.internId(), row.internName(), row.taskCount(), row.totalHours()))
@@ -370,13 +689,8 @@ public class WeeklyPlannerService {
         return new WeeklySummary(stats.projectWeekId(), stats.taskCount(), stats.totalHours(), perIntern);
     }
 
-    private ProjectConfigurationRow requireProject(long projectId) {
-        return repository.findProjectConfiguration(projectId)
-                .orElseThrow(() -> ApiException.notFound("Projekt nebyl nalezen.", "project"));
-    }
-
-    private ProjectWeekRow requireWeek(long projectId, long projectWeekId) {
-        return requireWeek(projectId, projectWeekId, null);
+    private PlannerRequestContext context(long projectId) {
+        return PlannerRequestContext.of(projectId, repository, sprintService);
     }
 
     private ProjectWeekRow requireWeek(long projectId, long projectWeekId, Long requiredSprintId) {
@@ -391,6 +705,18 @@ public class WeeklyPlannerService {
         return row;
     }
 
+    private ProjectWeekMetadataRow requireWeekMetadata(long projectId, long projectWeekId, Long requiredSprintId) {
+        ProjectWeekMetadataRow row = repository.findProjectWeekMetadata(projectWeekId)
+                .orElseThrow(() -> ApiException.notFound("Požadovaný týden neexistuje.", "project_week"));
+        if (row.projectId() != projectId) {
+            throw ApiException.notFound("Požadovaný týden neexistuje.", "project_week");
+        }
+        if (requiredSprintId != null && row.sprintId() != null && !Objects.equals(row.sprintId(), requiredSprintId)) {
+            throw ApiException.validation("Týden nepatří do vybraného sprintu.", "project_week_sprint_mismatch");
+        }
+        return row;
+    }
+
     private WeeklyTaskRow requireTask(long projectId, Long projectWeekId, long taskId) {
         WeeklyTaskRow row = repository.findTaskById(taskId)
                 .orElseThrow(() -> ApiException.notFound("Úkol nebyl nalezen.", "weekly_task"));
@@ -403,46 +729,114 @@ public class WeeklyPlannerService {
         return row;
     }
 
-    private void validateTaskInput(long projectId, ProjectWeekRow week, TaskInput input) {
-        if (input == null) {
-            throw ApiException.validation("Tělo požadavku je povinné.", "task_body_required");
+    /**
+     * Fails fast when the client already holds an outdated version. The compare-and-set in the update
+     * statement still guards against writes that happen between this check and the transaction.
+     */
+    private void requireTaskVersion(WeeklyTaskRow task, Long expectedVersion) {
+        if (expectedVersion != null && task.version() != expectedVersion) {
+            throw taskConflict(task);
         }
-        if (input.plannedHours() != null) {
-            BigDecimal hours = input.plannedHours().setScale(2, RoundingMode.HALF_UP);
-            if (hours.compareTo(BigDecimal.ZERO) < 0) {
-                throw ApiException.validation("Počet hodin nesmí být záporný.", "planned_hours_negative");
-            }
-            if (hours.compareTo(MAX_WEEKLY_HOURS) > 0) {
-                throw ApiException.validation("Počet hodin nesmí překročit " + MAX_WEEKLY_HOURS + ".",
-                        "planned_hours_exceeded");
-            }
+    }
+
+    private void requireWeekVersion(ProjectWeekRow week, Long expectedVersion) {
+        if (expectedVersion != null && week.version() != expectedVersion) {
+            throw ApiException.conflict("Týden byl mezitím změněn.", "project_week_version_conflict", mapWeek(week));
         }
-        if (input.issueId() != null) {
-            if (input.issueId() <= 0) {
-                throw ApiException.validation("ID issue musí být kladné.", "issue_id_invalid");
-            }
-            IssueMetadataRow issue = repository.findIssueMetadata(input.issueId())
-                    .orElseThrow(() -> ApiException.notFound("Issue nebylo nalezeno.", "issue"));
-            if (!repository.issueBelongsToProject(projectId, issue.id())) {
-                throw ApiException.validation("Issue nepatří do vybraného projektu.", "issue_project_mismatch");
+    }
+
+    /** Explains a compare-and-set miss: the task is either gone or was changed by someone else. */
+    private ApiException staleTask(long taskId) {
+        return repository.findTaskById(taskId)
+                .map(this::taskConflict)
+                .orElseGet(() -> ApiException.notFound("Úkol nebyl nalezen.", "weekly_task"));
+    }
+
+    private ApiException staleWeek(long projectWeekId) {
+        return repository.findProjectWeekById(projectWeekId)
+                .map(week -> ApiException.conflict("Týden byl mezitím změněn.", "project_week_version_conflict",
+                        mapWeek(week)))
+                .orElseGet(() -> ApiException.notFound("Požadovaný týden neexistuje.", "project_week"));
+    }
+
+    private ApiException taskConflict(WeeklyTaskRow task) {
+        return ApiException.conflict("Úkol byl mezitím změněn.", "weekly_task_version_conflict", mapTask(task));
+    }
+
+    private void requireAllApplied(int[] counts, List<Long> taskIds) {
+        List<Long> stale = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                stale.add(taskIds.get(i));
             }
         }
-        if (input.internId() != null) {
-            if (input.internId() <= 0) {
-                throw ApiException.validation("ID stážisty musí být kladné.", "intern_id_invalid");
-            }
-            if (!repository.internAssignedToProject(projectId, input.internId())) {
-                throw ApiException.validation("Stážista není přiřazen k projektu.", "intern_project_mismatch");
-            }
+        if (!stale.isEmpty()) {
+            List<TaskDetail> current = repository.findTasksByIds(stale).stream().map(this::mapTask).toList();
+            throw ApiException.conflict("Některé úkoly byly mezitím změněny.", "weekly_task_version_conflict",
+                    current);
         }
-        if (input.deadline() != null && week != null) {
-            LocalDate weekEnd = computeWeekEnd(week.weekStartDate());
-            if (input.deadline().isBefore(week.weekStartDate()) || input.deadline().isAfter(weekEnd)) {
-                throw ApiException.validation("Deadline musí spadat do vybraného týdne.", "deadline_out_of_range");
-            }
+    }
+
+    private static LocalDate weekStartOf(WeeklyTaskRow task, Map<Long, ProjectWeekMetadataRow> weeks) {
+        return task.projectWeekId() == null ? null : weeks.get(task.projectWeekId()).weekStartDate();
+    }
+
+    private static void addUniqueTaskId(Set<Long> taskIds, Long taskId) {
+        if (taskId == null) {
+            throw ApiException.validation("ID úkolu je povinné.", "task_id_required");
+        }
+        if (!taskIds.add(taskId)) {
+            throw ApiException.validation("Úkol se v dávce může objevit jen jednou.", "bulk_task_duplicate");
+        }
+    }
+
+    private static void requireSprintMatch(ProjectWeekMetadataRow week, long sprintId) {
+        if (week.sprintId() != null && !Objects.equals(week.sprintId(), sprintId)) {
+            throw ApiException.validation("Týden nepatří do vybraného sprintu.", "project_week_sprint_mismatch");
+        }
+    }
+
+    /**
+     * Mirrors the per-task issue updates of {@link #createTask}/{@link #updateTask}, grouped by value so
+     * each distinct due date or state is written with one statement.
+     */
+    private void collectIssueChanges(TaskInput input,
+            LocalDate weekStart,
+            Map<LocalDate, Set<Long>> issueDueDates,
+            Map<String, Set<Long>> issueStates) {
+        if (input.issueId() == null) {
+            return;
+        }
+        LocalDate deadline = resolveDeadline(input.deadline(), weekStart);
+        issueDueDates.computeIfAbsent(deadline, ignored -> new LinkedHashSet<>()).add(input.issueId());
+        if (input.status() != null) {
+            issueStates.computeIfAbsent(normalizeIssueState(input.status()), ignored -> new LinkedHashSet<>())
+                    .add(input.issueId());
         }
     }
 
+    /**
+     * Issue state and due date feed the milestone, open-issue and overview reads; invalidates their cache
+     * entries and ETags for every project linked to the issues' repositories once the transaction commits.
+     * Must be called inside the transaction that wrote the issues.
+     */
+    private void issuesChanged(long projectId, Collection<Long> issueIds) {
+        if (issueIds.isEmpty()) {
+            return;
+        }
+        Set<Long> projectIds = new LinkedHashSet<>(repository.findProjectsOfIssues(issueIds));
+        projectIds.add(projectId);
+        events.publishEvent(ReportingDataChangedEvent.forProjects(projectIds));
+    }
+
+    private static List<Long> issueIdsOf(List<WeeklyTaskRow> tasks) {
+        return tasks.stream()
+                .map(WeeklyTaskRow::issueId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+
     private WeeklyTaskMutation toMutation(TaskInput input) {
         BigDecimal plannedHours = input.plannedHours() == null ? null
                 : input.plannedHours().setScale(2, RoundingMode.HALF_UP);
@@ -463,32 +857,17 @@ public class WeeklyPlannerService {
                 weekEnd,
                 row.createdAt(),
                 row.updatedAt(),
+                row.version(),
                 tasks);
     }
 
-    private PlanningSprintEntity resolveSprint(long projectId, Long sprintId) {
-        if (sprintId == null) {
-            return sprintService.requireActiveSprint(projectId);
-        }
-        return sprintService.requireSprint(projectId, sprintId);
-    }
-
-    private PlanningSprintEntity loadSprint(long projectId, Long sprintId) {
-        if (sprintId == null) {
-            return null;
-        }
-        return sprintService.requireSprint(projectId, sprintId);
-    }
-
-    private PlannerMetadata createMetadata(long projectId,
-            ProjectConfigurationRow project,
-            PlanningSprintEntity sprint) {
+    private PlannerMetadata createMetadata(PlannerRequestContext context, PlanningSprintEntity sprint) {
+        ProjectConfigurationRow project = context.project();
+        long projectId = project.id();
         LocalDate today = OffsetDateTime.now(ZoneOffset.UTC).toLocalDate();
         LocalDate currentWeekStart = alignToWeekStart(today, project.weekStartDay());
         LocalDate currentWeekEnd = computeWeekEnd(currentWeekStart);
-        Long currentWeekId = repository.findProjectWeek(projectId, currentWeekStart)
-                .map(ProjectWeekRow::id)
-                .orElse(null);
+        Long currentWeekId = context.currentWeekId(currentWeekStart);
         Long sprintId = sprint == null ? null : sprint.id();
         String sprintName = sprint == null ? null : sprint.name();
         SprintStatus sprintStatus = sprint == null ? null : sprint.status();
@@ -525,7 +904,8 @@ public class WeeklyPlannerService {
                 effectiveStatus,
                 row.issueDueDate(),
                 row.createdAt(),
-                row.updatedAt());
+                row.updatedAt(),
+                row.version());
     }
 
     private LocalDate resolveDeadline(LocalDate requested, LocalDate weekStart) {
@@ -569,6 +949,27 @@ public class WeeklyPlannerService {
     public record WeekCollection(PlannerMetadata metadata, List<WeekDetail> weeks) {
     }
 
+    public record WeekSummaryCollection(PlannerMetadata metadata, List<WeekSummary> weeks) {
+    }
+
+    public record WeekSummary(long id,
+            long projectId,
+            Long sprintId,
+            LocalDate weekStart,
+            LocalDate weekEnd,
+            OffsetDateTime createdAt,
+            OffsetDateTime updatedAt,
+            long version,
+            long taskCount,
+            BigDecimal plannedHours,
+            long openTaskCount,
+            long closedTaskCount) {
+    }
+
+    /** One keyset page of tasks; {@code nextAfter} is {@code null} on the last page. */
+    public record TaskPage(List<TaskDetail> items, Long nextAfter, int limit) {
+    }
+
     public record WeekWithMetadata(PlannerMetadata metadata, WeekDetail week) {
     }
 
@@ -591,6 +992,7 @@ public class WeeklyPlannerService {
             LocalDate weekEnd,
             OffsetDateTime createdAt,
             OffsetDateTime updatedAt,
+            long version,
             List<TaskDetail> tasks) {
     }
 
@@ -608,7 +1010,8 @@ public class WeeklyPlannerService {
             String status,
             LocalDate deadline,
             OffsetDateTime createdAt,
-            OffsetDateTime updatedAt) {
+            OffsetDateTime updatedAt,
+            long version) {
     }
 
     public record WeeklySummary(long projectWeekId,
@@ -620,6 +1023,51 @@ public class WeeklyPlannerService {
     public record InternSummary(Long internId, String internName, long taskCount, BigDecimal totalHours) {
     }
 
+    public record BulkTaskCreate(Long weekId, TaskInput task) {
+    }
+
+    /** {@code version} is optional; when set the update only applies to that version of the task. */
+    public record BulkTaskUpdate(Long taskId, Long version, TaskInput task) {
+    }
+
+    public record BulkTaskMove(Long taskId, Long version, Long weekId) {
+    }
+
+    public record BulkTaskInput(List<BulkTaskCreate> create,
+            List<BulkTaskUpdate> update,
+            List<BulkTaskMove> move,
+            List<Long> delete) {
+    }
+
+    /** Result of {@link #proposePlan}; {@code unplanned} reasons are the {@code REASON_*} codes of the generator. */
+    public record PlanProposal(PlannerMetadata metadata,
+            List<PlanAssignment> assignments,
+            List<UnplannedTask> unplanned,
+            List<InternWeekCapacity> capacity) {
+    }
+
+    public record PlanAssignment(TaskDetail task, long weekId, LocalDate weekStart, LocalDate weekEnd, boolean late) {
+    }
+
+    public record UnplannedTask(TaskDetail task, String reason) {
+    }
+
+    public record InternWeekCapacity(long internId,
+            String internName,
+            long weekId,
+            LocalDate weekStart,
+            BigDecimal workloadHours,
+            BigDecimal plannedHours,
+            BigDecimal availableHours,
+            BigDecimal proposedHours) {
+    }
+
+    public record BulkTaskResult(List<TaskDetail> created,
+            List<TaskDetail> updated,
+            List<TaskDetail> moved,
+            List<Long> deleted) {
+    }
+
     public record TaskInput(Long issueId,
             Long internId,
             String note,
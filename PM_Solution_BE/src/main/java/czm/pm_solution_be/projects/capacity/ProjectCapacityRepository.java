@@ -1,8 +1,10 @@
 package czm.pm_solution_be.projects.capacity;
 
+import czm.pm_solution_be.config.SqlArrays;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -23,30 +25,22 @@ import java.util.Optional;
 public class ProjectCapacityRepository {
 
     /**
-     * Selects the newest capacity report using the descending index on (project_id, reported_at).
+     * Reads the newest capacity report through {@code project_capacity_current} (primary key lookups only).
      */
     private static final String SQL_FIND_CURRENT =
             """
-            WITH latest AS (
-                SELECT r.id,
-                       r.project_id,
-                       r.reported_at,
-                       r.note
-                FROM project_capacity_report r
-                WHERE r.project_id = ?
-                ORDER BY r.reported_at DESC, r.id DESC
-                LIMIT 1
-            )
-            SELECT l.id,
-                   l.project_id,
-                   l.reported_at,
-                   l.note,
+            SELECT r.id,
+                   r.project_id,
+                   r.reported_at,
+                   r.note,
                    cs.code AS status_code,
                    cs.label AS status_label,
                    cs.severity AS status_severity
-            FROM latest l
-            JOIN project_capacity_report_status rs ON rs.report_id = l.id
+            FROM project_capacity_current c
+            JOIN project_capacity_report r ON r.id = c.report_id
+            JOIN project_capacity_report_status rs ON rs.report_id = r.id
             JOIN capacity_status cs ON cs.code = rs.status_code
+            WHERE c.project_id = ?
             ORDER BY cs.severity DESC, cs.code ASC
             """;
 
@@ -87,8 +81,24 @@ public class ProjectCapacityRepository {
     private static final String SQL_INSERT_STATUS =
             "INSERT INTO project_capacity_report_status (report_id, status_code) VALUES (?, ?)";
 
-    private static final String SQL_SELECT_STATUSES_BASE =
-            "SELECT cs.code, cs.label, cs.severity FROM capacity_status cs WHERE cs.code IN (";
+    /**
+     * Points the project's current report to the new one unless a newer report (same ordering as the
+     * history: reported_at, then id) is already current.
+     */
+    private static final String SQL_UPSERT_CURRENT =
+            """
+            INSERT INTO project_capacity_current (project_id, report_id, reported_at)
+            VALUES (?, ?, ?)
+            ON CONFLICT (project_id) DO UPDATE
+            SET report_id   = EXCLUDED.report_id,
+                reported_at = EXCLUDED.reported_at
+            WHERE (project_capacity_current.reported_at, project_capacity_current.report_id)
+                  < (EXCLUDED.reported_at, EXCLUDED.report_id)
+            """;
+
+    private static final String SQL_SELECT_STATUSES_BY_CODES =
+            "SELECT cs.code, cs.label, cs.severity FROM capacity_status cs WHERE cs.code = ANY(?::text[]) " +
+            "ORDER BY cs.severity DESC, cs.code ASC";
 
     private final JdbcTemplate jdbc;
 
@@ -152,6 +162,10 @@ public class ProjectCapacityRepository {
         return aggregated.isEmpty() ? Optional.empty() : Optional.of(aggregated.get(0));
     }
 
+    /**
+     * Inserts the report with its statuses and makes it the project's current report, all in one transaction.
+     */
+    @Transactional
     public ProjectCapacityInsertRow insertReport(long projectId, List<String> statusCodes, String note) {
         ProjectCapacityInsertRow inserted = jdbc.queryForObject(SQL_INSERT_REPORT, INSERT_MAPPER, projectId, note);
         if (inserted == null) {
@@ -164,6 +178,7 @@ public class ProjectCapacityRepository {
             ps.setLong(1, inserted.id());
             ps.setString(2, code);
         });
+        jdbc.update(SQL_UPSERT_CURRENT, inserted.projectId(), inserted.id(), inserted.reportedAt());
         return inserted;
     }
 
@@ -171,14 +186,12 @@ public class ProjectCapacityRepository {
         if (statusCodes == null || statusCodes.isEmpty()) {
             return List.of();
         }
-        String placeholders = String.join(", ", statusCodes.stream().map(ignored -> "?").toList());
-        String sql = SQL_SELECT_STATUSES_BASE + placeholders + ") ORDER BY cs.severity DESC, cs.code ASC";
-        return jdbc.query(sql, (rs, rowNum) ->
+        return jdbc.query(SQL_SELECT_STATUSES_BY_CODES, (rs, rowNum) ->
                 new CapacityStatusRow(
                         rs.getString("code"),
                         rs.getString("label"),
                         rs.getInt("severity")),
-                statusCodes.toArray());
+                SqlArrays.texts(statusCodes));
     }
 
     public List<ProjectCapacityRow> listHistory(long projectId,
@@ -69,7 +69,7 @@ public class ProjectCapacityService {
     }
 
     /**
-     * Vrací aktuální stav projektu – využívá indexované pořadí (reported_at DESC, id DESC).
+     * Vrací aktuální stav projektu – čte jediný řádek z tabulky project_capacity_current.
      *
      * <p>Vrací 404 pokud neexistuje žádný report, čímž explicitně signalizujeme FE, že má zobrazit fallback.</p>
      */
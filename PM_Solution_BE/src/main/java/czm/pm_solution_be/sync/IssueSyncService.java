@@ -3,8 +3,10 @@ package czm.pm_solution_be.sync;
 import czm.pm_solution_be.gitlab.GitLabClient;
 import czm.pm_solution_be.gitlab.dto.GitLabIssue;
 import czm.pm_solution_be.sync.dto.SyncSummary;
+import czm.pm_solution_be.sync.event.ReportingDataChangedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -23,12 +25,18 @@ public class IssueSyncService {
     private final SyncDao dao;
     private final RepositorySyncService repoSyncService;
     private final TransactionTemplate txTemplate;
+    private final ApplicationEventPublisher events;
 
-    public IssueSyncService(GitLabClient gitlab, SyncDao dao, PlatformTransactionManager tm, RepositorySyncService repoSyncService) {
+    public IssueSyncService(GitLabClient gitlab,
+                            SyncDao dao,
+                            PlatformTransactionManager tm,
+                            RepositorySyncService repoSyncService,
+                            ApplicationEventPublisher events) {
         this.gitlab = gitlab;
         this.dao = dao;
         this.repoSyncService = repoSyncService;
         this.txTemplate = new TransactionTemplate(tm);
+        this.events = events;
     }
 
     /**
@@ -134,6 +142,9 @@ public class IssueSyncService {
             page = Integer.parseInt(pageRes.nextPage);
         }
         dao.upsertRepoCursor(repositoryId, "issues", OffsetDateTime.now());
+        if (summary.fetched > 0) {
+            events.publishEvent(ReportingDataChangedEvent.forProjects(dao.listProjectIdsForRepositories(List.of(repositoryId))));
+        }
         log.info("Issues sync done: repo={} fetched={} pages={}", gitlabProjectId, summary.fetched, summary.pages);
         return summary;
     }
@@ -3,8 +3,10 @@ package czm.pm_solution_be.sync;
 import czm.pm_solution_be.gitlab.GitLabClient;
 import czm.pm_solution_be.gitlab.dto.GitLabMilestone;
 import czm.pm_solution_be.sync.dto.SyncSummary;
+import czm.pm_solution_be.sync.event.ReportingDataChangedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -18,13 +20,16 @@ public class MilestoneSyncService {
     private final GitLabClient gitlab;
     private final SyncDao dao;
     private final TransactionTemplate txTemplate;
+    private final ApplicationEventPublisher events;
 
     public MilestoneSyncService(GitLabClient gitlab,
                                 SyncDao dao,
-                                PlatformTransactionManager transactionManager) {
+                                PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher events) {
         this.gitlab = gitlab;
         this.dao = dao;
         this.txTemplate = new TransactionTemplate(transactionManager);
+        this.events = events;
     }
 
     public SyncSummary syncNamespaceMilestones(long gitlabNamespaceId) {
@@ -69,6 +74,9 @@ public class MilestoneSyncService {
             }
             page = Integer.parseInt(pageRes.nextPage);
         }
+        if (summary.fetched > 0) {
+            events.publishEvent(ReportingDataChangedEvent.forProject(projectId));
+        }
         log.info("Milestones sync done: namespace={} project={} fetched={} pages={}", gitlabNamespaceId, projectId, summary.fetched, summary.pages);
         return summary;
     }
@@ -1,7 +1,12 @@
 package czm.pm_solution_be.sync;
 
+import czm.pm_solution_be.sync.cost.ReportCostRecomputeService;
+import czm.pm_solution_be.sync.cost.ReportCostScope;
+import czm.pm_solution_be.sync.event.ReportingDataChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -11,8 +16,14 @@ import java.time.LocalDate;
 @RequestMapping("/api/projects")
 public class ProjectAdminController {
     private final SyncDao dao;
+    private final ApplicationEventPublisher events;
+    private final ReportCostRecomputeService costRecompute;
 
-    public ProjectAdminController(SyncDao dao) { this.dao = dao; }
+    public ProjectAdminController(SyncDao dao, ApplicationEventPublisher events, ReportCostRecomputeService costRecompute) {
+        this.dao = dao;
+        this.events = events;
+        this.costRecompute = costRecompute;
+    }
 
     public record ProjectDto(Long id,
                              Long namespaceId,
@@ -24,6 +35,7 @@ public class ProjectAdminController {
                              boolean isExternal,
                              BigDecimal hourlyRateCzk,
                              BigDecimal reportedCost,
+                             boolean reportedCostPending,
                              int weekStartDay) {}
     public record CreateRequest(Long namespaceId,
                                 String namespaceName,
@@ -56,11 +68,13 @@ public class ProjectAdminController {
         enforceExternalHourlyRateRule(isExternal, req.hourlyRateCzk());
         BigDecimal hourlyRate = isExternal ? req.hourlyRateCzk() : null;
         SyncDao.UpsertResult<Long> res = dao.upsertProject(req.namespaceId(), req.namespaceName(), req.name(), req.budget(), req.budgetFrom(), req.budgetTo(), isExternal, hourlyRate, weekStartDay);
+        events.publishEvent(ReportingDataChangedEvent.forProject(res.id));
         ProjectDto body = findProjectOrFallback(res.id, req.namespaceId(), req.namespaceName(), req.name(), req.budget(), req.budgetFrom(), req.budgetTo(), isExternal, hourlyRate, weekStartDay);
         return ResponseEntity.status(HttpStatus.CREATED).body(body);
     }
 
     @PutMapping("/{id}")
+    @Transactional
     public ProjectDto update(@PathVariable long id, @RequestBody UpdateRequest req) {
         if (req == null || req.name == null || req.name.isBlank()) {
             throw new IllegalArgumentException("name je povinné");
@@ -76,10 +90,16 @@ public class ProjectAdminController {
         enforceExternalHourlyRateRule(isExternal, req.hourlyRateCzk());
         BigDecimal hourlyRate = isExternal ? req.hourlyRateCzk() : null;
         dao.updateProject(id, req.name, req.budget(), req.budgetFrom(), req.budgetTo(), req.namespaceId(), req.namespaceName(), isExternal, hourlyRate, weekStartDay);
+        events.publishEvent(ReportingDataChangedEvent.forProject(id));
+        if (!sameRate(existing.hourlyRateCzk(), hourlyRate)) {
+            // Stored report costs embed the project rate; rewrite them without blocking this request. The job
+            // commits with the new rate.
+            costRecompute.submit(ReportCostScope.project(id));
+        }
         return dao.listProjects().stream()
                 .filter(p -> p.id().equals(id))
                 .findFirst()
-                .map(p -> new ProjectDto(p.id(), p.namespaceId(), p.namespaceName(), p.name(), p.budget(), p.budgetFrom(), p.budgetTo(), p.isExternal(), p.hourlyRateCzk(), p.reportedCost(), p.weekStartDay()))
+                .map(p -> new ProjectDto(p.id(), p.namespaceId(), p.namespaceName(), p.name(), p.budget(), p.budgetFrom(), p.budgetTo(), p.isExternal(), p.hourlyRateCzk(), p.reportedCost(), p.reportedCostPending(), p.weekStartDay()))
                 .orElseThrow(() -> new IllegalArgumentException("Project not found: " + id));
     }
 
@@ -105,6 +125,7 @@ public class ProjectAdminController {
         enforceExternalHourlyRateRule(isExternal, req.hourlyRateCzk());
         BigDecimal hourlyRate = isExternal ? req.hourlyRateCzk() : null;
         Long id = dao.createProjectByName(req.name(), req.budget(), req.budgetFrom(), req.budgetTo(), req.namespaceId(), req.namespaceName(), isExternal, hourlyRate, weekStartDay);
+        events.publishEvent(ReportingDataChangedEvent.forProject(id));
         ProjectDto body = findProjectOrFallback(id, req.namespaceId(), req.namespaceName(), req.name(), req.budget(), req.budgetFrom(), req.budgetTo(), isExternal, hourlyRate, weekStartDay);
         return ResponseEntity.status(HttpStatus.CREATED).body(body);
     }
@@ -113,6 +134,11 @@ public class ProjectAdminController {
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@PathVariable long id) {
         dao.deleteProject(id);
+        events.publishEvent(ReportingDataChangedEvent.forProject(id));
+    }
+
+    private static boolean sameRate(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
     }
 
     private void validateBudgetPayload(Integer budget, LocalDate budgetFrom, LocalDate budgetTo) {
@@ -160,7 +186,7 @@ public class ProjectAdminController {
         return dao.listProjects().stream()
                 .filter(p -> p.id().equals(id))
                 .findFirst()
-                .map(p -> new ProjectDto(p.id(), p.namespaceId(), p.namespaceName(), p.name(), p.budget(), p.budgetFrom(), p.budgetTo(), p.isExternal(), p.hourlyRateCzk(), p.reportedCost(), p.weekStartDay()))
-                .orElse(new ProjectDto(id, namespaceId, namespaceName, name, budget, budgetFrom, budgetTo, isExternal, hourlyRateCzk, BigDecimal.ZERO, weekStartDay));
+                .map(p -> new ProjectDto(p.id(), p.namespaceId(), p.namespaceName(), p.name(), p.budget(), p.budgetFrom(), p.budgetTo(), p.isExternal(), p.hourlyRateCzk(), p.reportedCost(), p.reportedCostPending(), p.weekStartDay()))
+                .orElse(new ProjectDto(id, namespaceId, namespaceName, name, budget, budgetFrom, budgetTo, isExternal, hourlyRateCzk, BigDecimal.ZERO, false, weekStartDay));
     }
 }
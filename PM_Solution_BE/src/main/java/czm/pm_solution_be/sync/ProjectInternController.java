@@ -3,6 +3,9 @@ package czm.pm_solution_be.sync;
 import czm.pm_solution_be.intern.InternDao;
 import czm.pm_solution_be.intern.InternDao.GroupRow;
 import czm.pm_solution_be.intern.InternDao.InternAssignmentRow;
+import czm.pm_solution_be.sync.cost.ProjectCostRefreshWorker;
+import czm.pm_solution_be.sync.event.ReportingDataChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,9 +25,13 @@ import java.util.Map;
 @RequestMapping("/api/projects/{projectId}/interns")
 public class ProjectInternController {
     private final InternDao internDao;
+    private final ApplicationEventPublisher events;
+    private final ProjectCostRefreshWorker costRefresh;
 
-    public ProjectInternController(InternDao internDao) {
+    public ProjectInternController(InternDao internDao, ApplicationEventPublisher events, ProjectCostRefreshWorker costRefresh) {
         this.internDao = internDao;
+        this.events = events;
+        this.costRefresh = costRefresh;
     }
 
     public record InternGroupDto(long id, int code, String label) {
@@ -95,5 +102,8 @@ public class ProjectInternController {
                     new InternDao.ProjectInternAllocation(assignment.internId(), workload, includeCost));
         }
         internDao.replaceProjectInterns(projectId, List.copyOf(unique.values()));
+        // The assignment triggers only queue the project; its reported cost is recomputed in the background.
+        costRefresh.requestDrainAfterCommit();
+        events.publishEvent(ReportingDataChangedEvent.forProject(projectId));
     }
 }
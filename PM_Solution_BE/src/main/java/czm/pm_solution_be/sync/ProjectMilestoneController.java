@@ -1,11 +1,14 @@
 package czm.pm_solution_be.sync;
 
+import czm.pm_solution_be.sync.cache.CachedReportingQueries;
+import czm.pm_solution_be.sync.cache.ReportingDataVersions;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
@@ -16,9 +19,15 @@ import java.util.Objects;
 @RequestMapping("/api/projects")
 public class ProjectMilestoneController {
     private final SyncDao dao;
+    private final CachedReportingQueries reportingQueries;
+    private final ReportingDataVersions dataVersions;
 
-    public ProjectMilestoneController(SyncDao dao) {
+    public ProjectMilestoneController(SyncDao dao,
+                                      CachedReportingQueries reportingQueries,
+                                      ReportingDataVersions dataVersions) {
         this.dao = dao;
+        this.reportingQueries = reportingQueries;
+        this.dataVersions = dataVersions;
     }
 
     /**
@@ -30,7 +39,11 @@ public class ProjectMilestoneController {
      */
     @GetMapping("/{projectId}/milestones/active")
     public List<SyncDao.ActiveMilestoneRow> listActiveMilestones(@PathVariable long projectId,
-                                                                 @RequestParam(name = "includeClosed", defaultValue = "false") boolean includeClosed) {
+                                                                 @RequestParam(name = "includeClosed", defaultValue = "false") boolean includeClosed,
+                                                                 WebRequest request) {
+        if (request.checkNotModified(dataVersions.projectEtag(projectId))) {
+            return null;
+        }
         return dao.listActiveMilestones(projectId, includeClosed);
     }
 
@@ -43,8 +56,12 @@ public class ProjectMilestoneController {
      * @return list of cost summaries sorted by due date and title for stable rendering
      */
     @GetMapping("/{projectId}/milestones/costs")
-    public List<SyncDao.MilestoneCostSummaryRow> listMilestoneCosts(@PathVariable long projectId) {
-        return dao.listProjectMilestoneCosts(projectId);
+    public List<SyncDao.MilestoneCostSummaryRow> listMilestoneCosts(@PathVariable long projectId,
+                                                                    WebRequest request) {
+        if (request.checkNotModified(dataVersions.projectEtag(projectId))) {
+            return null;
+        }
+        return reportingQueries.listProjectMilestoneCosts(projectId);
     }
 
     /**
@@ -57,7 +74,11 @@ public class ProjectMilestoneController {
      */
     @GetMapping("/{projectId}/milestones/issues")
     public List<SyncDao.MilestoneIssueCostRow> listMilestoneIssues(@PathVariable long projectId,
-                                                                   @RequestParam(name = "milestoneId", required = false) List<Long> milestoneIds) {
+                                                                   @RequestParam(name = "milestoneId", required = false) List<Long> milestoneIds,
+                                                                   WebRequest request) {
+        if (request.checkNotModified(dataVersions.projectEtag(projectId))) {
+            return null;
+        }
         if (milestoneIds == null || milestoneIds.isEmpty()) {
             return List.of();
         }
@@ -81,7 +102,11 @@ public class ProjectMilestoneController {
      */
     @GetMapping("/{projectId}/milestones/{milestoneId}/detail")
     public ResponseEntity<SyncDao.MilestoneDetail> getMilestoneDetail(@PathVariable long projectId,
-                                                                      @PathVariable long milestoneId) {
+                                                                      @PathVariable long milestoneId,
+                                                                      WebRequest request) {
+        if (request.checkNotModified(dataVersions.projectEtag(projectId))) {
+            return null;
+        }
         SyncDao.MilestoneDetail detail = dao.getMilestoneDetail(projectId, milestoneId);
         if (detail == null) {
             return ResponseEntity.notFound().build();
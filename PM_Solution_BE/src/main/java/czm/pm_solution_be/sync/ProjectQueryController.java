@@ -1,8 +1,10 @@
 package czm.pm_solution_be.sync;
 
+import czm.pm_solution_be.sync.cache.ReportingDataVersions;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -11,8 +13,12 @@ import java.util.List;
 @RequestMapping("/api/projects")
 public class ProjectQueryController {
     private final SyncDao dao;
+    private final ReportingDataVersions dataVersions;
 
-    public ProjectQueryController(SyncDao dao) { this.dao = dao; }
+    public ProjectQueryController(SyncDao dao, ReportingDataVersions dataVersions) {
+        this.dao = dao;
+        this.dataVersions = dataVersions;
+    }
 
     public record ProjectDto(Long id,
                              Long namespaceId,
@@ -24,6 +30,7 @@ public class ProjectQueryController {
                              boolean isExternal,
                              BigDecimal hourlyRateCzk,
                              BigDecimal reportedCost,
+                             boolean reportedCostPending,
                              int weekStartDay) {}
 
     public record ProjectOverviewDto(Long id,
@@ -34,18 +41,22 @@ public class ProjectQueryController {
                                      boolean isExternal,
                                      BigDecimal hourlyRateCzk,
                                      BigDecimal reportedCost,
+                                     boolean reportedCostPending,
                                      Integer teamMembers,
                                      Integer openIssues) {}
 
     @GetMapping
     public List<ProjectDto> list() {
         return dao.listProjects().stream()
-                .map(r -> new ProjectDto(r.id(), r.namespaceId(), r.namespaceName(), r.name(), r.budget(), r.budgetFrom(), r.budgetTo(), r.isExternal(), r.hourlyRateCzk(), r.reportedCost(), r.weekStartDay()))
+                .map(r -> new ProjectDto(r.id(), r.namespaceId(), r.namespaceName(), r.name(), r.budget(), r.budgetFrom(), r.budgetTo(), r.isExternal(), r.hourlyRateCzk(), r.reportedCost(), r.reportedCostPending(), r.weekStartDay()))
                 .toList();
     }
 
     @GetMapping("/overview")
-    public List<ProjectOverviewDto> overview() {
+    public List<ProjectOverviewDto> overview(WebRequest request) {
+        if (request.checkNotModified(dataVersions.crossProjectEtag())) {
+            return null;
+        }
         return dao.listProjectOverview().stream()
                 .map(r -> new ProjectOverviewDto(
                         r.id(),
@@ -56,6 +67,7 @@ public class ProjectQueryController {
                         r.isExternal(),
                         r.hourlyRateCzk(),
                         r.reportedCost(),
+                        r.reportedCostPending(),
                         r.teamMembers(),
                         r.openIssues()))
                 .toList();
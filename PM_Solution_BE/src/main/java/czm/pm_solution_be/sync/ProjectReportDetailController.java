@@ -1,11 +1,19 @@
 package czm.pm_solution_be.sync;
 
+import czm.pm_solution_be.config.ParallelQueries;
+import czm.pm_solution_be.sync.cache.CachedReportingQueries;
+import czm.pm_solution_be.sync.cache.ReportingDataVersions;
+import czm.pm_solution_be.sync.export.ExportFormat;
+import czm.pm_solution_be.sync.export.ReportExportService;
 import czm.pm_solution_be.web.ApiException;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -15,18 +23,37 @@ import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/projects")
 public class ProjectReportDetailController {
-    private final SyncDao dao;
+    private static final List<String> DETAIL_EXPORT_COLUMNS = List.of(
+            "repositoryName", "issueIid", "issueTitle", "issueWebUrl", "humanTimeEstimate",
+            "internUsername", "internFirstName", "internLastName", "hours", "cost");
 
-    public ProjectReportDetailController(SyncDao dao) {
+    private final SyncDao dao;
+    private final CachedReportingQueries reportingQueries;
+    private final ReportingDataVersions dataVersions;
+    private final ReportExportService exportService;
+    private final ParallelQueries parallelQueries;
+
+    public ProjectReportDetailController(SyncDao dao,
+                                         CachedReportingQueries reportingQueries,
+                                         ReportingDataVersions dataVersions,
+                                         ReportExportService exportService,
+                                         ParallelQueries parallelQueries) {
         this.dao = dao;
+        this.reportingQueries = reportingQueries;
+        this.dataVersions = dataVersions;
+        this.exportService = exportService;
+        this.parallelQueries = parallelQueries;
     }
 
     public record InternSummary(long id, String username, String firstName, String lastName) {}
@@ -86,10 +113,14 @@ public class ProjectReportDetailController {
     public ProjectReportDetailResponse getProjectReportDetail(@PathVariable long projectId,
                                                               @RequestParam(required = false) OffsetDateTime from,
                                                               @RequestParam(required = false) OffsetDateTime to,
-                                                              @RequestParam(required = false) String internUsername) {
+                                                              @RequestParam(required = false) String internUsername,
+                                                              WebRequest request) {
         if (from != null && to != null && to.isBefore(from)) {
             throw ApiException.validation("Datum \"Do\" nesmí být dříve než datum \"Od\".");
         }
+        if (request.checkNotModified(dataVersions.projectEtag(projectId))) {
+            return null;
+        }
 
         String normalizedInternUsername = internUsername != null && !internUsername.isBlank() ? internUsername.trim() : null;
 
@@ -99,7 +130,7 @@ public class ProjectReportDetailController {
             internMap.put(row.id(), new InternSummary(row.id(), row.username(), row.firstName(), row.lastName()));
         }
 
-        List<SyncDao.ProjectReportDetailRow> rows = dao.listProjectReportDetail(projectId, from, to, normalizedInternUsername);
+        List<SyncDao.ProjectReportDetailRow> rows = reportingQueries.listProjectReportDetail(projectId, from, to, normalizedInternUsername);
 
         Map<String, IssueRowBuilder> issueMap = new LinkedHashMap<>();
 
@@ -137,15 +168,72 @@ public class ProjectReportDetailController {
         return new ProjectReportDetailResponse(interns, issues);
     }
 
+    /**
+     * Streams the flat issue × intern rows behind {@link #getProjectReportDetail} as CSV or NDJSON.
+     */
+    @GetMapping("/{projectId}/reports/detail/export")
+    public ResponseEntity<StreamingResponseBody> exportProjectReportDetail(@PathVariable long projectId,
+                                                                           @RequestParam(required = false) OffsetDateTime from,
+                                                                           @RequestParam(required = false) OffsetDateTime to,
+                                                                           @RequestParam(required = false) String internUsername,
+                                                                           @RequestParam(required = false) String format,
+                                                                           @RequestParam(defaultValue = "false") boolean gzip) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw ApiException.validation("Datum \"Do\" nesmí být dříve než datum \"Od\".");
+        }
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        String normalizedInternUsername = internUsername != null && !internUsername.isBlank() ? internUsername.trim() : null;
+        return exportService.<SyncDao.ProjectReportDetailRow>export(
+                "project-" + projectId + "-report-detail",
+                exportFormat,
+                gzip,
+                DETAIL_EXPORT_COLUMNS,
+                row -> Arrays.asList(
+                        row.repositoryName(),
+                        row.issueIid(),
+                        row.issueTitle(),
+                        row.issueWebUrl(),
+                        row.issueHumanTimeEstimate(),
+                        row.internUsername(),
+                        row.internFirstName(),
+                        row.internLastName(),
+                        row.hours(),
+                        row.cost()),
+                sink -> dao.streamProjectReportDetail(projectId, from, to, normalizedInternUsername, sink));
+    }
+
     @GetMapping("/{projectId}/reports/intern-detail")
     public ProjectReportInternDetailResponse getProjectReportInternDetail(@PathVariable long projectId,
                                                                           @RequestParam(required = false)
-                                                                          String internUsername) {
+                                                                          String internUsername,
+                                                                          WebRequest request) {
+        if (request.checkNotModified(dataVersions.projectEtag(projectId))) {
+            return null;
+        }
         String normalizedInternUsername = internUsername != null && !internUsername.isBlank()
                 ? internUsername.trim()
                 : null;
 
-        List<SyncDao.ProjectInternRow> projectInternRows = dao.listProjectInterns(projectId);
+        // The three lookups are independent, so they run side by side.
+        List<SyncDao.ProjectInternRow> projectInternRows;
+        List<SyncDao.ProjectInternOpenIssueRow> openIssueRows = List.of();
+        Optional<SyncDao.ProjectInternIssueStats> statsRow = Optional.empty();
+        try (ParallelQueries.Scope scope = parallelQueries.open()) {
+            Supplier<List<SyncDao.ProjectInternRow>> internsQuery = scope.fork(() -> dao.listProjectInterns(projectId));
+            Supplier<List<SyncDao.ProjectInternOpenIssueRow>> openIssuesQuery = null;
+            Supplier<Optional<SyncDao.ProjectInternIssueStats>> statsQuery = null;
+            if (normalizedInternUsername != null) {
+                openIssuesQuery = scope.fork(() -> dao.listProjectInternOpenIssues(projectId, normalizedInternUsername));
+                statsQuery = scope.fork(() -> dao.findProjectInternIssueStats(projectId, normalizedInternUsername));
+            }
+            scope.join();
+            projectInternRows = internsQuery.get();
+            if (normalizedInternUsername != null) {
+                openIssueRows = openIssuesQuery.get();
+                statsRow = statsQuery.get();
+            }
+        }
+
         Map<Long, InternSummary> internMap = new LinkedHashMap<>();
         for (SyncDao.ProjectInternRow row : projectInternRows) {
             internMap.put(row.id(), new InternSummary(row.id(), row.username(), row.firstName(), row.lastName()));
@@ -154,9 +242,7 @@ public class ProjectReportDetailController {
         List<InternOpenIssue> issues = List.of();
         ProjectReportInternIssueStats stats = null;
         if (normalizedInternUsername != null) {
-            List<SyncDao.ProjectInternOpenIssueRow> rows =
-                    dao.listProjectInternOpenIssues(projectId, normalizedInternUsername);
-            issues = rows.stream()
+            issues = openIssueRows.stream()
                     .map(row -> new InternOpenIssue(
                             row.repositoryId(),
                             row.repositoryName(),
@@ -172,7 +258,7 @@ public class ProjectReportDetailController {
                             row.totalTimeSpentSeconds()))
                     .toList();
 
-            stats = dao.findProjectInternIssueStats(projectId, normalizedInternUsername)
+            stats = statsRow
                     .map(row -> new ProjectReportInternIssueStats(
                             row.totalIssues(),
                             row.closedIssues(),
@@ -191,7 +277,11 @@ public class ProjectReportDetailController {
     @GetMapping("/{projectId}/reports/long-term")
     public ProjectLongTermReportResponse getProjectLongTermReport(@PathVariable long projectId,
                                                                   @RequestParam(required = false) LocalDate from,
-                                                                  @RequestParam(required = false) LocalDate to) {
+                                                                  @RequestParam(required = false) LocalDate to,
+                                                                  WebRequest request) {
+        if (request.checkNotModified(dataVersions.projectEtag(projectId))) {
+            return null;
+        }
         LocalDate today = OffsetDateTime.now(ZoneOffset.UTC).toLocalDate();
         LocalDate defaultFrom = today.with(TemporalAdjusters.firstDayOfYear());
         LocalDate defaultTo = today.with(TemporalAdjusters.lastDayOfYear());
@@ -209,7 +299,7 @@ public class ProjectReportDetailController {
         SyncDao.ProjectRow project = dao.findProjectById(projectId)
                 .orElseThrow(() -> ApiException.notFound("Projekt nebyl nalezen."));
 
-        List<SyncDao.ProjectMonthlyReportRow> rows = dao.listProjectMonthlyReport(projectId, fromDateTime, toDateTime);
+        List<SyncDao.ProjectMonthlyReportRow> rows = reportingQueries.listProjectMonthlyReport(projectId, fromDateTime, toDateTime);
 
         BigDecimal cumulativeHours = BigDecimal.ZERO;
         BigDecimal cumulativeCost = BigDecimal.ZERO;
@@ -1,5 +1,8 @@
 package czm.pm_solution_be.sync;
 
+import czm.pm_solution_be.sync.cost.ProjectCostRefreshWorker;
+import czm.pm_solution_be.sync.event.ReportingDataChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
@@ -9,9 +12,13 @@ import java.util.List;
 @RequestMapping("/api/projects/{projectId}/repositories")
 public class ProjectRepositoryController {
     private final SyncDao dao;
+    private final ApplicationEventPublisher events;
+    private final ProjectCostRefreshWorker costRefresh;
 
-    public ProjectRepositoryController(SyncDao dao) {
+    public ProjectRepositoryController(SyncDao dao, ApplicationEventPublisher events, ProjectCostRefreshWorker costRefresh) {
         this.dao = dao;
+        this.events = events;
+        this.costRefresh = costRefresh;
     }
 
     public record RepositoryAssignmentDto(Long id, Long gitlabRepoId, String name, String nameWithNamespace, boolean assigned) {}
@@ -37,5 +44,8 @@ public class ProjectRepositoryController {
             throw new IllegalArgumentException("repositoryIds je povinné pole.");
         }
         dao.replaceProjectRepositories(projectId, ids);
+        // The assignment triggers only queue the project; its reported cost is recomputed in the background.
+        costRefresh.requestDrainAfterCommit();
+        events.publishEvent(ReportingDataChangedEvent.forProject(projectId));
     }
 }
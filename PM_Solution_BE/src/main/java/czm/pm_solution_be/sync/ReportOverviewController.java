@@ -1,23 +1,39 @@
 package czm.pm_solution_be.sync;
 
+import czm.pm_solution_be.sync.export.ExportFormat;
+import czm.pm_solution_be.sync.export.ReportExportService;
 import czm.pm_solution_be.web.ApiException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/sync/reports")
 public class ReportOverviewController {
+    private static final int DEFAULT_PAGE_LIMIT = 200;
+    private static final int MAX_PAGE_LIMIT = 1000;
+    private static final int MAX_OVERVIEW_ROWS = 10_000;
+    private static final List<String> EXPORT_COLUMNS = List.of(
+            "spentAt", "repositoryName", "issueIid", "issueTitle", "username", "timeSpentHours", "cost", "projectIsExternal");
+
     private final SyncDao dao;
+    private final ReportExportService exportService;
 
-    public ReportOverviewController(SyncDao dao) {
+    public ReportOverviewController(SyncDao dao, ReportExportService exportService) {
         this.dao = dao;
+        this.exportService = exportService;
     }
 
     public record ReportOverviewItem(String issueTitle,
@@ -28,6 +44,16 @@ public class ReportOverviewController {
                                      BigDecimal cost,
                                      Boolean projectIsExternal) {}
 
+    /** One keyset page; {@code nextCursor} is {@code null} once the window is exhausted. */
+    public record ReportOverviewPage(List<ReportOverviewItem> items,
+                                     String nextCursor,
+                                     int limit) {}
+
+    /**
+     * Whole window in one response, kept for older clients. Windows with more than
+     * {@value #MAX_OVERVIEW_ROWS} rows are rejected; use {@link #overviewPage} or {@link #exportOverview}.
+     */
+    @Deprecated
     @GetMapping("/overview")
     public List<ReportOverviewItem> overview(
             @RequestParam(required = false)
@@ -38,16 +64,109 @@ public class ReportOverviewController {
         if (from != null && to != null && from.isAfter(to)) {
             throw ApiException.validation("Parametr \"od\" nesmí být později než \"do\".");
         }
-        return dao.listReportOverview(from, to, untrackedOnly).stream()
-                .map(row -> new ReportOverviewItem(
-                        row.issueTitle(),
+        List<SyncDao.ReportOverviewRow> rows = dao.listReportOverview(from, to, untrackedOnly, MAX_OVERVIEW_ROWS + 1);
+        if (rows.size() > MAX_OVERVIEW_ROWS) {
+            throw ApiException.validation("Období obsahuje více než " + MAX_OVERVIEW_ROWS
+                    + " výkazů, použijte stránkovaný přehled.", "overview_too_large");
+        }
+        return rows.stream()
+                .map(this::toItem)
+                .toList();
+    }
+
+    /**
+     * Paged variant of {@link #overview}: returns at most {@code limit} rows (capped at 1000) ordered by
+     * {@code spent_at DESC} and an opaque cursor that continues right after the last returned row.
+     */
+    @GetMapping("/overview/page")
+    public ReportOverviewPage overviewPage(
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(name = "untracked_only", defaultValue = "false") boolean untrackedOnly,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw ApiException.validation("Parametr \"od\" nesmí být později než \"do\".");
+        }
+        int pageLimit = limit == null ? DEFAULT_PAGE_LIMIT : limit;
+        if (pageLimit <= 0 || pageLimit > MAX_PAGE_LIMIT) {
+            throw ApiException.validation("Parametr limit musí být v intervalu 1 až " + MAX_PAGE_LIMIT + ".", "limit_invalid");
+        }
+        SyncDao.ReportOverviewCursor after = decodeCursor(cursor);
+
+        List<SyncDao.ReportOverviewRow> rows = dao.listReportOverviewPage(from, to, untrackedOnly, after, pageLimit + 1);
+        boolean hasMore = rows.size() > pageLimit;
+        List<SyncDao.ReportOverviewRow> page = hasMore ? rows.subList(0, pageLimit) : rows;
+        String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1)) : null;
+        return new ReportOverviewPage(page.stream().map(this::toItem).toList(), nextCursor, pageLimit);
+    }
+
+    /**
+     * Streams the same rows as {@link #overview} as a CSV or NDJSON download, optionally gzip-compressed.
+     */
+    @GetMapping("/overview/export")
+    public ResponseEntity<StreamingResponseBody> exportOverview(
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(name = "untracked_only", defaultValue = "false") boolean untrackedOnly,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw ApiException.validation("Parametr \"od\" nesmí být později než \"do\".");
+        }
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        return exportService.<SyncDao.ReportOverviewRow>export(
+                "report-overview",
+                exportFormat,
+                gzip,
+                EXPORT_COLUMNS,
+                row -> Arrays.asList(
+                        row.spentAt(),
                         row.repositoryName(),
+                        row.issueIid(),
+                        row.issueTitle(),
                         row.resolvedUsername(),
-                        row.spentAt(),
                         row.timeSpentHours(),
                         row.cost(),
-                        row.projectIsExternal()
-                ))
-                .toList();
+                        row.projectIsExternal()),
+                sink -> dao.streamReportOverview(from, to, untrackedOnly, sink));
+    }
+
+    private ReportOverviewItem toItem(SyncDao.ReportOverviewRow row) {
+        return new ReportOverviewItem(
+                row.issueTitle(),
+                row.repositoryName(),
+                row.resolvedUsername(),
+                row.spentAt(),
+                row.timeSpentHours(),
+                row.cost(),
+                row.projectIsExternal());
+    }
+
+    private static String encodeCursor(SyncDao.ReportOverviewRow row) {
+        String raw = row.spentAt().toString() + "|" + row.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SyncDao.ReportOverviewCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator <= 0) {
+                throw ApiException.validation("Neplatný kurzor stránkování.", "cursor_invalid");
+            }
+            OffsetDateTime spentAt = OffsetDateTime.parse(raw.substring(0, separator));
+            long id = Long.parseLong(raw.substring(separator + 1));
+            return new SyncDao.ReportOverviewCursor(spentAt, id);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw ApiException.validation("Neplatný kurzor stránkování.", "cursor_invalid");
+        }
     }
 }
@@ -2,14 +2,21 @@ package czm.pm_solution_be.sync;
 
 import czm.pm_solution_be.gitlab.GitLabGraphQlClient;
 import czm.pm_solution_be.sync.dto.SyncSummary;
+import czm.pm_solution_be.sync.event.ReportingDataChangedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 /**
@@ -21,13 +28,21 @@ import java.util.List;
 public class ReportSyncService {
     private static final Logger log = LoggerFactory.getLogger(ReportSyncService.class);
     private static final int PAGE_SIZE = 100;
+    private static final int PURGE_CHUNK_SIZE = 5_000;
 
     private final SyncDao syncDao;
     private final GitLabGraphQlClient graphQlClient;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate txTemplate;
 
-    public ReportSyncService(SyncDao syncDao, GitLabGraphQlClient graphQlClient) {
+    public ReportSyncService(SyncDao syncDao,
+                             GitLabGraphQlClient graphQlClient,
+                             ApplicationEventPublisher events,
+                             PlatformTransactionManager tm) {
         this.syncDao = syncDao;
         this.graphQlClient = graphQlClient;
+        this.events = events;
+        this.txTemplate = new TransactionTemplate(tm);
     }
 
     public interface ProgressListener {
@@ -58,7 +73,13 @@ public class ReportSyncService {
         if (repositories.isEmpty()) {
             throw new IllegalArgumentException("Projekt nem? p?i?azen? ??dn? repozit??e");
         }
-        return syncReportsAcrossRepositories(repositories, from, to, sinceLast, listener);
+        ChangedDays changed = new ChangedDays();
+        try {
+            return syncReportsAcrossRepositories(repositories, from, to, sinceLast, listener, changed);
+        } finally {
+            // Repositories can be shared, so every project linked to them sees the new rows.
+            publishRepositoriesChanged(repositories, changed.earliest());
+        }
     }
 
     public SyncSummary syncAllReports(OffsetDateTime from, OffsetDateTime to, boolean sinceLast) {
@@ -70,14 +91,20 @@ public class ReportSyncService {
         if (repositories.isEmpty()) {
             return new SyncSummary();
         }
-        return syncReportsAcrossRepositories(repositories, from, to, sinceLast, listener);
+        ChangedDays changed = new ChangedDays();
+        try {
+            return syncReportsAcrossRepositories(repositories, from, to, sinceLast, listener, changed);
+        } finally {
+            events.publishEvent(ReportingDataChangedEvent.everything().since(changed.earliest()));
+        }
     }
 
     private SyncSummary syncReportsAcrossRepositories(List<SyncDao.ProjectRepositoryLink> repositories,
                                                       OffsetDateTime from,
                                                       OffsetDateTime to,
                                                       boolean sinceLast,
-                                                      ProgressListener listener) {
+                                                      ProgressListener listener,
+                                                      ChangedDays changed) {
         OffsetDateTime now = OffsetDateTime.now();
         OffsetDateTime effectiveTo = to != null ? to : now;
         SyncSummary summary = new SyncSummary();
@@ -149,6 +176,7 @@ public class ReportSyncService {
                 }
 
                 if (!rows.isEmpty()) {
+                    rows.forEach(row -> changed.include(row.spentAt()));
                     SyncDao.ReportInsertStats stats = syncDao.insertReports(rows);
                     summary.addInserted(stats.inserted());
                     summary.addSkipped(stats.duplicates());
@@ -172,26 +200,87 @@ public class ReportSyncService {
             }
         }
 
-        syncDao.refreshMilestoneCostView();
         return summary;
     }
 
     /**
-     * Deletes all persisted report rows.
+     * Deletes all persisted report rows (truncate plus a single project cost reset).
      *
      * @return number of removed records
      */
     public int purgeAllReports() {
-        return syncDao.deleteAllReports();
+        Integer deleted;
+        try {
+            deleted = txTemplate.execute(status -> syncDao.deleteAllReports());
+        } finally {
+            events.publishEvent(ReportingDataChangedEvent.everything());
+        }
+        log.info("Purged all reports: {} rows", deleted);
+        return deleted != null ? deleted : 0;
     }
 
     /**
      * Deletes persisted report rows that belong to repositories assigned to the provided projects.
+     * Rows are removed in short transactions of {@value #PURGE_CHUNK_SIZE} with the per-row cost trigger
+     * suppressed; project costs are refreshed once at the end. Caches are invalidated even when a later step
+     * fails, because the committed chunks are already gone.
      *
      * @param projectIds list of project identifiers (duplicates ignored)
      * @return number of removed records
      */
     public int purgeReportsForProjects(List<Long> projectIds) {
-        return syncDao.deleteReportsForProjects(projectIds);
+        List<SyncDao.ProjectRepositoryLink> repositories = new ArrayList<>();
+        for (Long projectId : new LinkedHashSet<>(projectIds)) {
+            repositories.addAll(syncDao.listProjectRepositories(projectId));
+        }
+        List<Long> repositoryIds = repositories.stream().map(SyncDao.ProjectRepositoryLink::repositoryId).distinct().toList();
+        if (repositoryIds.isEmpty()) {
+            return 0;
+        }
+        int deleted = 0;
+        try {
+            while (true) {
+                Integer chunk = txTemplate.execute(status -> syncDao.deleteReportChunk(repositoryIds, PURGE_CHUNK_SIZE));
+                int removed = chunk != null ? chunk : 0;
+                deleted += removed;
+                if (removed < PURGE_CHUNK_SIZE) {
+                    break;
+                }
+            }
+            // Shared repositories can feed projects outside the purge request as well.
+            List<Long> affectedProjectIds = syncDao.listProjectIdsForRepositories(repositoryIds);
+            txTemplate.executeWithoutResult(status -> syncDao.refreshProjectReportCosts(affectedProjectIds));
+        } finally {
+            publishRepositoriesChanged(repositories, null);
+        }
+        log.info("Purged {} reports of {} repositories", deleted, repositoryIds.size());
+        return deleted;
+    }
+
+    private void publishRepositoriesChanged(List<SyncDao.ProjectRepositoryLink> repositories, LocalDate changedFrom) {
+        List<Long> repositoryIds = repositories.stream().map(SyncDao.ProjectRepositoryLink::repositoryId).toList();
+        List<Long> projectIds = syncDao.listProjectIdsForRepositories(repositoryIds);
+        if (!projectIds.isEmpty()) {
+            events.publishEvent(ReportingDataChangedEvent.forProjects(projectIds).since(changedFrom));
+        }
+    }
+
+    /**
+     * Earliest UTC day touched by a sync run. Starts at today so the open period is always refreshed;
+     * closed periods are only invalidated when a backfilled timelog falls into them.
+     */
+    private static final class ChangedDays {
+        private LocalDate earliest = LocalDate.now(ZoneOffset.UTC);
+
+        void include(OffsetDateTime spentAt) {
+            LocalDate day = spentAt.withOffsetSameInstant(ZoneOffset.UTC).toLocalDate();
+            if (day.isBefore(earliest)) {
+                earliest = day;
+            }
+        }
+
+        LocalDate earliest() {
+            return earliest;
+        }
     }
 }
@@ -1,15 +1,22 @@
 package czm.pm_solution_be.sync;
 
+import czm.pm_solution_be.config.ParallelQueries;
+import czm.pm_solution_be.config.SqlArrays;
+import czm.pm_solution_be.sync.cost.ReportCostScope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlParameterValue;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.sql.Array;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
@@ -19,6 +26,7 @@ import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -26,17 +34,82 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public class SyncDao {
     private static final Logger log = LoggerFactory.getLogger(SyncDao.class);
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private static final RowMapper<ReportOverviewRow> REPORT_OVERVIEW_MAPPER = (rs, rn) -> new ReportOverviewRow(
+            rs.getLong("id"),
+            rs.getLong("repository_id"),
+            rs.getString("repository_name"),
+            (Long) rs.getObject("issue_iid"),
+            rs.getString("issue_title"),
+            rs.getObject("spent_at", OffsetDateTime.class),
+            rs.getBigDecimal("time_spent_hours"),
+            rs.getString("resolved_username"),
+            rs.getBigDecimal("cost"),
+            rs.getObject("project_is_external", Boolean.class));
+
+    private static final RowMapper<ProjectReportDetailRow> PROJECT_REPORT_DETAIL_MAPPER = (rs, rn) -> new ProjectReportDetailRow(
+            rs.getLong("repository_id"),
+            rs.getString("repository_name"),
+            (Long) rs.getObject("issue_id"),
+            (Long) rs.getObject("issue_iid"),
+            rs.getString("issue_title"),
+            rs.getString("issue_web_url"),
+            rs.getString("issue_human_time_estimate"),
+            rs.getLong("intern_id"),
+            rs.getString("intern_username"),
+            rs.getString("intern_first_name"),
+            rs.getString("intern_last_name"),
+            rs.getBigDecimal("hours"),
+            rs.getBigDecimal("cost"));
+
+    private static final RowMapper<InternMonthlyHoursRow> INTERN_MONTHLY_HOURS_MAPPER = (rs, rn) -> new InternMonthlyHoursRow(
+            rs.getLong("intern_id"),
+            rs.getString("username"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getObject("month_start", OffsetDateTime.class),
+            rs.getBigDecimal("hours"),
+            rs.getBigDecimal("cost"),
+            (Long) rs.getObject("level_id"),
+            rs.getString("level_code"),
+            rs.getString("level_label"));
+
     private final JdbcTemplate jdbc;
+    private final ParallelQueries parallelQueries;
 
-    public SyncDao(JdbcTemplate jdbc) {
+    public SyncDao(JdbcTemplate jdbc, ParallelQueries parallelQueries) {
         this.jdbc = jdbc;
+        this.parallelQueries = parallelQueries;
+    }
+
+    /**
+     * Runs a read query with a forward-only cursor and hands every mapped row to {@code consumer}
+     * without collecting them. PostgreSQL only honours the fetch size when autocommit is off, so
+     * callers wrap this in a (read-only) transaction.
+     */
+    private <T> void streamQuery(String sql,
+                                 List<Object> params,
+                                 RowMapper<T> mapper,
+                                 Consumer<? super T> consumer) {
+        int[] rowNum = {0};
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapper.mapRow(rs, rowNum[0]++)));
     }
 
     public static class UpsertResult<T> {
@@ -127,6 +200,7 @@ public class SyncDao {
                              boolean isExternal,
                              BigDecimal hourlyRateCzk,
                              BigDecimal reportedCost,
+                             boolean reportedCostPending,
                              int weekStartDay) {}
     public record ProjectOverviewRow(Long id,
                                      String name,
@@ -136,6 +210,7 @@ public class SyncDao {
                                      boolean isExternal,
                                      BigDecimal hourlyRateCzk,
                                      BigDecimal reportedCost,
+                                     boolean reportedCostPending,
                                      Integer teamMembers,
                                      Integer openIssues) {}
     public record ProjectMonthlyReportRow(OffsetDateTime monthStart,
@@ -153,16 +228,50 @@ public class SyncDao {
                                         String levelCode,
                                         String levelLabel) {}
 
-    public record InternPerformanceRow(Long internId,
-                                       String username,
-                                       String firstName,
-                                       String lastName,
-                                       OffsetDateTime periodStart,
-                                       Long projectId,
-                                       String projectName,
-                                       BigDecimal hours) {}
+    public record PerformanceIntern(long id, String username, String firstName, String lastName) {}
+
+    /**
+     * Column-oriented result of {@link #loadInternPerformance}. Row {@code i} is described by the
+     * {@code i}-th element of every array; {@code projectIds[i] == null} marks the intern's total for
+     * the period, otherwise the row carries the hours booked on that project. Periods without hours
+     * are absent - callers start from zero. Arrays are owned by the result and must not be modified.
+     */
+    public record InternPerformanceColumns(List<PerformanceIntern> interns,
+                                           int rowCount,
+                                           long[] internIds,
+                                           Long[] projectIds,
+                                           String[] projectNames,
+                                           LocalDate[] periodStarts,
+                                           BigDecimal[] hours) {
+        /** Rows whose period starts within {@code [from, toExclusive)}, sharing the intern list. */
+        public InternPerformanceColumns slice(LocalDate from, LocalDate toExclusive) {
+            int[] rows = new int[rowCount];
+            int size = 0;
+            for (int i = 0; i < rowCount; i++) {
+                if (!periodStarts[i].isBefore(from) && periodStarts[i].isBefore(toExclusive)) {
+                    rows[size++] = i;
+                }
+            }
+            long[] slicedInternIds = new long[size];
+            Long[] slicedProjectIds = new Long[size];
+            String[] slicedProjectNames = new String[size];
+            LocalDate[] slicedPeriodStarts = new LocalDate[size];
+            BigDecimal[] slicedHours = new BigDecimal[size];
+            for (int i = 0; i < size; i++) {
+                int row = rows[i];
+                slicedInternIds[i] = internIds[row];
+                slicedProjectIds[i] = projectIds[row];
+                slicedProjectNames[i] = projectNames[row];
+                slicedPeriodStarts[i] = periodStarts[row];
+                slicedHours[i] = hours[row];
+            }
+            return new InternPerformanceColumns(interns, size, slicedInternIds, slicedProjectIds,
+                    slicedProjectNames, slicedPeriodStarts, slicedHours);
+        }
+    }
     public List<ProjectRow> listProjects() {
-        return jdbc.query("SELECT id, namespace_id, namespace_name, name, budget, budget_from, budget_to, is_external, hourly_rate_czk, reported_cost, week_start_day FROM project ORDER BY name",
+        return jdbc.query("SELECT id, namespace_id, namespace_name, name, budget, budget_from, budget_to, is_external, hourly_rate_czk, reported_cost, " +
+                "EXISTS (SELECT 1 FROM project_cost_refresh_queue q WHERE q.project_id = project.id) AS reported_cost_pending, week_start_day FROM project ORDER BY name",
                 (rs, rn) -> new ProjectRow(
                         rs.getLong("id"),
                         (Long) rs.getObject("namespace_id"),
@@ -174,6 +283,7 @@ public class SyncDao {
                         rs.getBoolean("is_external"),
                         rs.getBigDecimal("hourly_rate_czk"),
                         rs.getBigDecimal("reported_cost"),
+                        rs.getBoolean("reported_cost_pending"),
                         rs.getInt("week_start_day")));
     }
 
@@ -187,22 +297,10 @@ public class SyncDao {
                        p.is_external,
                        p.hourly_rate_czk,
                        p.reported_cost,
-                       COALESCE(team_counts.team_members, 0) AS team_members,
-                       COALESCE(issue_counts.open_issues, 0) AS open_issues
+                       EXISTS (SELECT 1 FROM project_cost_refresh_queue q WHERE q.project_id = p.id) AS reported_cost_pending,
+                       p.team_members,
+                       p.open_issues
                 FROM project p
-                LEFT JOIN (
-                    SELECT ip.project_id,
-                           COUNT(DISTINCT ip.intern_id) AS team_members
-                    FROM intern_project ip
-                    GROUP BY ip.project_id
-                ) AS team_counts ON team_counts.project_id = p.id
-                LEFT JOIN (
-                    SELECT ptr.project_id,
-                           COUNT(DISTINCT CASE WHEN iss.state = 'opened' THEN iss.id END) AS open_issues
-                    FROM projects_to_repositorie ptr
-                    JOIN issue iss ON iss.repository_id = ptr.repository_id
-                    GROUP BY ptr.project_id
-                ) AS issue_counts ON issue_counts.project_id = p.id
                 ORDER BY p.name
                 """;
         return jdbc.query(sql, (rs, rn) -> new ProjectOverviewRow(
@@ -214,12 +312,14 @@ public class SyncDao {
                 rs.getBoolean("is_external"),
                 rs.getBigDecimal("hourly_rate_czk"),
                 rs.getBigDecimal("reported_cost"),
+                rs.getBoolean("reported_cost_pending"),
                 rs.getInt("team_members"),
                 rs.getInt("open_issues")));
     }
 
     public Optional<ProjectRow> findProjectById(long projectId) {
-        List<ProjectRow> rows = jdbc.query("SELECT id, namespace_id, namespace_name, name, budget, budget_from, budget_to, is_external, hourly_rate_czk, reported_cost, week_start_day FROM project WHERE id = ?",
+        List<ProjectRow> rows = jdbc.query("SELECT id, namespace_id, namespace_name, name, budget, budget_from, budget_to, is_external, hourly_rate_czk, reported_cost, " +
+                "EXISTS (SELECT 1 FROM project_cost_refresh_queue q WHERE q.project_id = project.id) AS reported_cost_pending, week_start_day FROM project WHERE id = ?",
                 (rs, rn) -> new ProjectRow(
                         rs.getLong("id"),
                         (Long) rs.getObject("namespace_id"),
@@ -231,6 +331,7 @@ public class SyncDao {
                         rs.getBoolean("is_external"),
                         rs.getBigDecimal("hourly_rate_czk"),
                         rs.getBigDecimal("reported_cost"),
+                        rs.getBoolean("reported_cost_pending"),
                         rs.getInt("week_start_day")),
                 projectId);
         return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
@@ -283,20 +384,18 @@ public class SyncDao {
 
     public record ProjectRepositoryLink(long repositoryId, Long gitlabRepoId, String name, BigDecimal projectHourlyRate) {}
 
+    /**
+     * Lists every repository for a global report sync together with the hourly rate of its external
+     * project (read from {@code repository_project_attributes}).
+     */
     public List<ProjectRepositoryLink> listAllRepositoriesForSync() {
         String sql = """
                 SELECT r.id AS repository_id,
                        r.gitlab_repo_id,
                        r.name,
-                       agg.hourly_rate_czk
+                       rpa.external_hourly_rate_czk AS hourly_rate_czk
                 FROM repository r
-                LEFT JOIN LATERAL (
-                    SELECT MAX(p.hourly_rate_czk) AS hourly_rate_czk
-                    FROM projects_to_repositorie ptr
-                    JOIN project p ON p.id = ptr.project_id
-                    WHERE ptr.repository_id = r.id
-                      AND p.is_external
-                ) AS agg ON TRUE
+                LEFT JOIN repository_project_attributes rpa ON rpa.repository_id = r.id
                 ORDER BY r.name
                 """;
         return jdbc.query(sql, (rs, rn) -> new ProjectRepositoryLink(
@@ -350,10 +449,26 @@ public class SyncDao {
         ), projectId);
     }
 
+    /**
+     * Resolves every project linked to at least one of the given repositories.
+     */
+    public List<Long> listProjectIdsForRepositories(Collection<Long> repositoryIds) {
+        if (repositoryIds == null || repositoryIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbc.queryForList("SELECT DISTINCT project_id FROM projects_to_repositorie WHERE repository_id = ANY(?::bigint[])",
+                Long.class, SqlArrays.bigints(new LinkedHashSet<>(repositoryIds)));
+    }
+
+    /**
+     * Replaces the project's repository links and recounts {@code project.open_issues}; issue writes keep
+     * the counter current through the {@code issue_open_count_*} triggers.
+     */
     @Transactional
     public void replaceProjectRepositories(long projectId, List<Long> repositoryIds) {
         jdbc.update("DELETE FROM projects_to_repositorie WHERE project_id = ?", projectId);
         if (repositoryIds == null || repositoryIds.isEmpty()) {
+            jdbc.update("UPDATE project SET open_issues = 0 WHERE id = ?", projectId);
             return;
         }
         jdbc.batchUpdate("INSERT INTO projects_to_repositorie (project_id, repository_id) VALUES (?, ?)",
@@ -369,6 +484,17 @@ public class SyncDao {
                         return repositoryIds.size();
                     }
                 });
+        jdbc.update("""
+                UPDATE project p
+                SET open_issues = (
+                    SELECT COUNT(DISTINCT iss.id)
+                    FROM projects_to_repositorie ptr
+                    JOIN issue iss ON iss.repository_id = ptr.repository_id
+                    WHERE ptr.project_id = p.id
+                      AND iss.state = 'opened'
+                )
+                WHERE p.id = ?
+                """, projectId);
     }
 
     public UpsertResult<Void> upsertIssueByRepo(Long repositoryId,
@@ -481,9 +607,9 @@ public class SyncDao {
     }
 
     public List<Long> listAssignedGitLabRepositoryIds() {
-        return jdbc.query("SELECT DISTINCT r.gitlab_repo_id " +
+        return jdbc.query("SELECT r.gitlab_repo_id " +
                         "FROM repository r " +
-                        "JOIN projects_to_repositorie ptr ON ptr.repository_id = r.id " +
+                        "JOIN repository_project_attributes rpa ON rpa.repository_id = r.id " +
                         "WHERE r.gitlab_repo_id IS NOT NULL " +
                         "ORDER BY r.gitlab_repo_id",
                 (rs, rn) -> rs.getLong(1));
@@ -621,40 +747,38 @@ public class SyncDao {
         return new ReportInsertStats(inserted, duplicates, failed, List.copyOf(missingUsernames));
     }
 
-    public void refreshMilestoneCostView() {
-        jdbc.execute("REFRESH MATERIALIZED VIEW milestone_report_cost");
-    }
-
     /**
      * Removes every stored timelog entry. Used by the on-demand maintenance action.
      *
+     * <p>Uses {@code TRUNCATE}, so no per-row trigger fires; every project's {@code reported_cost} is
+     * reset in one statement instead. Must run inside a transaction (the table is locked until commit).</p>
+     *
      * @return number of deleted rows.
      */
     public int deleteAllReports() {
-        return jdbc.update("DELETE FROM report");
+        jdbc.execute("LOCK TABLE report IN ACCESS EXCLUSIVE MODE");
+        Integer count = jdbc.queryForObject("SELECT COUNT(*) FROM report", Integer.class);
+        jdbc.execute("TRUNCATE TABLE report");
+        jdbc.update("UPDATE project SET reported_cost = 0 WHERE reported_cost IS DISTINCT FROM 0");
+        return count != null ? count : 0;
     }
 
     /**
-     * Removes timelog entries linked to the repositories assigned to the provided project IDs.
+     * Deletes at most {@code limit} timelog entries of the given repositories with the per-row project
+     * cost trigger suppressed. Must run inside a (short) transaction; the caller refreshes the affected
+     * projects once via {@link #refreshProjectReportCosts} after the last chunk.
      *
-     * @param projectIds list of project identifiers (duplicates are ignored)
-     * @return number of deleted rows
+     * @return number of deleted rows, less than {@code limit} once nothing is left
      */
-    public int deleteReportsForProjects(List<Long> projectIds) {
-        if (projectIds == null || projectIds.isEmpty()) {
+    public int deleteReportChunk(Collection<Long> repositoryIds, int limit) {
+        if (repositoryIds == null || repositoryIds.isEmpty()) {
             return 0;
         }
-        Set<Long> uniqueIds = new LinkedHashSet<>(projectIds);
-        StringJoiner placeholders = new StringJoiner(", ");
-        List<Object> params = new ArrayList<>();
-        for (Long id : uniqueIds) {
-            placeholders.add("?");
-            params.add(id);
-        }
-        String sql = "DELETE FROM report WHERE repository_id IN (" +
-                "SELECT ptr.repository_id FROM projects_to_repositorie ptr WHERE ptr.project_id IN (" + placeholders + ")" +
+        jdbc.execute("SET LOCAL pm.skip_report_refresh = 'on'");
+        String sql = "DELETE FROM report WHERE id IN (" +
+                "SELECT id FROM report WHERE repository_id = ANY(?::bigint[]) LIMIT ?" +
                 ")";
-        return jdbc.update(sql, params.toArray());
+        return jdbc.update(sql, SqlArrays.bigints(new LinkedHashSet<>(repositoryIds)), limit);
     }
 
     /**
@@ -666,14 +790,8 @@ public class SyncDao {
         if (usernames == null || usernames.isEmpty()) {
             return Set.of();
         }
-        StringJoiner placeholders = new StringJoiner(", ");
-        List<Object> params = new ArrayList<>();
-        for (String username : usernames) {
-            placeholders.add("?");
-            params.add(username);
-        }
-        String sql = "SELECT username FROM intern WHERE username IN (" + placeholders + ")";
-        return jdbc.query(sql, (rs, rn) -> rs.getString(1), params.toArray())
+        String sql = "SELECT username FROM intern WHERE username = ANY(?::text[])";
+        return jdbc.query(sql, (rs, rn) -> rs.getString(1), SqlArrays.texts(usernames))
                 .stream()
                 .collect(Collectors.toSet());
     }
@@ -682,20 +800,14 @@ public class SyncDao {
         if (usernames == null || usernames.isEmpty()) {
             return Map.of();
         }
-        StringJoiner placeholders = new StringJoiner(", ");
-        List<Object> params = new ArrayList<>();
-        for (String username : usernames) {
-            placeholders.add("?");
-            params.add(username);
-        }
         String sql = "SELECT i.username, h.valid_from, h.valid_to, l.hourly_rate_czk " +
                 "FROM intern i " +
                 "JOIN intern_level_history h ON h.intern_id = i.id " +
                 "JOIN level l ON l.id = h.level_id " +
-                "WHERE i.username IN (" + placeholders + ") " +
+                "WHERE i.username = ANY(?::text[]) " +
                 "ORDER BY i.username, h.valid_from";
         Map<String, List<HourlyRateSlice>> rates = new HashMap<>();
-        jdbc.query(sql, params.toArray(), rs -> {
+        jdbc.query(sql, new Object[]{SqlArrays.texts(usernames)}, rs -> {
             String username = rs.getString("username");
             LocalDate validFrom = rs.getObject("valid_from", LocalDate.class);
             LocalDate validTo = rs.getObject("valid_to", LocalDate.class);
@@ -764,7 +876,8 @@ public class SyncDao {
         ));
     }
 
-    public record ReportOverviewRow(long repositoryId,
+    public record ReportOverviewRow(long id,
+                                    long repositoryId,
                                     String repositoryName,
                                     Long issueIid,
                                     String issueTitle,
@@ -774,8 +887,30 @@ public class SyncDao {
                                     BigDecimal cost,
                                     Boolean projectIsExternal) {}
 
-    public List<ReportOverviewRow> listReportOverview(OffsetDateTime from, OffsetDateTime to, boolean untrackedOnly) {
-        StringBuilder sql = new StringBuilder("SELECT r.repository_id, " +
+    /** Returns at most {@code limit} rows of the report overview; callers ask for one more row to detect overflow. */
+    public List<ReportOverviewRow> listReportOverview(OffsetDateTime from, OffsetDateTime to, boolean untrackedOnly, int limit) {
+        List<Object> params = new ArrayList<>();
+        String sql = reportOverviewSql(from, to, untrackedOnly, params) + " LIMIT ?";
+        params.add(limit);
+        return jdbc.query(sql, REPORT_OVERVIEW_MAPPER, params.toArray());
+    }
+
+    /**
+     * Streams the same rows as {@link #listReportOverview} to {@code consumer} one at a time.
+     * Must run inside a transaction so the driver can page the result with a server-side cursor.
+     */
+    public void streamReportOverview(OffsetDateTime from,
+                                     OffsetDateTime to,
+                                     boolean untrackedOnly,
+                                     Consumer<? super ReportOverviewRow> consumer) {
+        List<Object> params = new ArrayList<>();
+        String sql = reportOverviewSql(from, to, untrackedOnly, params);
+        streamQuery(sql, params, REPORT_OVERVIEW_MAPPER, consumer);
+    }
+
+    private String reportOverviewSql(OffsetDateTime from, OffsetDateTime to, boolean untrackedOnly, List<Object> params) {
+        StringBuilder sql = new StringBuilder("SELECT r.id, " +
+                "r.repository_id, " +
                 "repo.name_with_namespace AS repository_name, " +
                 "r.iid AS issue_iid, " +
                 "iss.title AS issue_title, " +
@@ -783,19 +918,13 @@ public class SyncDao {
                 "r.time_spent_hours, " +
                 "r.cost, " +
                 "COALESCE(r.username, r.unregistered_username) AS resolved_username, " +
-                "COALESCE(flag.is_external, FALSE) AS project_is_external " +
+                "COALESCE(rpa.is_external, FALSE) AS project_is_external " +
                 "FROM report r " +
                 "JOIN repository repo ON repo.id = r.repository_id " +
                 "LEFT JOIN issue iss ON iss.repository_id = r.repository_id AND iss.iid = r.iid " +
-                "LEFT JOIN (" +
-                "    SELECT ptr.repository_id, BOOL_OR(p.is_external) AS is_external " +
-                "    FROM projects_to_repositorie ptr " +
-                "    JOIN project p ON p.id = ptr.project_id " +
-                "    GROUP BY ptr.repository_id" +
-                ") flag ON flag.repository_id = r.repository_id " +
+                "LEFT JOIN repository_project_attributes rpa ON rpa.repository_id = r.repository_id " +
                 "WHERE 1 = 1");
 
-        List<Object> params = new ArrayList<>();
         if (from != null) {
             sql.append(" AND r.spent_at >= ?");
             params.add(from);
@@ -806,22 +935,69 @@ public class SyncDao {
         }
 
         if (untrackedOnly) {
-            sql.append(" AND NOT EXISTS (SELECT 1 FROM projects_to_repositorie ptr WHERE ptr.repository_id = r.repository_id)");
+            sql.append(" AND rpa.repository_id IS NULL");
         }
 
         sql.append(" ORDER BY r.spent_at DESC, repo.name_with_namespace ASC, r.iid NULLS LAST, iss.title NULLS LAST");
 
-        return jdbc.query(sql.toString(), (rs, rn) -> new ReportOverviewRow(
-                rs.getLong("repository_id"),
-                rs.getString("repository_name"),
-                (Long) rs.getObject("issue_iid"),
-                rs.getString("issue_title"),
-                rs.getObject("spent_at", OffsetDateTime.class),
-                rs.getBigDecimal("time_spent_hours"),
-                rs.getString("resolved_username"),
-                rs.getBigDecimal("cost"),
-                rs.getObject("project_is_external", Boolean.class)
-        ), params.toArray());
+        return sql.toString();
+    }
+
+    /** Position of the last row returned by {@link #listReportOverviewPage}; rows are ordered by (spent_at, id) descending. */
+    public record ReportOverviewCursor(OffsetDateTime spentAt, long id) {}
+
+    /**
+     * Returns one keyset page of the report overview ordered by {@code spent_at DESC, id DESC}.
+     *
+     * <p>The seek predicate {@code (r.spent_at, r.id) < (?, ?)} walks {@code idx_report_spent_at_id}
+     * backwards, so the cost of a page does not grow with its offset. The external flag comes from
+     * the trigger-maintained {@code repository_project_attributes} row of the report's repository.
+     * Callers ask for {@code limit + 1} rows to detect a next page.</p>
+     */
+    public List<ReportOverviewRow> listReportOverviewPage(OffsetDateTime from,
+                                                          OffsetDateTime to,
+                                                          boolean untrackedOnly,
+                                                          ReportOverviewCursor after,
+                                                          int limit) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT r.id,
+                       r.repository_id,
+                       repo.name_with_namespace AS repository_name,
+                       r.iid AS issue_iid,
+                       iss.title AS issue_title,
+                       r.spent_at,
+                       r.time_spent_hours,
+                       r.cost,
+                       COALESCE(r.username, r.unregistered_username) AS resolved_username,
+                       COALESCE(rpa.is_external, FALSE) AS project_is_external
+                FROM report r
+                JOIN repository repo ON repo.id = r.repository_id
+                LEFT JOIN issue iss ON iss.repository_id = r.repository_id AND iss.iid = r.iid
+                LEFT JOIN repository_project_attributes rpa ON rpa.repository_id = r.repository_id
+                WHERE 1 = 1
+                """);
+
+        List<Object> params = new ArrayList<>();
+        if (from != null) {
+            sql.append(" AND r.spent_at >= ?");
+            params.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND r.spent_at <= ?");
+            params.add(to);
+        }
+        if (after != null) {
+            sql.append(" AND (r.spent_at, r.id) < (?, ?)");
+            params.add(after.spentAt());
+            params.add(after.id());
+        }
+        if (untrackedOnly) {
+            sql.append(" AND rpa.repository_id IS NULL");
+        }
+        sql.append(" ORDER BY r.spent_at DESC, r.id DESC LIMIT ?");
+        params.add(limit);
+
+        return jdbc.query(sql.toString(), REPORT_OVERVIEW_MAPPER, params.toArray());
     }
 
     public record ProjectInternRow(long id, String username, String firstName, String lastName) {}
@@ -938,6 +1114,29 @@ public class SyncDao {
                                                                 OffsetDateTime from,
                                                                 OffsetDateTime to,
                                                                 String internUsername) {
+        List<Object> params = new ArrayList<>();
+        String sql = projectReportDetailSql(projectId, from, to, internUsername, params);
+        return jdbc.query(sql, PROJECT_REPORT_DETAIL_MAPPER, params.toArray());
+    }
+
+    /**
+     * Streams the rows of {@link #listProjectReportDetail} to {@code consumer}; must run inside a transaction.
+     */
+    public void streamProjectReportDetail(long projectId,
+                                          OffsetDateTime from,
+                                          OffsetDateTime to,
+                                          String internUsername,
+                                          Consumer<? super ProjectReportDetailRow> consumer) {
+        List<Object> params = new ArrayList<>();
+        String sql = projectReportDetailSql(projectId, from, to, internUsername, params);
+        streamQuery(sql, params, PROJECT_REPORT_DETAIL_MAPPER, consumer);
+    }
+
+    private String projectReportDetailSql(long projectId,
+                                          OffsetDateTime from,
+                                          OffsetDateTime to,
+                                          String internUsername,
+                                          List<Object> params) {
         StringBuilder sql = new StringBuilder("SELECT r.repository_id, " +
                 "repo.name AS repository_name, " +
                 "iss.id AS issue_id, " +
@@ -963,21 +1162,23 @@ public class SyncDao {
                 "JOIN intern i ON i.username = r.username " +
                 "LEFT JOIN intern_project ip ON ip.intern_id = i.id AND ip.project_id = ptr.project_id " +
                 "LEFT JOIN intern_level_history ilh ON ilh.intern_id = i.id " +
-                "    AND ilh.valid_from <= r.spent_at::date " +
-                "    AND (ilh.valid_to IS NULL OR ilh.valid_to >= r.spent_at::date) " +
+                "    AND ilh.valid_from <= r.spent_date " +
+                "    AND (ilh.valid_to IS NULL OR ilh.valid_to >= r.spent_date) " +
                 "LEFT JOIN level lvl ON lvl.id = ilh.level_id " +
                 "LEFT JOIN issue iss ON iss.repository_id = r.repository_id AND iss.iid = r.iid " +
                 "WHERE ptr.project_id = ?");
 
-        List<Object> params = new ArrayList<>();
         params.add(projectId);
 
         if (from != null) {
-            sql.append(" AND r.spent_at >= ?");
+            // spent_date bound keeps the scan on idx_report_repository_spent_date, spent_at trims the edge day.
+            sql.append(" AND r.spent_date >= (?::timestamptz AT TIME ZONE 'UTC')::date AND r.spent_at >= ?");
+            params.add(from);
             params.add(from);
         }
         if (to != null) {
-            sql.append(" AND r.spent_at <= ?");
+            sql.append(" AND r.spent_date <= (?::timestamptz AT TIME ZONE 'UTC')::date AND r.spent_at <= ?");
+            params.add(to);
             params.add(to);
         }
         if (internUsername != null && !internUsername.isBlank()) {
@@ -988,21 +1189,7 @@ public class SyncDao {
         sql.append(" GROUP BY r.repository_id, repo.name, iss.id, r.iid, iss.title, iss.web_url, iss.human_time_estimate, i.id, i.username, i.first_name, i.last_name");
         sql.append(" ORDER BY repo.name, r.iid NULLS LAST, iss.title NULLS LAST, i.last_name, i.first_name, i.username");
 
-        return jdbc.query(sql.toString(), (rs, rn) -> new ProjectReportDetailRow(
-                rs.getLong("repository_id"),
-                rs.getString("repository_name"),
-                (Long) rs.getObject("issue_id"),
-                (Long) rs.getObject("issue_iid"),
-                rs.getString("issue_title"),
-                rs.getString("issue_web_url"),
-                rs.getString("issue_human_time_estimate"),
-                rs.getLong("intern_id"),
-                rs.getString("intern_username"),
-                rs.getString("intern_first_name"),
-                rs.getString("intern_last_name"),
-                rs.getBigDecimal("hours"),
-                rs.getBigDecimal("cost")
-        ), params.toArray());
+        return sql.toString();
     }
 
     public List<ProjectMonthlyReportRow> listProjectMonthlyReport(long projectId,
@@ -1033,10 +1220,12 @@ public class SyncDao {
                     JOIN intern i ON i.username = r.username
                     LEFT JOIN intern_project ip ON ip.intern_id = i.id AND ip.project_id = ptr.project_id
                     LEFT JOIN intern_level_history ilh ON ilh.intern_id = i.id
-                        AND ilh.valid_from <= r.spent_at::date
-                        AND (ilh.valid_to IS NULL OR ilh.valid_to >= r.spent_at::date)
+                        AND ilh.valid_from <= r.spent_date
+                        AND (ilh.valid_to IS NULL OR ilh.valid_to >= r.spent_date)
                     LEFT JOIN level lvl ON lvl.id = ilh.level_id
                     WHERE ptr.project_id = ?
+                      AND r.spent_date BETWEEN (?::timestamptz AT TIME ZONE 'UTC')::date
+                                           AND (?::timestamptz AT TIME ZONE 'UTC')::date
                       AND r.spent_at >= ?
                       AND r.spent_at < ?
                     GROUP BY 1
@@ -1058,27 +1247,12 @@ public class SyncDao {
                 to,
                 projectId,
                 from,
+                to,
+                from,
                 to);
     }
 
-    /**
-     * Builds a month-by-month matrix of intern effort within the requested interval.
-     *
-     * <p>The SQL mirrors the long-term project report pipeline: it generates a month
-     * series for the closed interval {@code [from, to)} and aggregates the `report`
-     * table using the shared cost formula that respects `intern_project` toggles
-     * and level transitions (interns at level code {@code employee} contribute
-     * hours but zero cost when excluded from reported cost).
-     *
-     * <p>Every intern is CROSS JOINed with the generated month buckets so the
-     * frontend can display zero values for months without activity.</p>
-     */
-    public List<InternMonthlyHoursRow> listInternMonthlyHours(OffsetDateTime from,
-                                                              OffsetDateTime to) {
-        Objects.requireNonNull(from, "from");
-        Objects.requireNonNull(to, "to");
-
-        String sql = """
+    private static final String INTERN_MONTHLY_HOURS_SQL = """
                 WITH month_series AS (
                     SELECT generate_series(
                                date_trunc('month', ?::timestamptz),
@@ -1103,13 +1277,13 @@ public class SyncDao {
                     LEFT JOIN project p ON p.id = ptr.project_id
                     LEFT JOIN intern_project ip ON ip.intern_id = i.id AND ip.project_id = ptr.project_id
                     LEFT JOIN intern_level_history ilh ON ilh.intern_id = i.id
-                        AND ilh.valid_from <= r.spent_at::date
-                        AND (ilh.valid_to IS NULL OR ilh.valid_to >= r.spent_at::date)
+                        AND ilh.valid_from <= r.spent_date
+                        AND (ilh.valid_to IS NULL OR ilh.valid_to >= r.spent_date)
                     LEFT JOIN level lvl ON lvl.id = ilh.level_id
                     WHERE r.spent_at >= ?
                       AND r.spent_at < ?
-                      AND (p.id IS NULL OR p.budget_from IS NULL OR r.spent_at::date >= p.budget_from)
-                      AND (p.id IS NULL OR p.budget_to IS NULL OR r.spent_at::date <= p.budget_to)
+                      AND (p.id IS NULL OR p.budget_from IS NULL OR r.spent_date >= p.budget_from)
+                      AND (p.id IS NULL OR p.budget_to IS NULL OR r.spent_date <= p.budget_to)
                     GROUP BY i.id, month_start
                 )
                 SELECT i.id AS intern_id,
@@ -1140,146 +1314,159 @@ public class SyncDao {
                 ORDER BY LOWER(i.last_name), LOWER(i.first_name), i.username, ms.month_start
                 """;
 
-        return jdbc.query(sql,
-                (rs, rn) -> new InternMonthlyHoursRow(
-                        rs.getLong("intern_id"),
-                        rs.getString("username"),
-                        rs.getString("first_name"),
-                        rs.getString("last_name"),
-                        rs.getObject("month_start", OffsetDateTime.class),
-                        rs.getBigDecimal("hours"),
-                        rs.getBigDecimal("cost"),
-                        (Long) rs.getObject("level_id"),
-                        rs.getString("level_code"),
-                        rs.getString("level_label")),
-                from,
-                to,
-                from,
-                to);
+    /**
+     * Builds a month-by-month matrix of intern effort within the requested interval.
+     *
+     * <p>The SQL mirrors the long-term project report pipeline: it generates a month
+     * series for the closed interval {@code [from, to)} and aggregates the `report`
+     * table using the shared cost formula that respects `intern_project` toggles
+     * and level transitions (interns at level code {@code employee} contribute
+     * hours but zero cost when excluded from reported cost).
+     *
+     * <p>Every intern is CROSS JOINed with the generated month buckets so the
+     * frontend can display zero values for months without activity.</p>
+     */
+    public List<InternMonthlyHoursRow> listInternMonthlyHours(OffsetDateTime from,
+                                                              OffsetDateTime to) {
+        Objects.requireNonNull(from, "from");
+        Objects.requireNonNull(to, "to");
+        return jdbc.query(INTERN_MONTHLY_HOURS_SQL, INTERN_MONTHLY_HOURS_MAPPER, from, to, from, to);
+    }
+
+    /**
+     * Streams the rows of {@link #listInternMonthlyHours} to {@code consumer}; must run inside a transaction.
+     */
+    public void streamInternMonthlyHours(OffsetDateTime from,
+                                         OffsetDateTime to,
+                                         Consumer<? super InternMonthlyHoursRow> consumer) {
+        Objects.requireNonNull(from, "from");
+        Objects.requireNonNull(to, "to");
+        streamQuery(INTERN_MONTHLY_HOURS_SQL, List.of(from, to, from, to), INTERN_MONTHLY_HOURS_MAPPER, consumer);
     }
 
-    public List<InternPerformanceRow> listInternPerformance(OffsetDateTime from,
-                                                            OffsetDateTime to,
-                                                            String unit,
-                                                            List<Long> internIds,
-                                                            List<Long> groupIds) {
+    /**
+     * Aggregates intern hours per period in a single pass over {@code report}.
+     *
+     * <p>{@code GROUPING SETS} produce both the per-intern totals and the per-project breakdown
+     * from one scan. A report whose repository is linked to several projects counts towards each
+     * of them but only once towards the total (via its lowest linked project id). Reports from
+     * repositories without a project only contribute to the total; the caller derives the
+     * unassigned remainder.</p>
+     */
+    public InternPerformanceColumns loadInternPerformance(OffsetDateTime from,
+                                                          OffsetDateTime to,
+                                                          String unit,
+                                                          List<Long> internIds,
+                                                          List<Long> groupIds) {
         Objects.requireNonNull(from, "from");
         Objects.requireNonNull(to, "to");
         Objects.requireNonNull(unit, "unit");
-
-        String interval;
-        if ("week".equals(unit)) {
-            interval = "interval '1 week'";
-        } else if ("month".equals(unit)) {
-            interval = "interval '1 month'";
-        } else {
+        if (!"week".equals(unit) && !"month".equals(unit)) {
             throw new IllegalArgumentException("Unsupported performance unit: " + unit);
         }
 
-        List<Object> params = new ArrayList<>();
-        params.add(from);
-        params.add(to);
-
+        List<Object> filterParams = new ArrayList<>();
         StringBuilder filterClause = new StringBuilder();
         if (internIds != null && !internIds.isEmpty()) {
-            String placeholders = String.join(",", java.util.Collections.nCopies(internIds.size(), "?"));
-            filterClause.append("\n              AND i.id IN (").append(placeholders).append(')');
-            params.addAll(internIds);
+            filterClause.append("\n                  AND i.id = ANY(?::bigint[])");
+            filterParams.add(SqlArrays.bigints(internIds));
         }
         if (groupIds != null && !groupIds.isEmpty()) {
-            String placeholders = String.join(",", java.util.Collections.nCopies(groupIds.size(), "?"));
-            filterClause.append("\n              AND i.id IN (SELECT intern_id FROM intern_group WHERE group_id IN (")
-                    .append(placeholders)
-                    .append("))");
-            params.addAll(groupIds);
+            filterClause.append("\n                  AND i.id IN (SELECT intern_id FROM intern_group WHERE group_id = ANY(?::bigint[]))");
+            filterParams.add(SqlArrays.bigints(groupIds));
         }
 
-        String sqlTemplate = """
-                WITH period_series AS (
-                    SELECT generate_series(
-                               date_trunc('%1$s', ?::timestamptz),
-                               date_trunc('%1$s', (?::timestamptz - interval '1 second')),
-                               %2$s
-                           ) AS period_start
-                ),
-                filtered_interns AS (
-                    SELECT i.id,
-                           i.username,
-                           i.first_name,
-                           i.last_name
+        String internSql = """
+                SELECT i.id, i.username, i.first_name, i.last_name
+                FROM intern i
+                WHERE 1 = 1%s
+                ORDER BY LOWER(i.last_name), LOWER(i.first_name), i.username
+                """.formatted(filterClause.toString());
+        List<PerformanceIntern> interns = jdbc.query(internSql,
+                (rs, rn) -> new PerformanceIntern(
+                        rs.getLong("id"),
+                        rs.getString("username"),
+                        rs.getString("first_name"),
+                        rs.getString("last_name")),
+                filterParams.toArray());
+        if (interns.isEmpty()) {
+            return new InternPerformanceColumns(List.of(), 0, new long[0], new Long[0], new String[0],
+                    new LocalDate[0], new BigDecimal[0]);
+        }
+
+        String sql = """
+                WITH filtered_interns AS (
+                    SELECT i.id, i.username
                     FROM intern i
-                    WHERE 1 = 1%3$s
-                ),
-                report_totals AS (
-                    SELECT fi.id AS intern_id,
-                           date_trunc('%1$s', r.spent_at AT TIME ZONE 'UTC') AS period_start,
-                           SUM(r.time_spent_hours) AS hours
-                    FROM report r
-                    JOIN filtered_interns fi ON fi.username = r.username
-                    WHERE r.spent_at >= ?
-                      AND r.spent_at < ?
-                    GROUP BY fi.id, period_start
+                    WHERE 1 = 1%2$s
                 ),
-                report_projects AS (
-                    SELECT fi.id AS intern_id,
-                           ptr.project_id,
-                           p.name AS project_name,
-                           date_trunc('%1$s', r.spent_at AT TIME ZONE 'UTC') AS period_start,
-                           SUM(r.time_spent_hours) AS hours
-                    FROM report r
-                    JOIN filtered_interns fi ON fi.username = r.username
-                    LEFT JOIN projects_to_repositorie ptr ON ptr.repository_id = r.repository_id
-                    LEFT JOIN project p ON p.id = ptr.project_id
-                    WHERE r.spent_at >= ?
-                      AND r.spent_at < ?
-                    GROUP BY fi.id, ptr.project_id, p.name, period_start
+                primary_link AS (
+                    SELECT repository_id, MIN(project_id) AS project_id
+                    FROM projects_to_repositorie
+                    GROUP BY repository_id
                 )
-                SELECT *
-                FROM (
-                    SELECT fi.id AS intern_id,
-                           fi.username,
-                           fi.first_name,
-                           fi.last_name,
-                           ps.period_start,
-                           NULL::bigint AS project_id,
-                           NULL::text AS project_name,
-                           COALESCE(rt.hours, 0) AS hours
-                    FROM filtered_interns fi
-                    CROSS JOIN period_series ps
-                    LEFT JOIN report_totals rt ON rt.intern_id = fi.id AND rt.period_start = ps.period_start
-                    UNION ALL
-                    SELECT rp.intern_id,
-                           fi.username,
-                           fi.first_name,
-                           fi.last_name,
-                           rp.period_start,
-                           rp.project_id,
-                           rp.project_name,
-                           rp.hours
-                    FROM report_projects rp
-                    JOIN filtered_interns fi ON fi.id = rp.intern_id
-                ) AS rows
-                ORDER BY LOWER(rows.last_name), LOWER(rows.first_name), rows.username, (rows.project_id IS NOT NULL), rows.project_name, rows.period_start
-                """;
-
-        String sql = sqlTemplate.formatted(unit, interval, filterClause.toString());
-        params.add(from);
-        params.add(to);
+                SELECT fi.id AS intern_id,
+                       ptr.project_id,
+                       CASE WHEN GROUPING(ptr.project_id) = 0 THEN MAX(p.name) END AS project_name,
+                       date_trunc('%1$s', r.spent_at AT TIME ZONE 'UTC')::date AS period_start,
+                       GROUPING(ptr.project_id) = 1 AS is_total,
+                       CASE
+                           WHEN GROUPING(ptr.project_id) = 1 THEN
+                               COALESCE(SUM(r.time_spent_hours)
+                                        FILTER (WHERE ptr.project_id IS NULL OR ptr.project_id = pl.project_id), 0)
+                           ELSE SUM(r.time_spent_hours)
+                       END AS hours
+                FROM report r
+                JOIN filtered_interns fi ON fi.username = r.username
+                LEFT JOIN projects_to_repositorie ptr ON ptr.repository_id = r.repository_id
+                LEFT JOIN primary_link pl ON pl.repository_id = r.repository_id
+                LEFT JOIN project p ON p.id = ptr.project_id
+                WHERE r.spent_at >= ?
+                  AND r.spent_at < ?
+                GROUP BY GROUPING SETS (
+                    (fi.id, date_trunc('%1$s', r.spent_at AT TIME ZONE 'UTC')),
+                    (fi.id, ptr.project_id, date_trunc('%1$s', r.spent_at AT TIME ZONE 'UTC'))
+                )
+                HAVING GROUPING(ptr.project_id) = 1 OR ptr.project_id IS NOT NULL
+                ORDER BY intern_id, is_total DESC, project_name, ptr.project_id, period_start
+                """.formatted(unit, filterClause.toString());
+        List<Object> params = new ArrayList<>(filterParams);
         params.add(from);
         params.add(to);
 
-        return jdbc.query(sql,
-                (rs, rn) -> new InternPerformanceRow(
-                        rs.getLong("intern_id"),
-                        rs.getString("username"),
-                        rs.getString("first_name"),
-                        rs.getString("last_name"),
-                        rs.getObject("period_start", OffsetDateTime.class),
-                        (Long) rs.getObject("project_id"),
-                        rs.getString("project_name"),
-                        rs.getBigDecimal("hours")),
-                params.toArray());
+        return jdbc.query(sql, rs -> {
+            int capacity = 64;
+            int size = 0;
+            long[] ids = new long[capacity];
+            Long[] projectIds = new Long[capacity];
+            String[] projectNames = new String[capacity];
+            LocalDate[] periodStarts = new LocalDate[capacity];
+            BigDecimal[] hours = new BigDecimal[capacity];
+            while (rs.next()) {
+                if (size == capacity) {
+                    capacity *= 2;
+                    ids = Arrays.copyOf(ids, capacity);
+                    projectIds = Arrays.copyOf(projectIds, capacity);
+                    projectNames = Arrays.copyOf(projectNames, capacity);
+                    periodStarts = Arrays.copyOf(periodStarts, capacity);
+                    hours = Arrays.copyOf(hours, capacity);
+                }
+                ids[size] = rs.getLong("intern_id");
+                projectIds[size] = rs.getBoolean("is_total") ? null : rs.getLong("project_id");
+                projectNames[size] = rs.getString("project_name");
+                periodStarts[size] = rs.getObject("period_start", LocalDate.class);
+                hours[size] = rs.getBigDecimal("hours");
+                size++;
+            }
+            return new InternPerformanceColumns(interns, size,
+                    Arrays.copyOf(ids, size),
+                    Arrays.copyOf(projectIds, size),
+                    Arrays.copyOf(projectNames, size),
+                    Arrays.copyOf(periodStarts, size),
+                    Arrays.copyOf(hours, size));
+        }, params.toArray());
     }
+
     public List<ProjectInternOpenIssueRow> listProjectInternOpenIssues(long projectId, String internUsername) {
         if (internUsername == null || internUsername.isBlank()) {
             return List.of();
@@ -1463,29 +1650,30 @@ public class SyncDao {
                 GROUP BY m.milestone_id, m.milestone_iid, m.title, m.state, m.due_date, mrc.total_cost
                 """;
 
-        List<MilestoneDetailSummary> summaries = jdbc.query(summarySql, (rs, rn) -> new MilestoneDetailSummary(
-                rs.getLong("milestone_id"),
-                rs.getLong("milestone_iid"),
-                rs.getString("title"),
-                rs.getString("state"),
-                rs.getString("description"),
-                rs.getObject("due_date", LocalDate.class),
-                Optional.ofNullable((Number) rs.getObject("total_time_spent_seconds")).map(Number::longValue).orElse(0L),
-                rs.getLong("total_issues"),
-                rs.getLong("closed_issues"),
-                Optional.ofNullable(rs.getBigDecimal("total_cost")).orElse(BigDecimal.ZERO)
-        ), projectId, milestoneId);
-
-        if (summaries.isEmpty()) {
-            return null;
+        try (ParallelQueries.Scope scope = parallelQueries.open()) {
+            Supplier<List<MilestoneDetailSummary>> summaries = scope.fork(() -> jdbc.query(summarySql,
+                    (rs, rn) -> new MilestoneDetailSummary(
+                            rs.getLong("milestone_id"),
+                            rs.getLong("milestone_iid"),
+                            rs.getString("title"),
+                            rs.getString("state"),
+                            rs.getString("description"),
+                            rs.getObject("due_date", LocalDate.class),
+                            Optional.ofNullable((Number) rs.getObject("total_time_spent_seconds")).map(Number::longValue).orElse(0L),
+                            rs.getLong("total_issues"),
+                            rs.getLong("closed_issues"),
+                            Optional.ofNullable(rs.getBigDecimal("total_cost")).orElse(BigDecimal.ZERO)
+                    ), projectId, milestoneId));
+            Supplier<List<MilestoneIssueDetailRow>> issues = scope.fork(() -> listMilestoneIssues(projectId, milestoneId));
+            Supplier<List<MilestoneInternContributionRow>> internContributions =
+                    scope.fork(() -> listMilestoneInternContributions(projectId, milestoneId));
+            scope.join();
+
+            if (summaries.get().isEmpty()) {
+                return null;
+            }
+            return new MilestoneDetail(summaries.get().get(0), issues.get(), internContributions.get());
         }
-
-        MilestoneDetailSummary summary = summaries.get(0);
-
-        List<MilestoneIssueDetailRow> issues = listMilestoneIssues(projectId, milestoneId);
-        List<MilestoneInternContributionRow> internContributions = listMilestoneInternContributions(projectId, milestoneId);
-
-        return new MilestoneDetail(summary, issues, internContributions);
     }
 
     /**
@@ -1630,10 +1818,6 @@ public class SyncDao {
             return List.of();
         }
 
-        String placeholders = uniqueIds.stream()
-                .map(id -> "?")
-                .collect(Collectors.joining(","));
-
         String sql = """
                 SELECT m.milestone_id,
                        iss.id AS issue_id,
@@ -1651,14 +1835,14 @@ public class SyncDao {
                  AND r.iid = iss.iid
                 WHERE m.project_id = ?
                   AND m.state = 'active'
-                  AND m.milestone_id IN (%s)
+                  AND m.milestone_id = ANY(?::bigint[])
                 GROUP BY m.milestone_id, iss.id, iss.iid, issue_title
                 ORDER BY m.due_date NULLS LAST, LOWER(m.title), issue_title
-                """.formatted(placeholders);
+                """;
 
         List<Object> params = new ArrayList<>();
         params.add(projectId);
-        params.addAll(uniqueIds);
+        params.add(SqlArrays.bigints(uniqueIds));
 
         return jdbc.query(sql, (rs, rn) -> new MilestoneIssueCostRow(
                 rs.getLong("milestone_id"),
@@ -1669,37 +1853,266 @@ public class SyncDao {
         ), params.toArray());
     }
 
-    public int recomputeReportCostsForIntern(long internId) {
+    /** Inclusive id bounds of the reports in a cost recompute scope. */
+    public record ReportIdRange(long minId, long maxId) {}
+
+    /** Outcome of one recompute chunk: rewritten rows and the repositories they belong to. */
+    public record CostChunkResult(int updatedRows, Set<Long> repositoryIds) {}
+
+    /**
+     * Returns the id bounds of the reports covered by {@code scope}, or empty when there are none.
+     */
+    public Optional<ReportIdRange> findReportIdRange(ReportCostScope scope) {
+        List<Object> params = new ArrayList<>();
         String sql = """
-                WITH project_rate AS (
-                    SELECT ptr.repository_id,
-                           MAX(p.hourly_rate_czk) AS hourly_rate_czk
-                    FROM projects_to_repositorie ptr
-                    JOIN project p ON p.id = ptr.project_id
-                    GROUP BY ptr.repository_id
-                ),
-                target_rows AS (
+                SELECT MIN(r.id) AS min_id, MAX(r.id) AS max_id
+                FROM report r
+                JOIN intern i ON i.username = r.username
+                JOIN intern_level_history h ON h.intern_id = i.id
+                    AND r.spent_date >= h.valid_from
+                    AND (h.valid_to IS NULL OR r.spent_date <= h.valid_to)
+                WHERE %s
+                """.formatted(costScopePredicate(scope, params));
+        return jdbc.query(sql, rs -> {
+            if (!rs.next()) {
+                return Optional.<ReportIdRange>empty();
+            }
+            Long min = (Long) rs.getObject("min_id");
+            Long max = (Long) rs.getObject("max_id");
+            return min == null || max == null ? Optional.<ReportIdRange>empty() : Optional.of(new ReportIdRange(min, max));
+        }, params.toArray());
+    }
+
+    /**
+     * Recomputes {@code cost} and {@code hourly_rate_czk} for the reports of {@code scope} with
+     * {@code fromId <= id < toIdExclusive}. Rows whose values do not change are not written.
+     *
+     * <p>Must run inside a (short) transaction: it sets {@code pm.skip_report_refresh} locally so the
+     * per-row project cost trigger stays quiet; the caller refreshes the returned repositories'
+     * projects once at the end via {@link #refreshProjectReportCosts}.</p>
+     */
+    public CostChunkResult recomputeReportCostChunk(ReportCostScope scope, long fromId, long toIdExclusive) {
+        jdbc.execute("SET LOCAL pm.skip_report_refresh = 'on'");
+        List<Object> params = new ArrayList<>();
+        params.add(fromId);
+        params.add(toIdExclusive);
+        String sql = """
+                WITH resolved AS (
                     SELECT r.id,
-                           COALESCE(project_rate.hourly_rate_czk, l.hourly_rate_czk) AS resolved_rate,
+                           ROUND(COALESCE(rpa.external_hourly_rate_czk, l.hourly_rate_czk) * r.time_spent_hours, 2) AS cost,
                            l.hourly_rate_czk AS level_rate
                     FROM report r
-                    JOIN intern i ON r.username = i.username
+                    JOIN intern i ON i.username = r.username
                     JOIN intern_level_history h ON h.intern_id = i.id
+                        AND r.spent_date >= h.valid_from
+                        AND (h.valid_to IS NULL OR r.spent_date <= h.valid_to)
                     JOIN level l ON l.id = h.level_id
-                    LEFT JOIN project_rate ON project_rate.repository_id = r.repository_id
-                    WHERE i.id = ?
-                      AND r.spent_at::date >= h.valid_from
-                      AND (h.valid_to IS NULL OR r.spent_at::date <= h.valid_to)
+                    LEFT JOIN repository_project_attributes rpa ON rpa.repository_id = r.repository_id
+                    WHERE r.id >= ?
+                      AND r.id < ?
+                      AND %s
                 )
                 UPDATE report r
-                SET cost = CASE
-                        WHEN target_rows.resolved_rate IS NULL THEN NULL
-                        ELSE ROUND(target_rows.resolved_rate * r.time_spent_hours, 2)
-                    END,
-                    hourly_rate_czk = target_rows.level_rate
-                FROM target_rows
-                WHERE target_rows.id = r.id
-                """;
-        return jdbc.update(sql, internId);
+                SET cost = resolved.cost,
+                    hourly_rate_czk = resolved.level_rate
+                FROM resolved
+                WHERE resolved.id = r.id
+                  AND (r.cost IS DISTINCT FROM resolved.cost OR r.hourly_rate_czk IS DISTINCT FROM resolved.level_rate)
+                RETURNING r.repository_id
+                """.formatted(costScopePredicate(scope, params));
+        List<Long> repositoryIds = jdbc.queryForList(sql, Long.class, params.toArray());
+        return new CostChunkResult(repositoryIds.size(), new LinkedHashSet<>(repositoryIds));
+    }
+
+    private static String costScopePredicate(ReportCostScope scope, List<Object> params) {
+        StringBuilder predicate = new StringBuilder();
+        switch (scope.kind()) {
+            case INTERN -> {
+                predicate.append("i.id = ?");
+                params.add(scope.targetId());
+            }
+            case LEVEL -> {
+                predicate.append("h.level_id = ?");
+                params.add(scope.targetId());
+            }
+            case PROJECT -> {
+                predicate.append("r.repository_id IN (SELECT repository_id FROM projects_to_repositorie WHERE project_id = ?)");
+                params.add(scope.targetId());
+            }
+        }
+        if (scope.from() != null) {
+            predicate.append(" AND r.spent_date >= ?");
+            params.add(scope.from());
+        }
+        if (scope.to() != null) {
+            predicate.append(" AND r.spent_date <= ?");
+            params.add(scope.to());
+        }
+        return predicate.toString();
+    }
+
+    /** Persistent state of a report cost recompute job ({@code report_cost_recompute_job}). */
+    public record CostRecomputeJobRow(UUID id,
+                                      ReportCostScope scope,
+                                      String status,
+                                      Long nextReportId,
+                                      Long maxReportId,
+                                      long totalChunks,
+                                      long processedChunks,
+                                      long updatedRows,
+                                      Set<Long> repositoryIds,
+                                      String errorMessage,
+                                      OffsetDateTime createdAt,
+                                      OffsetDateTime finishedAt) {}
+
+    private static final RowMapper<CostRecomputeJobRow> COST_RECOMPUTE_JOB_MAPPER = (rs, rowNum) -> {
+        Array repositoryIds = rs.getArray("repository_ids");
+        Set<Long> repositories = new LinkedHashSet<>();
+        if (repositoryIds != null) {
+            for (Long repositoryId : (Long[]) repositoryIds.getArray()) {
+                repositories.add(repositoryId);
+            }
+        }
+        return new CostRecomputeJobRow(
+                rs.getObject("id", UUID.class),
+                new ReportCostScope(ReportCostScope.Kind.valueOf(rs.getString("kind")),
+                        rs.getLong("target_id"),
+                        rs.getObject("date_from", LocalDate.class),
+                        rs.getObject("date_to", LocalDate.class)),
+                rs.getString("status"),
+                (Long) rs.getObject("next_report_id"),
+                (Long) rs.getObject("max_report_id"),
+                rs.getLong("total_chunks"),
+                rs.getLong("processed_chunks"),
+                rs.getLong("updated_rows"),
+                repositories,
+                rs.getString("error_message"),
+                rs.getObject("created_at", OffsetDateTime.class),
+                rs.getObject("finished_at", OffsetDateTime.class));
+    };
+
+    /** Queues a recompute job; it commits together with the caller's transaction. */
+    public void insertCostRecomputeJob(UUID id, ReportCostScope scope) {
+        jdbc.update("""
+                INSERT INTO report_cost_recompute_job (id, kind, target_id, date_from, date_to)
+                VALUES (?, ?, ?, ?, ?)
+                """, id, scope.kind().name(), scope.targetId(),
+                new SqlParameterValue(Types.DATE, scope.from()),
+                new SqlParameterValue(Types.DATE, scope.to()));
+    }
+
+    public Optional<CostRecomputeJobRow> findCostRecomputeJob(UUID id) {
+        return jdbc.query("SELECT * FROM report_cost_recompute_job WHERE id = ?", COST_RECOMPUTE_JOB_MAPPER, id)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Marks the oldest queued job, or a running one whose heartbeat is older than
+     * {@code staleAfterMinutes} (its worker died), as running and returns it. Jobs claimed concurrently by
+     * another instance are skipped.
+     */
+    public Optional<CostRecomputeJobRow> claimCostRecomputeJob(int staleAfterMinutes) {
+        return jdbc.query("""
+                UPDATE report_cost_recompute_job j
+                SET status       = 'RUNNING',
+                    heartbeat_at = now()
+                WHERE j.id = (
+                    SELECT id
+                    FROM report_cost_recompute_job
+                    WHERE status = 'QUEUED'
+                       OR (status = 'RUNNING' AND heartbeat_at < now() - make_interval(mins => ?))
+                    ORDER BY created_at
+                    LIMIT 1
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING j.*
+                """, COST_RECOMPUTE_JOB_MAPPER, staleAfterMinutes).stream().findFirst();
+    }
+
+    /** Records the report id range of a job on its first run. */
+    public void startCostRecomputeJob(UUID id, long minId, long maxId, long totalChunks) {
+        jdbc.update("""
+                UPDATE report_cost_recompute_job
+                SET next_report_id = ?,
+                    max_report_id  = ?,
+                    total_chunks   = ?,
+                    heartbeat_at   = now()
+                WHERE id = ?
+                """, minId, maxId, totalChunks, id);
+    }
+
+    /**
+     * Advances a job past a finished chunk; run it in the chunk's transaction so the progress and the
+     * rewritten rows commit together.
+     */
+    public void recordCostRecomputeChunk(UUID id, long nextReportId, CostChunkResult chunk) {
+        jdbc.update("""
+                UPDATE report_cost_recompute_job
+                SET next_report_id   = ?,
+                    processed_chunks = processed_chunks + 1,
+                    updated_rows     = updated_rows + ?,
+                    repository_ids   = ARRAY(SELECT DISTINCT unnest(repository_ids || ?::bigint[])),
+                    heartbeat_at     = now()
+                WHERE id = ?
+                """, nextReportId, chunk.updatedRows(), SqlArrays.bigints(chunk.repositoryIds()), id);
+    }
+
+    public void finishCostRecomputeJob(UUID id, String status, String errorMessage) {
+        jdbc.update("""
+                UPDATE report_cost_recompute_job
+                SET status        = ?,
+                    error_message = ?,
+                    finished_at   = now()
+                WHERE id = ?
+                """, status, errorMessage, id);
+    }
+
+    /** Hands a running job back to the queue, e.g. when its worker shuts down. */
+    public void requeueCostRecomputeJob(UUID id) {
+        jdbc.update("UPDATE report_cost_recompute_job SET status = 'QUEUED' WHERE id = ? AND status = 'RUNNING'", id);
+    }
+
+    /** Drops jobs that finished more than {@code minutes} ago. */
+    public int deleteFinishedCostRecomputeJobs(long minutes) {
+        return jdbc.update("""
+                DELETE FROM report_cost_recompute_job
+                WHERE finished_at < now() - make_interval(mins => ?)
+                """, (int) minutes);
+    }
+
+    /**
+     * Claims up to {@code limit} projects from {@code project_cost_refresh_queue} and recomputes their
+     * {@code reported_cost} once each. Rows still locked by a transaction that is enqueuing them are
+     * skipped and picked up by a later drain. Must run inside a transaction.
+     *
+     * @return ids of the refreshed projects (empty once the queue is drained)
+     */
+    public List<Long> drainProjectCostRefreshQueue(int limit) {
+        List<Long> projectIds = jdbc.queryForList("""
+                DELETE FROM project_cost_refresh_queue
+                WHERE project_id IN (
+                    SELECT project_id
+                    FROM project_cost_refresh_queue
+                    ORDER BY queued_at
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING project_id
+                """, Long.class, limit);
+        refreshProjectReportCosts(projectIds);
+        return projectIds;
+    }
+
+    /**
+     * Recomputes {@code project.reported_cost} once per project (used after bulk report changes that
+     * bypassed the per-row trigger).
+     */
+    public void refreshProjectReportCosts(Collection<Long> projectIds) {
+        if (projectIds == null || projectIds.isEmpty()) {
+            return;
+        }
+        jdbc.query("SELECT refresh_project_report_cost(id) FROM project WHERE id = ANY(?::bigint[])",
+                (RowCallbackHandler) rs -> { }, SqlArrays.bigints(new LinkedHashSet<>(projectIds)));
     }
 }
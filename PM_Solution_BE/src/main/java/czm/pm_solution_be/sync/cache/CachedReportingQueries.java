@@ -0,0 +1,133 @@
+package czm.pm_solution_be.sync.cache;
+
+import czm.pm_solution_be.sync.SyncDao;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cached facade over the heavy {@link SyncDao} reporting aggregations. Results stay valid until a
+ * {@link czm.pm_solution_be.sync.event.ReportingDataChangedEvent} touches one of their tags.
+ */
+@Component
+public class CachedReportingQueries {
+    private final SyncDao dao;
+    private final ReportingCache cache;
+
+    public CachedReportingQueries(SyncDao dao, ReportingCache cache) {
+        this.dao = dao;
+        this.cache = cache;
+    }
+
+    public List<SyncDao.ProjectReportDetailRow> listProjectReportDetail(long projectId,
+                                                                        OffsetDateTime from,
+                                                                        OffsetDateTime to,
+                                                                        String internUsername) {
+        return cache.get("projectReportDetail",
+                Arrays.asList(projectId, from, to, internUsername),
+                Set.of(ReportingCache.projectTag(projectId)),
+                () -> dao.listProjectReportDetail(projectId, from, to, internUsername));
+    }
+
+    public List<SyncDao.ProjectMonthlyReportRow> listProjectMonthlyReport(long projectId,
+                                                                          OffsetDateTime from,
+                                                                          OffsetDateTime to) {
+        return cache.get("projectMonthlyReport",
+                Arrays.asList(projectId, from, to),
+                Set.of(ReportingCache.projectTag(projectId)),
+                () -> dao.listProjectMonthlyReport(projectId, from, to));
+    }
+
+    public List<SyncDao.MilestoneCostSummaryRow> listProjectMilestoneCosts(long projectId) {
+        return cache.get("projectMilestoneCosts",
+                List.of(projectId),
+                Set.of(ReportingCache.projectTag(projectId)),
+                () -> dao.listProjectMilestoneCosts(projectId));
+    }
+
+    public SyncDao.InternPerformanceColumns loadInternPerformance(OffsetDateTime from,
+                                                                  OffsetDateTime to,
+                                                                  String unit,
+                                                                  List<Long> internIds,
+                                                                  List<Long> groupIds) {
+        return cache.getValue("internPerformance",
+                Arrays.asList(from, to, unit, List.copyOf(internIds), List.copyOf(groupIds)),
+                internTags(internIds),
+                () -> dao.loadInternPerformance(from, to, unit, internIds, groupIds));
+    }
+
+    /**
+     * Intern performance of closed periods, one result per period; each is kept until a change touches a day
+     * before its end. Periods missing from the cache are aggregated in one query over their combined range
+     * and split afterwards.
+     */
+    public List<SyncDao.InternPerformanceColumns> loadClosedInternPerformance(List<ReportingCache.Period> periods,
+                                                                              String unit,
+                                                                              List<Long> internIds,
+                                                                              List<Long> groupIds) {
+        return cache.getPeriodValues("internPerformancePeriod",
+                Arrays.asList(unit, List.copyOf(internIds), List.copyOf(groupIds)),
+                internTags(internIds),
+                periods,
+                missing -> {
+                    LocalDate from = missing.get(0).start();
+                    LocalDate to = missing.get(missing.size() - 1).end();
+                    SyncDao.InternPerformanceColumns all =
+                            dao.loadInternPerformance(utcStart(from), utcStart(to), unit, internIds, groupIds);
+                    Map<ReportingCache.Period, SyncDao.InternPerformanceColumns> byPeriod = new HashMap<>();
+                    for (ReportingCache.Period period : missing) {
+                        byPeriod.put(period, all.slice(period.start(), period.end()));
+                    }
+                    return byPeriod;
+                });
+    }
+
+    /**
+     * Monthly hours of all interns, one result per window {@code [start, end)} inside one month. Each window
+     * is kept until a change touches a day before its end; windows missing from the cache are aggregated in
+     * one query over their combined range and split by month afterwards.
+     */
+    public List<List<SyncDao.InternMonthlyHoursRow>> listInternMonthlyHours(List<ReportingCache.Period> months) {
+        return cache.getPeriodValues("internMonthlyHours",
+                List.of(),
+                Set.of(ReportingCache.CROSS_PROJECT_TAG),
+                months,
+                missing -> {
+                    LocalDate from = missing.get(0).start();
+                    LocalDate to = missing.get(missing.size() - 1).end();
+                    Map<YearMonth, List<SyncDao.InternMonthlyHoursRow>> byMonth = new HashMap<>();
+                    for (SyncDao.InternMonthlyHoursRow row : dao.listInternMonthlyHours(utcStart(from), utcStart(to))) {
+                        YearMonth month = YearMonth.of(row.monthStart().getYear(), row.monthStart().getMonthValue());
+                        byMonth.computeIfAbsent(month, key -> new ArrayList<>()).add(row);
+                    }
+                    Map<ReportingCache.Period, List<SyncDao.InternMonthlyHoursRow>> byPeriod = new HashMap<>();
+                    for (ReportingCache.Period period : missing) {
+                        byPeriod.put(period, List.copyOf(byMonth.getOrDefault(YearMonth.from(period.start()), List.of())));
+                    }
+                    return byPeriod;
+                });
+    }
+
+    private static Set<String> internTags(List<Long> internIds) {
+        Set<String> tags = new LinkedHashSet<>();
+        tags.add(ReportingCache.CROSS_PROJECT_TAG);
+        for (Long internId : internIds) {
+            tags.add(ReportingCache.internTag(internId));
+        }
+        return tags;
+    }
+
+    private static OffsetDateTime utcStart(LocalDate day) {
+        return day.atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,239 @@
+package czm.pm_solution_be.sync.cache;
+
+import czm.pm_solution_be.sync.event.ReportingDataChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache for reporting query results.
+ *
+ * <p>Entries are keyed by query name and parameters and carry tags ({@code project:<id>},
+ * {@code intern:<id>} and {@link #CROSS_PROJECT_TAG} for aggregates spanning all projects).
+ * {@link ReportingDataChangedEvent}s evict matching entries after the publishing transaction
+ * commits. A generation counter prevents a load that started before an eviction from storing
+ * its (already stale) result afterwards.</p>
+ *
+ * <p>Results of closed periods additionally remember the period end; events that only touch later
+ * days (see {@link ReportingDataChangedEvent#changedFrom()}) leave them in place.</p>
+ *
+ * <p>The cache is per instance; {@link ReportingChangeBroadcaster} applies changes committed by other
+ * instances to it as well.</p>
+ */
+@Component
+public class ReportingCache {
+    private static final Logger log = LoggerFactory.getLogger(ReportingCache.class);
+    public static final String CROSS_PROJECT_TAG = "cross-project";
+    static final int MAX_ENTRIES = 512;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final Map<Key, CachedValue> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, CachedValue> eldest) {
+            if (size() > MAX_ENTRIES) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    public static String projectTag(long projectId) {
+        return "project:" + projectId;
+    }
+
+    public static String internTag(long internId) {
+        return "intern:" + internId;
+    }
+
+    /**
+     * Returns the cached rows for {@code query}/{@code params} or loads, stores and returns them.
+     */
+    public <T> List<T> get(String query, List<?> params, Set<String> tags, Supplier<List<T>> loader) {
+        return getValue(query, params, tags, () -> List.copyOf(loader.get()));
+    }
+
+    /**
+     * Same as {@link #get} for a single immutable result object (e.g. a columnar aggregate).
+     */
+    public <T> T getValue(String query, List<?> params, Set<String> tags, Supplier<T> loader) {
+        return getValue(query, params, tags, null, loader);
+    }
+
+    /**
+     * Caches the result of a closed period ending (exclusively) at {@code periodEnd}. Such entries survive
+     * events whose {@link ReportingDataChangedEvent#changedFrom()} lies on or after the period end.
+     */
+    public <T> T getValue(String query, List<?> params, Set<String> tags, LocalDate periodEnd, Supplier<T> loader) {
+        Key key = new Key(query, new ArrayList<>(params));
+        synchronized (entries) {
+            CachedValue cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                @SuppressWarnings("unchecked")
+                T value = (T) cached.value();
+                return value;
+            }
+        }
+        misses.increment();
+        long startedAt = generation.get();
+        T loaded = loader.get();
+        synchronized (entries) {
+            if (generation.get() == startedAt) {
+                entries.put(key, new CachedValue(loaded, Set.copyOf(tags), periodEnd));
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Batch form of the closed-period {@link #getValue}: every period is cached under {@code params} plus its
+     * bounds, and all periods missing from the cache are loaded with a single {@code loader} call. The loader
+     * receives the missing periods (ascending as given) and must return a value for each of them.
+     *
+     * @return values in the order of {@code periods}
+     */
+    public <T> List<T> getPeriodValues(String query,
+                                       List<?> params,
+                                       Set<String> tags,
+                                       List<Period> periods,
+                                       Function<List<Period>, Map<Period, T>> loader) {
+        List<Object> values = new ArrayList<>(Collections.nCopies(periods.size(), null));
+        List<Period> missing = new ArrayList<>();
+        synchronized (entries) {
+            for (int i = 0; i < periods.size(); i++) {
+                CachedValue cached = entries.get(periodKey(query, params, periods.get(i)));
+                if (cached != null) {
+                    values.set(i, cached.value());
+                } else {
+                    missing.add(periods.get(i));
+                }
+            }
+        }
+        hits.add(periods.size() - missing.size());
+        if (!missing.isEmpty()) {
+            misses.add(missing.size());
+            long startedAt = generation.get();
+            Map<Period, T> loaded = loader.apply(List.copyOf(missing));
+            Set<String> tagSet = Set.copyOf(tags);
+            synchronized (entries) {
+                boolean current = generation.get() == startedAt;
+                for (int i = 0; i < periods.size(); i++) {
+                    Period period = periods.get(i);
+                    if (values.get(i) != null || !loaded.containsKey(period)) {
+                        continue;
+                    }
+                    T value = loaded.get(period);
+                    values.set(i, value);
+                    if (current) {
+                        entries.put(periodKey(query, params, period), new CachedValue(value, tagSet, period.end()));
+                    }
+                }
+            }
+        }
+        @SuppressWarnings("unchecked")
+        List<T> result = (List<T>) values;
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportingDataChanged(ReportingDataChangedEvent event) {
+        if (event.isEmpty()) {
+            return;
+        }
+        int removed;
+        synchronized (entries) {
+            generation.incrementAndGet();
+            if (event.global() && event.changedFrom() == null) {
+                removed = entries.size();
+                entries.clear();
+            } else {
+                removed = 0;
+                Iterator<CachedValue> it = entries.values().iterator();
+                while (it.hasNext()) {
+                    if (matches(it.next(), event)) {
+                        it.remove();
+                        removed++;
+                    }
+                }
+            }
+        }
+        invalidations.add(removed);
+        log.debug("Reporting cache invalidated {} entries for {}", removed, event);
+    }
+
+    public Stats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        double hitRate = requests == 0 ? 0d : (double) hitCount / requests;
+        return new Stats(size, MAX_ENTRIES, hitCount, missCount, hitRate, evictions.sum(), invalidations.sum());
+    }
+
+    private static boolean matches(CachedValue entry, ReportingDataChangedEvent event) {
+        if (!event.affectsPeriodEndingAt(entry.periodEnd())) {
+            return false;
+        }
+        Set<String> tags = entry.tags();
+        // Any project or intern change can move cross-project aggregates (e.g. intern performance).
+        if (event.global() || tags.contains(CROSS_PROJECT_TAG)) {
+            return true;
+        }
+        for (Long projectId : event.projectIds()) {
+            if (tags.contains(projectTag(projectId))) {
+                return true;
+            }
+        }
+        for (Long internId : event.internIds()) {
+            if (tags.contains(internTag(internId))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public record Stats(int size,
+                        int maxSize,
+                        long hits,
+                        long misses,
+                        double hitRate,
+                        long evictions,
+                        long invalidations) {}
+
+    private static Key periodKey(String query, List<?> params, Period period) {
+        List<Object> keyParams = new ArrayList<>(params.size() + 2);
+        keyParams.add(period.start());
+        keyParams.add(period.end());
+        keyParams.addAll(params);
+        return new Key(query, keyParams);
+    }
+
+    /** Closed period {@code [start, end)}. */
+    public record Period(LocalDate start, LocalDate end) {}
+
+    private record Key(String query, List<?> params) {}
+
+    private record CachedValue(Object value, Set<String> tags, LocalDate periodEnd) {}
+}
@@ -0,0 +1,21 @@
+package czm.pm_solution_be.sync.cache;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/sync/cache")
+public class ReportingCacheController {
+    private final ReportingCache cache;
+
+    public ReportingCacheController(ReportingCache cache) {
+        this.cache = cache;
+    }
+
+    /** Hit/miss counters and current size of the reporting result cache. */
+    @GetMapping("/stats")
+    public ReportingCache.Stats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,98 @@
+package czm.pm_solution_be.sync.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import czm.pm_solution_be.config.PgNotificationListener;
+import czm.pm_solution_be.sync.event.ReportingDataChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Keeps the per-instance {@link ReportingCache} of all backend instances in step. (The ETag versions of
+ * {@link ReportingDataVersions} live in the database and need no propagation.)
+ *
+ * <p>Every committed {@link ReportingDataChangedEvent} of this instance is sent through {@code pg_notify} on
+ * {@value #CHANNEL}; events from other instances are applied to the local cache exactly like local ones.
+ * A scope too large for a notification payload is widened to a global change. After the listener
+ * (re)connects every instance drops its whole cache, because notifications sent while it was disconnected
+ * are lost.</p>
+ */
+@Component
+public class ReportingChangeBroadcaster {
+    private static final Logger log = LoggerFactory.getLogger(ReportingChangeBroadcaster.class);
+    static final String CHANNEL = "reporting_changes";
+    /** PostgreSQL rejects NOTIFY payloads of 8000 bytes and more; keep some headroom. */
+    static final int MAX_PAYLOAD_BYTES = 7_500;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ReportingCache cache;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate notifyTx;
+    private final ObjectMapper objectMapper;
+
+    public ReportingChangeBroadcaster(ReportingCache cache,
+                                      JdbcTemplate jdbc,
+                                      PlatformTransactionManager tm,
+                                      ObjectMapper objectMapper,
+                                      PgNotificationListener notifications) {
+        this.cache = cache;
+        this.jdbc = jdbc;
+        this.notifyTx = new TransactionTemplate(tm);
+        this.notifyTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        notifications.listen(CHANNEL, this::onNotification);
+        notifications.onConnected(() -> cache.onReportingDataChanged(ReportingDataChangedEvent.everything()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportingDataChanged(ReportingDataChangedEvent event) {
+        if (event.isEmpty()) {
+            return;
+        }
+        try {
+            String payload = objectMapper.writeValueAsString(new Message(instanceId, event));
+            if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+                payload = objectMapper.writeValueAsString(
+                        new Message(instanceId, ReportingDataChangedEvent.everything().since(event.changedFrom())));
+            }
+            String notification = payload;
+            // The publishing transaction has already committed; NOTIFY needs a transaction of its own.
+            notifyTx.executeWithoutResult(status -> jdbc.execute("SELECT pg_notify(?, ?)",
+                    (PreparedStatementCallback<Boolean>) ps -> {
+                        ps.setString(1, CHANNEL);
+                        ps.setString(2, notification);
+                        return ps.execute();
+                    }));
+        } catch (JsonProcessingException | RuntimeException ex) {
+            log.warn("Broadcasting reporting change {} failed: {}", event, ex.getMessage());
+        }
+    }
+
+    private void onNotification(String payload) {
+        Message message;
+        try {
+            message = objectMapper.readValue(payload, Message.class);
+        } catch (IOException ex) {
+            log.warn("Ignoring malformed reporting change payload: {}", ex.getMessage());
+            return;
+        }
+        if (instanceId.equals(message.origin()) || message.event() == null) {
+            return;
+        }
+        cache.onReportingDataChanged(message.event());
+    }
+
+    record Message(String origin, ReportingDataChangedEvent event) {
+    }
+}
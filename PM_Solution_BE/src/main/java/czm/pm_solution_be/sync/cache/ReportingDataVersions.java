@@ -0,0 +1,82 @@
+package czm.pm_solution_be.sync.cache;
+
+import czm.pm_solution_be.config.SqlArrays;
+import czm.pm_solution_be.sync.event.ReportingDataChangedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Data versions used as HTTP ETags for reporting endpoints.
+ *
+ * <p>The versions are stored in the database ({@code reporting_data_version} and {@code project.data_version}),
+ * so every backend instance serves the same tag and tags stay valid across restarts. Every
+ * {@link ReportingDataChangedEvent} bumps the cross-project version; project-scoped events additionally bump
+ * the affected project versions and global events bump the global version that is part of every project tag.
+ * The bump runs right before the changing transaction commits, so a new version never becomes visible before
+ * the data it stands for. Tags also carry the current UTC date, because several responses depend on "today"
+ * (rolling periods, issue age). Checking a tag costs one primary-key lookup.</p>
+ */
+@Component
+public class ReportingDataVersions {
+    private static final String SQL_PROJECT_VERSION = """
+            SELECT v.global_version, COALESCE(p.data_version, 0) AS project_version
+            FROM reporting_data_version v
+            LEFT JOIN project p ON p.id = ?
+            WHERE v.id = 1
+            """;
+
+    private static final String SQL_CROSS_PROJECT_VERSION =
+            "SELECT cross_project_version FROM reporting_data_version WHERE id = 1";
+
+    private static final String SQL_BUMP = """
+            WITH projects AS (
+                UPDATE project
+                SET data_version = data_version + 1
+                WHERE id = ANY(?::bigint[])
+            )
+            UPDATE reporting_data_version
+            SET cross_project_version = cross_project_version + 1,
+                global_version        = global_version + CASE WHEN ? THEN 1 ELSE 0 END
+            WHERE id = 1
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    public ReportingDataVersions(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /** ETag for responses that depend only on the given project's data. */
+    public String projectEtag(long projectId) {
+        List<String> versions = jdbc.query(SQL_PROJECT_VERSION,
+                (rs, rowNum) -> rs.getLong("global_version") + "." + rs.getLong("project_version"),
+                projectId);
+        return "\"" + today() + "-" + (versions.isEmpty() ? "0.0" : versions.get(0)) + "\"";
+    }
+
+    /** ETag for responses that aggregate across all projects or interns. */
+    public String crossProjectEtag() {
+        List<Long> versions = jdbc.queryForList(SQL_CROSS_PROJECT_VERSION, Long.class);
+        return "\"" + today() + "-x" + (versions.isEmpty() ? 0L : versions.get(0)) + "\"";
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onReportingDataChanged(ReportingDataChangedEvent event) {
+        if (event.isEmpty()) {
+            return;
+        }
+        List<Long> projectIds = event.global() ? List.of() : List.copyOf(new TreeSet<>(event.projectIds()));
+        jdbc.update(SQL_BUMP, SqlArrays.bigints(projectIds), event.global());
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+}
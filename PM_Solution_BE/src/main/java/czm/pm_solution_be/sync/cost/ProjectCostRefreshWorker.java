@@ -0,0 +1,96 @@
+package czm.pm_solution_be.sync.cost;
+
+import czm.pm_solution_be.sync.SyncDao;
+import czm.pm_solution_be.sync.event.ReportingDataChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains {@code project_cost_refresh_queue}: the intern/repository assignment triggers only mark a
+ * project as dirty and this worker recomputes each dirty project's {@code reported_cost} once.
+ *
+ * <p>The queue is polled every {@value #POLL_INTERVAL_SECONDS} seconds; callers that just changed
+ * assignments call {@link #requestDrainAfterCommit()} so the cost is fresh right after their commit.</p>
+ */
+@Component
+public class ProjectCostRefreshWorker implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(ProjectCostRefreshWorker.class);
+    static final int POLL_INTERVAL_SECONDS = 5;
+    static final int BATCH_SIZE = 50;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+    private final SyncDao dao;
+    private final TransactionTemplate txTemplate;
+    private final ApplicationEventPublisher events;
+
+    public ProjectCostRefreshWorker(SyncDao dao, PlatformTransactionManager tm, ApplicationEventPublisher events) {
+        this.dao = dao;
+        this.txTemplate = new TransactionTemplate(tm);
+        this.events = events;
+        executor.scheduleWithFixedDelay(this::drainSafely, POLL_INTERVAL_SECONDS, POLL_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Schedules an immediate drain once the current transaction commits (right away without one).
+     */
+    public void requestDrainAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            requestDrain();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                requestDrain();
+            }
+        });
+    }
+
+    private void requestDrain() {
+        // Coalesce bursts of requests into a single extra run.
+        if (drainRequested.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                drainRequested.set(false);
+                drainSafely();
+            });
+        }
+    }
+
+    private void drainSafely() {
+        try {
+            while (true) {
+                List<Long> refreshed = txTemplate.execute(status -> dao.drainProjectCostRefreshQueue(BATCH_SIZE));
+                if (refreshed == null || refreshed.isEmpty()) {
+                    return;
+                }
+                log.debug("Refreshed reported cost of {} queued projects", refreshed.size());
+                events.publishEvent(ReportingDataChangedEvent.forProjects(refreshed));
+                if (refreshed.size() < BATCH_SIZE) {
+                    return;
+                }
+            }
+        } catch (Exception ex) {
+            // Rows of a failed batch are rolled back into the queue and retried on the next poll.
+            log.error("Project cost refresh queue drain failed", ex);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,79 @@
+package czm.pm_solution_be.sync.cost;
+
+import czm.pm_solution_be.web.ApiException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Starts background report cost recomputes (e.g. after a level rate change) and reports their progress.
+ */
+@RestController
+@RequestMapping("/api/sync/costs")
+public class ReportCostRecomputeController {
+    private final ReportCostRecomputeService service;
+
+    public ReportCostRecomputeController(ReportCostRecomputeService service) {
+        this.service = service;
+    }
+
+    public record RecomputeRequest(String scope, Long id, LocalDate from, LocalDate to) {}
+
+    public record JobStatusResponse(String jobId,
+                                    String status,
+                                    String scope,
+                                    long targetId,
+                                    LocalDate from,
+                                    LocalDate to,
+                                    long totalChunks,
+                                    long processedChunks,
+                                    long updatedRows,
+                                    String errorMessage) {}
+
+    @PostMapping("/recompute")
+    public ResponseEntity<JobStatusResponse> recompute(@RequestBody RecomputeRequest request) {
+        if (request == null || request.scope() == null || request.id() == null) {
+            throw ApiException.validation("Parametry \"scope\" a \"id\" jsou povinné.", "cost_scope_required");
+        }
+        if (request.from() != null && request.to() != null && request.to().isBefore(request.from())) {
+            throw ApiException.validation("Datum \"Do\" nesmí být dříve než datum \"Od\".", "interval_invalid");
+        }
+        ReportCostScope scope = switch (request.scope().trim().toLowerCase(Locale.ROOT)) {
+            case "intern" -> ReportCostScope.intern(request.id(), request.from(), request.to());
+            case "level" -> ReportCostScope.level(request.id());
+            case "project" -> ReportCostScope.project(request.id());
+            default -> throw ApiException.validation("Parametr scope musí být intern, level nebo project.", "cost_scope_invalid");
+        };
+        return ResponseEntity.accepted().body(toResponse(service.submit(scope)));
+    }
+
+    @GetMapping("/jobs/{id}")
+    public JobStatusResponse getJob(@PathVariable String id) {
+        ReportCostRecomputeService.Job job = service.getJob(id);
+        if (job == null) {
+            throw ApiException.notFound("Úloha přepočtu nákladů nebyla nalezena.", "cost_job");
+        }
+        return toResponse(job);
+    }
+
+    private static JobStatusResponse toResponse(ReportCostRecomputeService.Job job) {
+        return new JobStatusResponse(
+                job.id(),
+                job.status(),
+                job.scope().kind().name().toLowerCase(Locale.ROOT),
+                job.scope().targetId(),
+                job.scope().from(),
+                job.scope().to(),
+                job.totalChunks(),
+                job.processedChunks(),
+                job.updatedRows(),
+                job.errorMessage());
+    }
+}
@@ -0,0 +1,204 @@
+package czm.pm_solution_be.sync.cost;
+
+import czm.pm_solution_be.sync.SyncDao;
+import czm.pm_solution_be.sync.event.ReportingDataChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background engine that rewrites {@code report.cost}/{@code hourly_rate_czk} after rate changes.
+ *
+ * <p>Jobs are queued in {@code report_cost_recompute_job} within the transaction of the rate change, so a
+ * restart cannot lose them, and drained one at a time by a dedicated thread (polling every
+ * {@value #POLL_INTERVAL_SECONDS} seconds and right after each submit commits). Each job walks the report id
+ * range of its {@link ReportCostScope} in chunks of {@value #CHUNK_SIZE} ids, every chunk in its own short
+ * transaction with the per-row project cost trigger suppressed, so neither the admin request nor concurrent
+ * report syncs wait for a long lock. The job's progress commits with each chunk; a job interrupted by a
+ * shutdown is queued again and one whose worker died is claimed again after
+ * {@value #STALE_JOB_MINUTES} minutes, both resuming at the next chunk. Project costs and the reporting
+ * caches are refreshed once when the job finishes. Finished jobs stay queryable for
+ * {@value #FINISHED_JOB_TTL_MINUTES} minutes.</p>
+ */
+@Service
+public class ReportCostRecomputeService implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(ReportCostRecomputeService.class);
+    static final int CHUNK_SIZE = 5_000;
+    static final long FINISHED_JOB_TTL_MINUTES = 60;
+    static final int POLL_INTERVAL_SECONDS = 10;
+    static final int STALE_JOB_MINUTES = 10;
+
+    /**
+     * Snapshot of a job.
+     *
+     * @param status QUEUED | RUNNING | DONE | ERROR
+     */
+    public record Job(String id,
+                      ReportCostScope scope,
+                      String status,
+                      long totalChunks,
+                      long processedChunks,
+                      long updatedRows,
+                      String errorMessage) {
+
+        static Job of(SyncDao.CostRecomputeJobRow row) {
+            return new Job(row.id().toString(), row.scope(), row.status(), row.totalChunks(), row.processedChunks(),
+                    row.updatedRows(), row.errorMessage());
+        }
+    }
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+    private final SyncDao dao;
+    private final TransactionTemplate txTemplate;
+    private final ApplicationEventPublisher events;
+
+    public ReportCostRecomputeService(SyncDao dao, PlatformTransactionManager tm, ApplicationEventPublisher events) {
+        this.dao = dao;
+        this.txTemplate = new TransactionTemplate(tm);
+        this.events = events;
+        executor.scheduleWithFixedDelay(this::drainSafely, POLL_INTERVAL_SECONDS, POLL_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Queues a recompute of {@code scope} and returns its job immediately. Inside a transaction the job
+     * commits (and starts) together with it, so the job reads the committed rates and is never lost once
+     * they are committed.
+     */
+    public Job submit(ReportCostScope scope) {
+        UUID id = UUID.randomUUID();
+        dao.insertCostRecomputeJob(id, scope);
+        requestDrainAfterCommit();
+        log.info("Queued report cost recompute job={} scope={}", id, scope);
+        return new Job(id.toString(), scope, "QUEUED", 0, 0, 0, null);
+    }
+
+    public Job getJob(String id) {
+        UUID jobId;
+        try {
+            jobId = UUID.fromString(id);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        return dao.findCostRecomputeJob(jobId).map(Job::of).orElse(null);
+    }
+
+    private void requestDrainAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            requestDrain();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                requestDrain();
+            }
+        });
+    }
+
+    private void requestDrain() {
+        // Coalesce bursts of submits into a single extra run.
+        if (drainRequested.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                drainRequested.set(false);
+                drainSafely();
+            });
+        }
+    }
+
+    private void drainSafely() {
+        try {
+            dao.deleteFinishedCostRecomputeJobs(FINISHED_JOB_TTL_MINUTES);
+            while (!Thread.currentThread().isInterrupted()) {
+                Optional<SyncDao.CostRecomputeJobRow> job = dao.claimCostRecomputeJob(STALE_JOB_MINUTES);
+                if (job.isEmpty()) {
+                    return;
+                }
+                run(job.get());
+            }
+        } catch (Exception ex) {
+            // Claimed jobs stay RUNNING and are taken over once their heartbeat is stale.
+            log.error("Report cost recompute queue drain failed", ex);
+        }
+    }
+
+    private void run(SyncDao.CostRecomputeJobRow job) {
+        try {
+            Long next = job.nextReportId();
+            Long max = job.maxReportId();
+            if (next == null || max == null) {
+                Optional<SyncDao.ReportIdRange> range = dao.findReportIdRange(job.scope());
+                if (range.isEmpty()) {
+                    dao.finishCostRecomputeJob(job.id(), "DONE", null);
+                    return;
+                }
+                next = range.get().minId();
+                max = range.get().maxId();
+                dao.startCostRecomputeJob(job.id(), next, max, (max - next) / CHUNK_SIZE + 1);
+            }
+            for (long start = next; start <= max; start += CHUNK_SIZE) {
+                if (Thread.currentThread().isInterrupted()) {
+                    dao.requeueCostRecomputeJob(job.id());
+                    log.info("Report cost recompute job={} interrupted, queued again", job.id());
+                    return;
+                }
+                long chunkStart = start;
+                txTemplate.executeWithoutResult(status -> {
+                    SyncDao.CostChunkResult chunk =
+                            dao.recomputeReportCostChunk(job.scope(), chunkStart, chunkStart + CHUNK_SIZE);
+                    dao.recordCostRecomputeChunk(job.id(), chunkStart + CHUNK_SIZE, chunk);
+                });
+            }
+            SyncDao.CostRecomputeJobRow finished = dao.findCostRecomputeJob(job.id()).orElseThrow();
+            if (!finished.repositoryIds().isEmpty()) {
+                List<Long> projectIds = dao.listProjectIdsForRepositories(finished.repositoryIds());
+                try {
+                    txTemplate.executeWithoutResult(status -> dao.refreshProjectReportCosts(projectIds));
+                } finally {
+                    // The chunks are committed already, so caches must drop them even if the cost refresh fails.
+                    events.publishEvent(changeEvent(job.scope(), projectIds));
+                }
+            }
+            dao.finishCostRecomputeJob(job.id(), "DONE", null);
+            log.info("Report cost recompute job={} scope={} updated {} rows in {} chunks",
+                    job.id(), job.scope(), finished.updatedRows(), finished.processedChunks());
+        } catch (Exception ex) {
+            log.error("Report cost recompute job={} scope={} failed", job.id(), job.scope(), ex);
+            dao.finishCostRecomputeJob(job.id(), "ERROR", ex.getMessage());
+        }
+    }
+
+    /**
+     * Scope of the rewritten reports: their projects plus, for an intern scope, the intern. Reports in
+     * repositories without a linked project still feed cross-project aggregates (intern hours and
+     * performance), so an otherwise empty scope widens to a global change.
+     */
+    static ReportingDataChangedEvent changeEvent(ReportCostScope scope, Collection<Long> projectIds) {
+        Set<Long> internIds = scope.kind() == ReportCostScope.Kind.INTERN ? Set.of(scope.targetId()) : Set.of();
+        ReportingDataChangedEvent event = new ReportingDataChangedEvent(new LinkedHashSet<>(projectIds), internIds,
+                false, scope.from());
+        return event.isEmpty() ? ReportingDataChangedEvent.everything().since(scope.from()) : event;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,43 @@
+package czm.pm_solution_be.sync.cost;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Set of reports whose {@code cost}/{@code hourly_rate_czk} must be recomputed after a rate change.
+ *
+ * @param kind     what the scope is keyed by
+ * @param targetId intern, level or project id depending on {@code kind}
+ * @param from     first affected day (inclusive), {@code null} for no lower bound
+ * @param to       last affected day (inclusive), {@code null} for no upper bound
+ */
+public record ReportCostScope(Kind kind, long targetId, LocalDate from, LocalDate to) {
+
+    public enum Kind {
+        /** Reports of one intern, optionally limited to a date range. */
+        INTERN,
+        /** Reports booked while an intern held the level (level rate changed). */
+        LEVEL,
+        /** Reports in repositories linked to the project (project rate changed). */
+        PROJECT
+    }
+
+    public ReportCostScope {
+        Objects.requireNonNull(kind, "kind");
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("Scope end must not precede its start");
+        }
+    }
+
+    public static ReportCostScope intern(long internId, LocalDate from, LocalDate to) {
+        return new ReportCostScope(Kind.INTERN, internId, from, to);
+    }
+
+    public static ReportCostScope level(long levelId) {
+        return new ReportCostScope(Kind.LEVEL, levelId, null, null);
+    }
+
+    public static ReportCostScope project(long projectId) {
+        return new ReportCostScope(Kind.PROJECT, projectId, null, null);
+    }
+}
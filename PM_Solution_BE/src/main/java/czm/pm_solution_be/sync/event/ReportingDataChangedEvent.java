@@ -0,0 +1,60 @@
+package czm.pm_solution_be.sync.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Published whenever data feeding the reporting endpoints (reports, issues, milestones, interns or
+ * project settings) changes. Listeners use the scope to drop only what is affected.
+ *
+ * @param projectIds  projects whose reporting data changed; ignored when {@code global} is set
+ * @param internIds   interns whose reporting data changed; ignored when {@code global} is set
+ * @param global      {@code true} when the change can affect any project or intern
+ * @param changedFrom earliest UTC day whose data changed, or {@code null} when any period may be affected
+ */
+public record ReportingDataChangedEvent(Set<Long> projectIds, Set<Long> internIds, boolean global, LocalDate changedFrom) {
+
+    public ReportingDataChangedEvent {
+        projectIds = projectIds == null ? Set.of() : Set.copyOf(projectIds);
+        internIds = internIds == null ? Set.of() : Set.copyOf(internIds);
+    }
+
+    public static ReportingDataChangedEvent forProject(long projectId) {
+        return new ReportingDataChangedEvent(Set.of(projectId), Set.of(), false, null);
+    }
+
+    public static ReportingDataChangedEvent forProjects(Collection<Long> projectIds) {
+        return new ReportingDataChangedEvent(new LinkedHashSet<>(projectIds), Set.of(), false, null);
+    }
+
+    public static ReportingDataChangedEvent forIntern(long internId) {
+        return new ReportingDataChangedEvent(Set.of(), Set.of(internId), false, null);
+    }
+
+    public static ReportingDataChangedEvent everything() {
+        return new ReportingDataChangedEvent(Set.of(), Set.of(), true, null);
+    }
+
+    /**
+     * Narrows the event to data on or after {@code day}; period-bound cache entries ending before it survive.
+     */
+    public ReportingDataChangedEvent since(LocalDate day) {
+        return new ReportingDataChangedEvent(projectIds, internIds, global, day);
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return !global && projectIds.isEmpty() && internIds.isEmpty();
+    }
+
+    /**
+     * Whether the change can affect data of a period ending (exclusively) at {@code periodEnd}.
+     */
+    public boolean affectsPeriodEndingAt(LocalDate periodEnd) {
+        return changedFrom == null || periodEnd == null || periodEnd.isAfter(changedFrom);
+    }
+}
@@ -0,0 +1,76 @@
+package czm.pm_solution_be.sync.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Turns a streaming DAO source into a downloadable CSV/NDJSON response.
+ *
+ * <p>The source runs inside a read-only transaction so PostgreSQL keeps autocommit off and the
+ * driver honours the cursor fetch size; each row is written as soon as it is mapped, so memory
+ * use does not depend on the size of the export.</p>
+ */
+@Service
+public class ReportExportService {
+    private static final Logger log = LoggerFactory.getLogger(ReportExportService.class);
+    private static final MediaType GZIP = new MediaType("application", "gzip");
+
+    private final TransactionTemplate readOnlyTx;
+    private final ObjectMapper objectMapper;
+
+    public ReportExportService(PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param baseName file name without extension
+     * @param columns  header names (CSV) or JSON keys (NDJSON)
+     * @param toValues maps a row to values in {@code columns} order
+     * @param source   pushes rows to the given consumer, typically a {@code SyncDao.stream*} call
+     */
+    public <T> ResponseEntity<StreamingResponseBody> export(String baseName,
+                                                            ExportFormat format,
+                                                            boolean gzip,
+                                                            List<String> columns,
+                                                            Function<? super T, List<?>> toValues,
+                                                            Consumer<Consumer<T>> source) {
+        String fileName = baseName + "." + format.extension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> {
+            long started = System.currentTimeMillis();
+            OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+            TabularExportWriter writer = new TabularExportWriter(target, format, columns, objectMapper);
+            long[] rows = {0};
+            writer.writeHeader();
+            readOnlyTx.executeWithoutResult(status -> source.accept(row -> {
+                writer.writeRow(toValues.apply(row));
+                rows[0]++;
+            }));
+            writer.flush();
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+            log.info("Export {} finished: {} rows in {} ms", fileName, rows[0], System.currentTimeMillis() - started);
+        };
+        return ResponseEntity.ok()
+                .contentType(gzip ? GZIP : format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,97 @@
+package czm.pm_solution_be.sync.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes rows one by one as CSV (RFC 4180, UTF-8 with BOM so spreadsheets detect the encoding)
+ * or as newline-delimited JSON. Nothing is buffered beyond the writer's fixed-size buffer.
+ */
+final class TabularExportWriter {
+    private static final char UTF8_BOM = '\uFEFF';
+
+    private final Writer writer;
+    private final ExportFormat format;
+    private final List<String> columns;
+    private final ObjectMapper objectMapper;
+
+    TabularExportWriter(OutputStream out, ExportFormat format, List<String> columns, ObjectMapper objectMapper) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        this.format = format;
+        this.columns = List.copyOf(columns);
+        this.objectMapper = objectMapper;
+    }
+
+    void writeHeader() {
+        if (format != ExportFormat.CSV) {
+            return;
+        }
+        try {
+            writer.write(UTF8_BOM);
+            writeCsvLine(columns);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    void writeRow(List<?> values) {
+        if (values.size() != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " values, got " + values.size());
+        }
+        try {
+            if (format == ExportFormat.CSV) {
+                writeCsvLine(values);
+            } else {
+                Map<String, Object> record = new LinkedHashMap<>();
+                for (int i = 0; i < columns.size(); i++) {
+                    record.put(columns.get(i), values.get(i));
+                }
+                writer.write(objectMapper.writeValueAsString(record));
+                writer.write('\n');
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeCsvLine(List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(values.get(i));
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeCsvValue(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
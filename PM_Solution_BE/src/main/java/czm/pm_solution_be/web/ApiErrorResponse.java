@@ -1,5 +1,9 @@
 package czm.pm_solution_be.web;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
 public class ApiErrorResponse {
     public ErrorBody error;
 
@@ -9,6 +13,10 @@ public class ApiErrorResponse {
         public String details;
         public int httpStatus;
         public String requestId;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        public Object current;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        public List<ApiException.Violation> violations;
     }
 
     public static ApiErrorResponse of(String code, String message, String details, int httpStatus, String requestId) {
@@ -21,5 +29,12 @@ public class ApiErrorResponse {
         r.error.requestId = requestId;
         return r;
     }
+
+    public static ApiErrorResponse of(ApiException ex, String requestId) {
+        ApiErrorResponse r = of(ex.getCode(), ex.getMessage(), ex.getDetails(), ex.getStatus().value(), requestId);
+        r.error.current = ex.getCurrent();
+        r.error.violations = ex.getViolations();
+        return r;
+    }
 }
 
@@ -2,16 +2,27 @@ package czm.pm_solution_be.web;
 
 import org.springframework.http.HttpStatus;
 
+import java.util.List;
+
 public class ApiException extends RuntimeException {
     private final String code;
     private final HttpStatus status;
     private final String details;
+    private final Object current;
+    private final List<Violation> violations;
 
     private ApiException(String code, String message, String details, HttpStatus status) {
+        this(code, message, details, status, null, null);
+    }
+
+    private ApiException(String code, String message, String details, HttpStatus status, Object current,
+            List<Violation> violations) {
         super(message);
         this.code = code;
         this.status = status;
         this.details = details;
+        this.current = current;
+        this.violations = violations;
     }
 
     public static ApiException validation(String message) {
@@ -22,6 +33,13 @@ public class ApiException extends RuntimeException {
         return new ApiException("VALIDATION", message, details, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Validation error of a whole batch; {@code violations} lists every invalid entry, not only the first.
+     */
+    public static ApiException validation(String message, String details, List<Violation> violations) {
+        return new ApiException("VALIDATION", message, details, HttpStatus.BAD_REQUEST, null, List.copyOf(violations));
+    }
+
     public static ApiException conflict(String message) {
         return new ApiException("CONFLICT", message, null, HttpStatus.CONFLICT);
     }
@@ -30,6 +48,21 @@ public class ApiException extends RuntimeException {
         return new ApiException("CONFLICT", message, details, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Conflict carrying the current state of the resource, e.g. after a failed optimistic version check,
+     * so the client can merge without another request.
+     */
+    public static ApiException conflict(String message, String details, Object current) {
+        return new ApiException("CONFLICT", message, details, HttpStatus.CONFLICT, current, null);
+    }
+
+    /**
+     * HTTP 428: a conditional request header (e.g. {@code If-Match}) is required but missing.
+     */
+    public static ApiException preconditionRequired(String message, String details) {
+        return new ApiException("PRECONDITION_REQUIRED", message, details, HttpStatus.PRECONDITION_REQUIRED);
+    }
+
     public static ApiException notFound(String message) {
         return new ApiException("NOT_FOUND", message, null, HttpStatus.NOT_FOUND);
     }
@@ -57,4 +90,21 @@ public class ApiException extends RuntimeException {
     public String getDetails() {
         return details;
     }
+
+    public Object getCurrent() {
+        return current;
+    }
+
+    public List<Violation> getViolations() {
+        return violations;
+    }
+
+    /**
+     * One invalid entry of a batch request.
+     *
+     * @param target  which entry is invalid, e.g. {@code create[2]}
+     * @param details machine-readable code, as in {@link #getDetails()}
+     */
+    public record Violation(String target, String message, String details) {
+    }
 }
@@ -22,12 +22,7 @@ public class GlobalExceptionHandler {
         if (ex.getStatus().is5xxServerError()) {
             log.error("API internal error", ex);
         }
-        ApiErrorResponse body = ApiErrorResponse.of(
-                ex.getCode(),
-                ex.getMessage(),
-                ex.getDetails(),
-                ex.getStatus().value(),
-                null);
+        ApiErrorResponse body = ApiErrorResponse.of(ex, null);
         return ResponseEntity.status(ex.getStatus()).body(body);
     }
 
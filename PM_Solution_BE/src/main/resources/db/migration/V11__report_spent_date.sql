@@ -0,0 +1,46 @@
+-- Store the UTC calendar day of every report so date-window filters and level/budget
+-- window joins can use plain btree range scans instead of casting spent_at per row.
+ALTER TABLE "public"."report"
+    ADD COLUMN IF NOT EXISTS "spent_date" date GENERATED ALWAYS AS ((("spent_at" AT TIME ZONE 'UTC'))::date) STORED;
+
+CREATE INDEX IF NOT EXISTS "idx_report_repository_spent_date" ON "public"."report" USING "btree" ("repository_id", "spent_date");
+CREATE INDEX IF NOT EXISTS "idx_report_username_spent_date" ON "public"."report" USING "btree" ("username", "spent_date");
+CREATE INDEX IF NOT EXISTS "idx_intern_level_history_window" ON "public"."intern_level_history" USING "btree" ("intern_id", "valid_from");
+
+CREATE OR REPLACE FUNCTION "public"."compute_project_report_cost"("p_project_id" bigint) RETURNS numeric
+    LANGUAGE "plpgsql"
+    AS $$
+DECLARE
+total NUMERIC(14, 2);
+BEGIN
+SELECT COALESCE(SUM(
+                        CASE
+                            WHEN ip.project_id IS NULL OR ip.include_in_reported_cost THEN
+                                COALESCE(r.time_spent_hours * COALESCE(p.hourly_rate_czk, r.hourly_rate_czk), 0)
+                            WHEN lvl.code = 'employee' THEN
+                                0
+                            ELSE
+                                COALESCE(r.time_spent_hours * COALESCE(p.hourly_rate_czk, r.hourly_rate_czk), 0)
+                            END), 0)
+INTO total
+FROM project p
+         JOIN projects_to_repositorie ptr ON ptr.project_id = p.id
+         JOIN report r ON r.repository_id = ptr.repository_id
+             AND (p.budget_from IS NULL OR r.spent_date >= p.budget_from)
+             AND (p.budget_to IS NULL OR r.spent_date <= p.budget_to)
+         LEFT JOIN intern i ON i.username = r.username
+         LEFT JOIN intern_project ip ON ip.intern_id = i.id AND ip.project_id = p.id
+         LEFT JOIN intern_level_history ilh ON ilh.intern_id = i.id
+    AND ilh.valid_from <= r.spent_date
+        AND (ilh.valid_to IS NULL OR ilh.valid_to >= r.spent_date)
+    LEFT JOIN level lvl ON lvl.id = ilh.level_id
+WHERE p.id = p_project_id;
+IF total IS NULL THEN
+        total := 0;
+END IF;
+RETURN ROUND(total, 2);
+END;
+$$;
+
+-- Recompute once so cached totals follow the UTC day boundaries used by spent_date.
+UPDATE "public"."project" SET "reported_cost" = compute_project_report_cost("id");
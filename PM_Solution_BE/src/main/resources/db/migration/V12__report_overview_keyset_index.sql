@@ -0,0 +1,2 @@
+-- Supports keyset pagination of the report overview on (spent_at, id); btree is scanned backwards for DESC order.
+CREATE INDEX IF NOT EXISTS "idx_report_spent_at_id" ON "public"."report" USING "btree" ("spent_at", "id");
@@ -0,0 +1,15 @@
+-- Dashboard counters for the project list; maintained by the application when team
+-- assignments, repository links or issues change (see SyncDao#refreshOpenIssueCounts).
+ALTER TABLE "public"."project"
+    ADD COLUMN IF NOT EXISTS "team_members" integer DEFAULT 0 NOT NULL,
+    ADD COLUMN IF NOT EXISTS "open_issues" integer DEFAULT 0 NOT NULL;
+
+UPDATE "public"."project" p
+SET "team_members" = (SELECT COUNT(DISTINCT ip."intern_id")
+                      FROM "public"."intern_project" ip
+                      WHERE ip."project_id" = p."id"),
+    "open_issues" = (SELECT COUNT(DISTINCT iss."id")
+                     FROM "public"."projects_to_repositorie" ptr
+                     JOIN "public"."issue" iss ON iss."repository_id" = ptr."repository_id"
+                     WHERE ptr."project_id" = p."id"
+                       AND iss."state" = 'opened');
@@ -0,0 +1,72 @@
+-- Per-repository summary of the linked projects so report listings and the sync do not have to
+-- aggregate projects_to_repositorie x project on every request. Rows exist only for linked
+-- repositories and are kept current by triggers on projects_to_repositorie and project.
+CREATE TABLE IF NOT EXISTS "public"."repository_project_attributes" (
+    "repository_id" bigint NOT NULL,
+    "project_count" integer NOT NULL,
+    "is_external" boolean NOT NULL,
+    "external_hourly_rate_czk" numeric(12, 2),
+    CONSTRAINT "repository_project_attributes_pkey" PRIMARY KEY ("repository_id"),
+    CONSTRAINT "repository_project_attributes_repository_id_fkey" FOREIGN KEY ("repository_id")
+        REFERENCES "public"."repository"("id") ON DELETE CASCADE
+);
+
+CREATE OR REPLACE FUNCTION "public"."refresh_repository_project_attributes"("p_repository_id" bigint) RETURNS void
+    LANGUAGE "plpgsql"
+    AS $$
+BEGIN
+    DELETE FROM repository_project_attributes WHERE repository_id = p_repository_id;
+    INSERT INTO repository_project_attributes (repository_id, project_count, is_external, external_hourly_rate_czk)
+    SELECT ptr.repository_id,
+           COUNT(*),
+           BOOL_OR(p.is_external),
+           MAX(p.hourly_rate_czk) FILTER (WHERE p.is_external)
+    FROM projects_to_repositorie ptr
+    JOIN project p ON p.id = ptr.project_id
+    WHERE ptr.repository_id = p_repository_id
+    GROUP BY ptr.repository_id;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION "public"."trg_repository_attributes_link_refresh"() RETURNS "trigger"
+    LANGUAGE "plpgsql"
+    AS $$
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM refresh_repository_project_attributes(NEW.repository_id);
+    END IF;
+    IF TG_OP = 'DELETE' OR (TG_OP = 'UPDATE' AND NEW.repository_id IS DISTINCT FROM OLD.repository_id) THEN
+        PERFORM refresh_repository_project_attributes(OLD.repository_id);
+    END IF;
+    IF TG_OP = 'DELETE' THEN
+        RETURN OLD;
+    END IF;
+    RETURN NEW;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION "public"."trg_repository_attributes_project_refresh"() RETURNS "trigger"
+    LANGUAGE "plpgsql"
+    AS $$
+DECLARE
+    repo_id bigint;
+BEGIN
+    FOR repo_id IN SELECT repository_id FROM projects_to_repositorie WHERE project_id = NEW.id LOOP
+        PERFORM refresh_repository_project_attributes(repo_id);
+    END LOOP;
+    RETURN NEW;
+END;
+$$;
+
+CREATE OR REPLACE TRIGGER "repository_attributes_link_refresh" AFTER INSERT OR DELETE OR UPDATE ON "public"."projects_to_repositorie" FOR EACH ROW EXECUTE FUNCTION "public"."trg_repository_attributes_link_refresh"();
+CREATE OR REPLACE TRIGGER "repository_attributes_project_refresh" AFTER UPDATE OF "is_external", "hourly_rate_czk" ON "public"."project" FOR EACH ROW EXECUTE FUNCTION "public"."trg_repository_attributes_project_refresh"();
+
+INSERT INTO "public"."repository_project_attributes" ("repository_id", "project_count", "is_external", "external_hourly_rate_czk")
+SELECT ptr."repository_id",
+       COUNT(*),
+       BOOL_OR(p."is_external"),
+       MAX(p."hourly_rate_czk") FILTER (WHERE p."is_external")
+FROM "public"."projects_to_repositorie" ptr
+JOIN "public"."project" p ON p."id" = ptr."project_id"
+GROUP BY ptr."repository_id"
+ON CONFLICT ("repository_id") DO NOTHING;
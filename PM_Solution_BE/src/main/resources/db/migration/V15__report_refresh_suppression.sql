@@ -0,0 +1,43 @@
+-- Bulk maintenance (chunked cost recompute, purges) updates many report rows at once and refreshes
+-- the affected project costs itself afterwards. Such transactions run
+-- SET LOCAL pm.skip_report_refresh = 'on' so the per-row trigger does not recompute a project
+-- for every single row.
+CREATE OR REPLACE FUNCTION "public"."trg_report_refresh"() RETURNS "trigger"
+    LANGUAGE "plpgsql"
+    AS $$
+DECLARE
+loop_project_id BIGINT;
+BEGIN
+    IF current_setting('pm.skip_report_refresh', true) = 'on' THEN
+        IF TG_OP = 'DELETE' THEN
+            RETURN OLD;
+        END IF;
+        RETURN NEW;
+    END IF;
+    IF (TG_OP = 'INSERT' OR TG_OP = 'UPDATE') AND NEW.repository_id IS NOT NULL THEN
+        FOR loop_project_id IN
+SELECT DISTINCT ptr.project_id
+FROM projects_to_repositorie ptr
+WHERE ptr.repository_id = NEW.repository_id
+    LOOP
+            PERFORM refresh_project_report_cost(loop_project_id);
+END LOOP;
+END IF;
+    IF (TG_OP = 'UPDATE' AND (NEW.repository_id IS DISTINCT FROM OLD.repository_id))
+       OR TG_OP = 'DELETE' THEN
+        IF OLD.repository_id IS NOT NULL THEN
+            FOR loop_project_id IN
+SELECT DISTINCT ptr.project_id
+FROM projects_to_repositorie ptr
+WHERE ptr.repository_id = OLD.repository_id
+    LOOP
+                PERFORM refresh_project_report_cost(loop_project_id);
+END LOOP;
+END IF;
+END IF;
+    IF TG_OP = 'DELETE' THEN
+        RETURN OLD;
+END IF;
+RETURN NEW;
+END;
+$$;
@@ -0,0 +1,60 @@
+-- Assignment edits (intern_project, projects_to_repositorie) used to run a full
+-- compute_project_report_cost for every changed row inside the request. The row triggers now only
+-- mark the project as dirty; a background worker drains the queue and recomputes every dirty
+-- project once. A queued project means its reported_cost is still pending.
+CREATE TABLE IF NOT EXISTS "public"."project_cost_refresh_queue" (
+    "project_id" bigint NOT NULL,
+    "queued_at" timestamp with time zone DEFAULT "now"() NOT NULL,
+    CONSTRAINT "project_cost_refresh_queue_pkey" PRIMARY KEY ("project_id")
+);
+ALTER TABLE "public"."project_cost_refresh_queue" OWNER TO "postgres";
+
+-- DO UPDATE (not DO NOTHING) so the enqueuing transaction holds the row lock until it commits and
+-- the worker, which claims rows with SKIP LOCKED, cannot recompute before the change is visible.
+CREATE OR REPLACE FUNCTION "public"."enqueue_project_cost_refresh"("p_project_id" bigint) RETURNS "void"
+    LANGUAGE "plpgsql"
+    AS $$
+BEGIN
+    IF p_project_id IS NULL THEN
+        RETURN;
+    END IF;
+    INSERT INTO project_cost_refresh_queue (project_id)
+    VALUES (p_project_id)
+    ON CONFLICT (project_id) DO UPDATE SET queued_at = now();
+END;
+$$;
+ALTER FUNCTION "public"."enqueue_project_cost_refresh"("p_project_id" bigint) OWNER TO "postgres";
+
+CREATE OR REPLACE FUNCTION "public"."trg_intern_project_refresh"() RETURNS "trigger"
+    LANGUAGE "plpgsql"
+    AS $$
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM enqueue_project_cost_refresh(NEW.project_id);
+    END IF;
+    IF TG_OP = 'DELETE' OR (TG_OP = 'UPDATE' AND NEW.project_id IS DISTINCT FROM OLD.project_id) THEN
+        PERFORM enqueue_project_cost_refresh(OLD.project_id);
+    END IF;
+    IF TG_OP = 'DELETE' THEN
+        RETURN OLD;
+    END IF;
+    RETURN NEW;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION "public"."trg_project_repository_refresh"() RETURNS "trigger"
+    LANGUAGE "plpgsql"
+    AS $$
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM enqueue_project_cost_refresh(NEW.project_id);
+    END IF;
+    IF TG_OP = 'DELETE' OR (TG_OP = 'UPDATE' AND NEW.project_id IS DISTINCT FROM OLD.project_id) THEN
+        PERFORM enqueue_project_cost_refresh(OLD.project_id);
+    END IF;
+    IF TG_OP = 'DELETE' THEN
+        RETURN OLD;
+    END IF;
+    RETURN NEW;
+END;
+$$;
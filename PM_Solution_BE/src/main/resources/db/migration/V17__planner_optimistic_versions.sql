@@ -0,0 +1,7 @@
+-- Optimistic concurrency for the weekly planner. Every write bumps "version"; updates from clients
+-- carry the version they last saw (If-Match) and only apply when it still matches.
+ALTER TABLE "public"."weekly_task"
+    ADD COLUMN IF NOT EXISTS "version" bigint DEFAULT 0 NOT NULL;
+
+ALTER TABLE "public"."project_week"
+    ADD COLUMN IF NOT EXISTS "version" bigint DEFAULT 0 NOT NULL;
@@ -0,0 +1,21 @@
+-- Current capacity report per project, maintained by ProjectCapacityRepository.insertReport in the same
+-- transaction as the report. Dashboards join this one row per project instead of picking the newest
+-- report out of the whole project_capacity_report history on every load.
+CREATE TABLE IF NOT EXISTS "public"."project_capacity_current" (
+    "project_id" bigint NOT NULL,
+    "report_id" bigint NOT NULL,
+    "reported_at" timestamp with time zone NOT NULL,
+    CONSTRAINT "project_capacity_current_pkey" PRIMARY KEY ("project_id"),
+    CONSTRAINT "project_capacity_current_project_id_fkey" FOREIGN KEY ("project_id")
+        REFERENCES "public"."project"("id") ON DELETE CASCADE,
+    CONSTRAINT "project_capacity_current_report_id_fkey" FOREIGN KEY ("report_id")
+        REFERENCES "public"."project_capacity_report"("id") ON DELETE CASCADE
+);
+ALTER TABLE "public"."project_capacity_current" OWNER TO "postgres";
+COMMENT ON TABLE "public"."project_capacity_current" IS 'Newest capacity report of each project (by reported_at, then id).';
+
+INSERT INTO "public"."project_capacity_current" ("project_id", "report_id", "reported_at")
+SELECT DISTINCT ON (r.project_id) r.project_id, r.id, r.reported_at
+FROM "public"."project_capacity_report" r
+ORDER BY r.project_id, r.reported_at DESC, r.id DESC
+ON CONFLICT ("project_id") DO NOTHING;
@@ -0,0 +1,44 @@
+-- refresh_repository_project_attributes used to DELETE and re-INSERT the repository's row, so two
+-- concurrent link edits of one repository could both insert and fail on the primary key. The row is now
+-- upserted and only deleted once the repository has no linked project left. Refreshes of one repository
+-- are serialised by a FOR NO KEY UPDATE lock on its row (it does not conflict with the FOR KEY SHARE
+-- locks taken by foreign key checks), so each refresh aggregates the links committed before it.
+CREATE OR REPLACE FUNCTION "public"."refresh_repository_project_attributes"("p_repository_id" bigint) RETURNS void
+    LANGUAGE "plpgsql"
+    AS $$
+BEGIN
+    PERFORM 1 FROM repository WHERE id = p_repository_id FOR NO KEY UPDATE;
+
+    INSERT INTO repository_project_attributes (repository_id, project_count, is_external, external_hourly_rate_czk)
+    SELECT ptr.repository_id,
+           COUNT(*),
+           BOOL_OR(p.is_external),
+           MAX(p.hourly_rate_czk) FILTER (WHERE p.is_external)
+    FROM projects_to_repositorie ptr
+    JOIN project p ON p.id = ptr.project_id
+    WHERE ptr.repository_id = p_repository_id
+    GROUP BY ptr.repository_id
+    ON CONFLICT (repository_id) DO UPDATE
+    SET project_count = EXCLUDED.project_count,
+        is_external = EXCLUDED.is_external,
+        external_hourly_rate_czk = EXCLUDED.external_hourly_rate_czk;
+
+    IF NOT FOUND THEN
+        DELETE FROM repository_project_attributes WHERE repository_id = p_repository_id;
+    END IF;
+END;
+$$;
+
+-- Lock the repositories of a project in a fixed order so two concurrent project updates cannot deadlock.
+CREATE OR REPLACE FUNCTION "public"."trg_repository_attributes_project_refresh"() RETURNS "trigger"
+    LANGUAGE "plpgsql"
+    AS $$
+DECLARE
+    repo_id bigint;
+BEGIN
+    FOR repo_id IN SELECT repository_id FROM projects_to_repositorie WHERE project_id = NEW.id ORDER BY repository_id LOOP
+        PERFORM refresh_repository_project_attributes(repo_id);
+    END LOOP;
+    RETURN NEW;
+END;
+$$;
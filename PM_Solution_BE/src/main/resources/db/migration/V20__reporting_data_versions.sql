@@ -0,0 +1,16 @@
+-- Data versions behind the ETags of the reporting endpoints. They live in the database so every backend
+-- instance serves the same tag and the counters survive restarts. ReportingDataVersions bumps them in
+-- the transaction of the change, right before it commits.
+ALTER TABLE "public"."project"
+    ADD COLUMN IF NOT EXISTS "data_version" bigint DEFAULT 0 NOT NULL;
+
+CREATE TABLE IF NOT EXISTS "public"."reporting_data_version" (
+    "id" smallint DEFAULT 1 NOT NULL,
+    "global_version" bigint DEFAULT 0 NOT NULL,
+    "cross_project_version" bigint DEFAULT 0 NOT NULL,
+    CONSTRAINT "reporting_data_version_pkey" PRIMARY KEY ("id"),
+    CONSTRAINT "reporting_data_version_single_row" CHECK ("id" = 1)
+);
+ALTER TABLE "public"."reporting_data_version" OWNER TO "postgres";
+
+INSERT INTO "public"."reporting_data_version" ("id") VALUES (1) ON CONFLICT ("id") DO NOTHING;
@@ -0,0 +1,55 @@
+-- project.open_issues was recounted by the GitLab issue sync only, so planner status changes and week
+-- closes left it stale until the next sync. Statement-level triggers on issue now apply the change of
+-- every writer as a delta to the projects linked to the issue's repository. Repository link changes
+-- still recount in SyncDao#replaceProjectRepositories.
+CREATE OR REPLACE FUNCTION "public"."trg_issue_open_count"() RETURNS "trigger"
+    LANGUAGE "plpgsql"
+    AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE project p
+        SET open_issues = p.open_issues + d.change
+        FROM (SELECT ptr.project_id, COUNT(*) AS change
+              FROM new_issues n
+              JOIN projects_to_repositorie ptr ON ptr.repository_id = n.repository_id
+              WHERE n.state = 'opened'
+              GROUP BY ptr.project_id) d
+        WHERE p.id = d.project_id;
+    ELSIF TG_OP = 'DELETE' THEN
+        UPDATE project p
+        SET open_issues = GREATEST(p.open_issues - d.change, 0)
+        FROM (SELECT ptr.project_id, COUNT(*) AS change
+              FROM old_issues o
+              JOIN projects_to_repositorie ptr ON ptr.repository_id = o.repository_id
+              WHERE o.state = 'opened'
+              GROUP BY ptr.project_id) d
+        WHERE p.id = d.project_id;
+    ELSE
+        -- Rows whose state and repository did not change cancel out.
+        UPDATE project p
+        SET open_issues = GREATEST(p.open_issues + d.change, 0)
+        FROM (SELECT ptr.project_id, SUM(c.change) AS change
+              FROM (SELECT n.repository_id, 1 AS change FROM new_issues n WHERE n.state = 'opened'
+                    UNION ALL
+                    SELECT o.repository_id, -1 AS change FROM old_issues o WHERE o.state = 'opened') c
+              JOIN projects_to_repositorie ptr ON ptr.repository_id = c.repository_id
+              GROUP BY ptr.project_id
+              HAVING SUM(c.change) <> 0) d
+        WHERE p.id = d.project_id;
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+-- Transition tables allow neither several events nor a column list per trigger, hence three triggers.
+CREATE OR REPLACE TRIGGER "issue_open_count_insert" AFTER INSERT ON "public"."issue" REFERENCING NEW TABLE AS "new_issues" FOR EACH STATEMENT EXECUTE FUNCTION "public"."trg_issue_open_count"();
+CREATE OR REPLACE TRIGGER "issue_open_count_update" AFTER UPDATE ON "public"."issue" REFERENCING OLD TABLE AS "old_issues" NEW TABLE AS "new_issues" FOR EACH STATEMENT EXECUTE FUNCTION "public"."trg_issue_open_count"();
+CREATE OR REPLACE TRIGGER "issue_open_count_delete" AFTER DELETE ON "public"."issue" REFERENCING OLD TABLE AS "old_issues" FOR EACH STATEMENT EXECUTE FUNCTION "public"."trg_issue_open_count"();
+
+-- Start from an exact count; planner writes since V13 may have left it off.
+UPDATE "public"."project" p
+SET "open_issues" = (SELECT COUNT(DISTINCT iss."id")
+                     FROM "public"."projects_to_repositorie" ptr
+                     JOIN "public"."issue" iss ON iss."repository_id" = ptr."repository_id"
+                     WHERE ptr."project_id" = p."id"
+                       AND iss."state" = 'opened');
@@ -0,0 +1,32 @@
+-- Background report cost recomputes (ReportCostRecomputeService) used to live in memory only, so a restart
+-- after a committed rate change lost the job and report.cost stayed wrong. Jobs are now queued in the
+-- transaction of the rate change and drained from this table. next_report_id records the progress (it is
+-- advanced in the transaction of every chunk) and repository_ids the repositories whose project costs
+-- are refreshed when the job finishes, so a job resumes where it stopped. A RUNNING job whose heartbeat
+-- is stale belongs to a worker that died and is claimed again.
+CREATE TABLE IF NOT EXISTS "public"."report_cost_recompute_job" (
+    "id" uuid NOT NULL,
+    "kind" text NOT NULL,
+    "target_id" bigint NOT NULL,
+    "date_from" date,
+    "date_to" date,
+    "status" text DEFAULT 'QUEUED' NOT NULL,
+    "next_report_id" bigint,
+    "max_report_id" bigint,
+    "total_chunks" bigint DEFAULT 0 NOT NULL,
+    "processed_chunks" bigint DEFAULT 0 NOT NULL,
+    "updated_rows" bigint DEFAULT 0 NOT NULL,
+    "repository_ids" bigint[] DEFAULT '{}' NOT NULL,
+    "error_message" text,
+    "created_at" timestamp with time zone DEFAULT "now"() NOT NULL,
+    "heartbeat_at" timestamp with time zone,
+    "finished_at" timestamp with time zone,
+    CONSTRAINT "report_cost_recompute_job_pkey" PRIMARY KEY ("id"),
+    CONSTRAINT "report_cost_recompute_job_kind_check" CHECK ("kind" IN ('INTERN', 'LEVEL', 'PROJECT')),
+    CONSTRAINT "report_cost_recompute_job_status_check" CHECK ("status" IN ('QUEUED', 'RUNNING', 'DONE', 'ERROR'))
+);
+ALTER TABLE "public"."report_cost_recompute_job" OWNER TO "postgres";
+
+CREATE INDEX IF NOT EXISTS "idx_report_cost_recompute_job_pending"
+    ON "public"."report_cost_recompute_job" USING "btree" ("created_at")
+    WHERE "status" IN ('QUEUED', 'RUNNING');
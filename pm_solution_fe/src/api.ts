@@ -36,6 +36,10 @@ export type ErrorBody = {
   details?: string;
   httpStatus: number;
   requestId?: string;
+  /** Current state of the resource on a version conflict (HTTP 409). */
+  current?: unknown;
+  /** Every invalid entry of a batch request. */
+  violations?: { target: string; message: string; details: string | null }[];
 };
 
 export type ErrorResponse = { error: ErrorBody };
@@ -70,6 +74,12 @@ export type SyncReportOverviewRowDTO = {
   projectIsExternal: boolean | null;
 };
 
+export type SyncReportOverviewPageDTO = {
+  items: SyncReportOverviewRowDTO[];
+  nextCursor: string | null;
+  limit: number;
+};
+
 export type ProjectDTO = {
   id: number;
   namespaceId: number | null;
@@ -561,6 +571,7 @@ export type WeeklyPlannerTaskDTO = {
   deadline: string | null;
   createdAt: string;
   updatedAt: string;
+  version?: number;
   carriedOverFromWeekStart?: string | null;
   carriedOverFromWeekId?: number | null;
 };
@@ -580,6 +591,8 @@ export type WeeklyPlannerTask = {
   deadline: string | null;
   createdAt: string;
   updatedAt: string;
+  /** Optimistic concurrency version; the planner mutations send it back as If-Match. */
+  version?: number;
   carriedOverFromWeekStart: string | null;
   carriedOverFromWeekId: number | null;
 };
@@ -592,6 +605,7 @@ export type WeeklyPlannerWeekDTO = {
   weekEnd: string;
   createdAt: string;
   updatedAt: string;
+  version?: number;
   closedAt?: string | null;
   isClosed?: boolean;
   tasks: WeeklyPlannerTaskDTO[];
@@ -605,6 +619,7 @@ export type WeeklyPlannerWeek = {
   weekEnd: string;
   createdAt: string;
   updatedAt: string;
+  version?: number;
   closedAt: string | null;
   isClosed: boolean;
   tasks: WeeklyPlannerTask[];
@@ -685,6 +700,58 @@ export type WeeklyPlannerWeekCollection = {
   metadata: WeeklyPlannerMetadata;
 };
 
+export type WeeklyPlannerWeekSummaryDTO = {
+  id: number;
+  projectId: number;
+  sprintId?: number | null;
+  weekStart: string;
+  weekEnd: string;
+  createdAt: string;
+  updatedAt: string;
+  version?: number;
+  taskCount: number;
+  plannedHours: number | string | null;
+  openTaskCount: number;
+  closedTaskCount: number;
+};
+
+export type WeeklyPlannerWeekSummary = {
+  id: number;
+  projectId: number;
+  sprintId: number | null;
+  weekStart: string;
+  weekEnd: string;
+  createdAt: string;
+  updatedAt: string;
+  version?: number;
+  taskCount: number;
+  plannedHours: number;
+  openTaskCount: number;
+  closedTaskCount: number;
+};
+
+export type WeeklyPlannerWeekSummaryCollectionDTO = {
+  weeks: WeeklyPlannerWeekSummaryDTO[];
+  metadata: WeeklyPlannerMetadataDTO;
+};
+
+export type WeeklyPlannerWeekSummaryCollection = {
+  weeks: WeeklyPlannerWeekSummary[];
+  metadata: WeeklyPlannerMetadata;
+};
+
+export type WeeklyPlannerTaskPageDTO = {
+  items: WeeklyPlannerTaskDTO[];
+  nextAfter: number | null;
+  limit: number;
+};
+
+export type WeeklyPlannerTaskPage = {
+  items: WeeklyPlannerTask[];
+  nextAfter: number | null;
+  limit: number;
+};
+
 export type WeeklyPlannerWeekGenerationPayload = {
   from: string;
   to: string;
@@ -1037,6 +1104,7 @@ function mapWeeklyPlannerTask(dto: WeeklyPlannerTaskDTO): WeeklyPlannerTask {
     deadline: dto.deadline ?? null,
     createdAt: dto.createdAt,
     updatedAt: dto.updatedAt,
+    version: dto.version,
     carriedOverFromWeekStart: dto.carriedOverFromWeekStart ?? null,
     carriedOverFromWeekId: dto.carriedOverFromWeekId ?? null,
   };
@@ -1053,6 +1121,7 @@ function mapWeeklyPlannerWeek(dto: WeeklyPlannerWeekDTO): WeeklyPlannerWeek {
     weekEnd: dto.weekEnd,
     createdAt: dto.createdAt,
     updatedAt: dto.updatedAt,
+    version: dto.version,
     closedAt,
     isClosed: explicitClosed ?? (closedAt !== null),
     tasks: (dto.tasks ?? []).map(mapWeeklyPlannerTask),
@@ -1197,6 +1266,31 @@ function mapWeeklyPlannerWeekCollection(dto: WeeklyPlannerWeekCollectionDTO): We
   };
 }
 
+function mapWeeklyPlannerWeekSummaryCollection(
+  dto: WeeklyPlannerWeekSummaryCollectionDTO,
+): WeeklyPlannerWeekSummaryCollection {
+  return {
+    weeks: (dto.weeks ?? []).map(week => {
+      const plannedHours = parseNumber(week.plannedHours);
+      return {
+        id: week.id,
+        projectId: week.projectId,
+        sprintId: typeof week.sprintId === 'number' && Number.isFinite(week.sprintId) ? week.sprintId : null,
+        weekStart: week.weekStart,
+        weekEnd: week.weekEnd,
+        createdAt: week.createdAt,
+        updatedAt: week.updatedAt,
+        version: week.version,
+        taskCount: week.taskCount,
+        plannedHours: Number.isNaN(plannedHours) ? 0 : plannedHours,
+        openTaskCount: week.openTaskCount,
+        closedTaskCount: week.closedTaskCount,
+      };
+    }),
+    metadata: mapWeeklyPlannerMetadata(dto.metadata),
+  };
+}
+
 function mapWeeklyPlannerWeekWithMetadata(dto: WeeklyPlannerWeekWithMetadataDTO): WeeklyPlannerWeekWithMetadata {
   return {
     week: mapWeeklyPlannerWeek(dto.week),
@@ -1286,6 +1380,33 @@ async function parseJson<T>(res: Response): Promise<T> {
   }
 }
 
+/**
+ * If-Match header carrying the version the client last saw. Mutating planner endpoints require it and answer
+ * 409 with the current state when someone else changed the record in the meantime.
+ */
+function ifMatchHeader(version: number | null | undefined): Record<string, string> {
+  return typeof version === 'number' ? { 'If-Match': `"${version}"` } : {};
+}
+
+/** Current task state from a 409 version conflict of a planner task mutation, or null for other errors. */
+export function getConflictingWeeklyTask(error: unknown): WeeklyPlannerTask | null {
+  const body = (error as ErrorResponse | null | undefined)?.error;
+  if (!body || body.httpStatus !== 409 || body.details !== 'weekly_task_version_conflict') {
+    return null;
+  }
+  const current = body.current;
+  if (!current || typeof current !== 'object' || Array.isArray(current)) {
+    return null;
+  }
+  return mapWeeklyPlannerTask(current as WeeklyPlannerTaskDTO);
+}
+
+/** True when a planner week mutation failed because the week was changed by someone else. */
+export function isWeekVersionConflict(error: unknown): boolean {
+  const body = (error as ErrorResponse | null | undefined)?.error;
+  return !!body && body.httpStatus === 409 && body.details === 'project_week_version_conflict';
+}
+
 async function fetchJson<T>(input: RequestInfo | URL, init?: RequestInit): Promise<T> {
   const res = await fetch(input, init);
   const data = await parseJson<T | ErrorResponse>(res);
@@ -1402,11 +1523,14 @@ export async function deleteAllReports(): Promise<DeleteReportsResult> {
   return deleteReports();
 }
 
-export async function getSyncReportOverview(params?: {
+/** One keyset page of the report overview; pass the returned nextCursor as `cursor` until it is null. */
+export async function getSyncReportOverviewPage(params?: {
   from?: string;
   to?: string;
   untrackedOnly?: boolean;
-}): Promise<SyncReportOverviewRowDTO[]> {
+  cursor?: string | null;
+  limit?: number;
+}): Promise<SyncReportOverviewPageDTO> {
   const searchParams = new URLSearchParams();
   if (params?.from) {
     searchParams.set("from", params.from);
@@ -1417,10 +1541,16 @@ export async function getSyncReportOverview(params?: {
   if (params?.untrackedOnly) {
     searchParams.set("untracked_only", "true");
   }
+  if (params?.cursor) {
+    searchParams.set("cursor", params.cursor);
+  }
+  if (typeof params?.limit === "number" && Number.isFinite(params.limit)) {
+    searchParams.set("limit", String(params.limit));
+  }
   const query = searchParams.toString();
-  const res = await fetch(`${API_BASE}/api/sync/reports/overview${query ? `?${query}` : ""}`);
+  const res = await fetch(`${API_BASE}/api/sync/reports/overview/page${query ? `?${query}` : ""}`);
   if (!res.ok) throw await parseJson<ErrorResponse>(res);
-  return parseJson<SyncReportOverviewRowDTO[]>(res);
+  return parseJson<SyncReportOverviewPageDTO>(res);
 }
 
 
@@ -1544,10 +1674,11 @@ export async function updateWeeklyPlannerSettings(
   return mapWeeklyPlannerSettings(data);
 }
 
-export async function listProjectWeeklyPlannerWeeks(
+/** Week overview with per-week counters only; tasks are loaded per week via listProjectWeeklyPlannerWeekTasks. */
+export async function listProjectWeeklyPlannerWeekSummaries(
   projectId: number,
   params?: { limit?: number; offset?: number; sprintId?: number },
-): Promise<WeeklyPlannerWeekCollection> {
+): Promise<WeeklyPlannerWeekSummaryCollection> {
   const searchParams = new URLSearchParams();
   if (typeof params?.limit === 'number' && Number.isFinite(params.limit)) {
     searchParams.set('limit', String(params.limit));
@@ -1560,11 +1691,193 @@ export async function listProjectWeeklyPlannerWeeks(
   }
   const query = searchParams.toString();
   const res = await fetch(
-    `${API_BASE}/api/projects/${projectId}/weekly-planner/weeks${query ? `?${query}` : ''}`,
+    `${API_BASE}/api/projects/${projectId}/weekly-planner/weeks/summaries${query ? `?${query}` : ''}`,
   );
   if (!res.ok) throw await parseJson<ErrorResponse>(res);
-  const data = await parseJson<WeeklyPlannerWeekCollectionDTO>(res);
-  return mapWeeklyPlannerWeekCollection(data);
+  const data = await parseJson<WeeklyPlannerWeekSummaryCollectionDTO>(res);
+  return mapWeeklyPlannerWeekSummaryCollection(data);
+}
+
+/** One keyset page of a week's tasks; pass the returned nextAfter as `after` until it is null. */
+export async function listProjectWeeklyPlannerWeekTasks(
+  projectId: number,
+  projectWeekId: number,
+  params?: { after?: number | null; limit?: number },
+): Promise<WeeklyPlannerTaskPage> {
+  const searchParams = new URLSearchParams();
+  if (typeof params?.after === 'number' && Number.isFinite(params.after)) {
+    searchParams.set('after', String(params.after));
+  }
+  if (typeof params?.limit === 'number' && Number.isFinite(params.limit)) {
+    searchParams.set('limit', String(params.limit));
+  }
+  const query = searchParams.toString();
+  const res = await fetch(
+    `${API_BASE}/api/projects/${projectId}/weekly-planner/weeks/${projectWeekId}/tasks${query ? `?${query}` : ''}`,
+  );
+  if (!res.ok) throw await parseJson<ErrorResponse>(res);
+  const data = await parseJson<WeeklyPlannerTaskPageDTO>(res);
+  return {
+    items: (data.items ?? []).map(mapWeeklyPlannerTask),
+    nextAfter: typeof data.nextAfter === 'number' ? data.nextAfter : null,
+    limit: data.limit,
+  };
+}
+
+export type WeeklyPlannerChangeType =
+  | 'TASKS_CREATED'
+  | 'TASKS_UPDATED'
+  | 'TASKS_MOVED'
+  | 'TASK_STATUS_CHANGED'
+  | 'TASKS_DELETED'
+  | 'TASKS_CARRIED_OVER'
+  | 'WEEK_CLOSED'
+  | 'WEEKS_CHANGED'
+  | 'BULK_CHANGED';
+
+export type WeeklyPlannerChange = {
+  type: WeeklyPlannerChangeType;
+  projectId: number;
+  weekId: number | null;
+  tasks: WeeklyPlannerTask[];
+  deletedTaskIds: number[];
+  /** The task list did not fit into the notification; reload the affected week(s). */
+  truncated: boolean;
+};
+
+/**
+ * Subscribes to planner deltas of a project (also those made by other users / backend instances).
+ * Returns a function that closes the stream.
+ */
+export function subscribeWeeklyPlannerChanges(
+  projectId: number,
+  onChange: (change: WeeklyPlannerChange) => void,
+): () => void {
+  const source = new EventSource(`${API_BASE}/api/projects/${projectId}/weekly-planner/changes`);
+  source.addEventListener('planner-change', event => {
+    const dto = JSON.parse((event as MessageEvent<string>).data) as {
+      type: WeeklyPlannerChangeType;
+      projectId: number;
+      weekId?: number | null;
+      tasks?: WeeklyPlannerTaskDTO[];
+      deletedTaskIds?: number[];
+      truncated?: boolean;
+    };
+    onChange({
+      type: dto.type,
+      projectId: dto.projectId,
+      weekId: typeof dto.weekId === 'number' ? dto.weekId : null,
+      tasks: (dto.tasks ?? []).map(mapWeeklyPlannerTask),
+      deletedTaskIds: dto.deletedTaskIds ?? [],
+      truncated: dto.truncated === true,
+    });
+  });
+  return () => source.close();
+}
+
+export type WeeklyPlanUnplannedReason =
+  | 'intern_missing'
+  | 'planned_hours_missing'
+  | 'workload_missing'
+  | 'no_weeks'
+  | 'no_capacity';
+
+export type WeeklyPlanAssignment = {
+  task: WeeklyPlannerTask;
+  weekId: number;
+  weekStart: string;
+  weekEnd: string;
+  /** No week up to the task deadline had room; the task lands after it. */
+  late: boolean;
+};
+
+export type WeeklyPlanInternWeekCapacity = {
+  internId: number;
+  internName: string | null;
+  weekId: number;
+  weekStart: string;
+  workloadHours: number | null;
+  plannedHours: number;
+  availableHours: number;
+  proposedHours: number;
+};
+
+export type WeeklyPlanProposal = {
+  assignments: WeeklyPlanAssignment[];
+  unplanned: { task: WeeklyPlannerTask; reason: WeeklyPlanUnplannedReason }[];
+  capacity: WeeklyPlanInternWeekCapacity[];
+  metadata: WeeklyPlannerMetadata | null;
+};
+
+type WeeklyPlanProposalDTO = {
+  assignments?: { task: WeeklyPlannerTaskDTO; weekId: number; weekStart: string; weekEnd: string; late?: boolean }[];
+  unplanned?: { task: WeeklyPlannerTaskDTO; reason: WeeklyPlanUnplannedReason }[];
+  capacity?: {
+    internId: number;
+    internName?: string | null;
+    weekId: number;
+    weekStart: string;
+    workloadHours?: number | string | null;
+    plannedHours: number | string;
+    availableHours: number | string;
+    proposedHours: number | string;
+  }[];
+  metadata?: WeeklyPlannerMetadataDTO | null;
+};
+
+/** Capacity-aware week proposal for the backlog of the active sprint; nothing is saved. */
+export async function getWeeklyPlanProposal(projectId: number): Promise<WeeklyPlanProposal> {
+  const res = await fetch(`${API_BASE}/api/projects/${projectId}/weekly-planner/plan/proposal`);
+  if (!res.ok) throw await parseJson<ErrorResponse>(res);
+  const data = await parseJson<WeeklyPlanProposalDTO>(res);
+  return {
+    assignments: (data.assignments ?? []).map(item => ({
+      task: mapWeeklyPlannerTask(item.task),
+      weekId: item.weekId,
+      weekStart: item.weekStart,
+      weekEnd: item.weekEnd,
+      late: item.late === true,
+    })),
+    unplanned: (data.unplanned ?? []).map(item => ({ task: mapWeeklyPlannerTask(item.task), reason: item.reason })),
+    capacity: (data.capacity ?? []).map(item => {
+      const workload = parseNumber(item.workloadHours);
+      return {
+        internId: item.internId,
+        internName: item.internName ?? null,
+        weekId: item.weekId,
+        weekStart: item.weekStart,
+        workloadHours: Number.isNaN(workload) ? null : workload,
+        plannedHours: parseNumber(item.plannedHours),
+        availableHours: parseNumber(item.availableHours),
+        proposedHours: parseNumber(item.proposedHours),
+      };
+    }),
+    metadata: data.metadata ? mapWeeklyPlannerMetadata(data.metadata) : null,
+  };
+}
+
+/**
+ * Accepts a proposal in one transaction. Fails with a CONFLICT error (current tasks in `error.current`)
+ * when any of the tasks changed since the proposal was generated.
+ */
+export async function applyWeeklyPlanProposal(
+  projectId: number,
+  assignments: WeeklyPlanAssignment[],
+): Promise<WeeklyPlannerTask[]> {
+  const res = await fetch(`${API_BASE}/api/projects/${projectId}/weekly-planner/plan/apply`, {
+    method: 'POST',
+    headers: { 'content-type': 'application/json' },
+    body: JSON.stringify({
+      assignments: assignments.map(item => ({
+        taskId: item.task.id,
+        version: item.task.version ?? null,
+        weekId: item.weekId,
+      })),
+    }),
+  });
+  if (!res.ok) throw await parseJson<ErrorResponse>(res);
+  const data = await parseJson<{ moved?: WeeklyPlannerTaskDTO[] }>(res);
+  return (data.moved ?? []).map(mapWeeklyPlannerTask);
 }
 
 export async function generateProjectWeeklyPlannerWeeks(
@@ -1592,9 +1905,14 @@ export async function getProjectWeeklyPlannerWeek(
   return mapWeeklyPlannerWeekWithMetadata(data);
 }
 
-export async function deleteProjectWeeklyPlannerWeek(projectId: number, projectWeekId: number): Promise<void> {
+export async function deleteProjectWeeklyPlannerWeek(
+  projectId: number,
+  projectWeekId: number,
+  version: number | undefined,
+): Promise<void> {
   const res = await fetch(`${API_BASE}/api/projects/${projectId}/weekly-planner/weeks/${projectWeekId}`, {
     method: "DELETE",
+    headers: ifMatchHeader(version),
   });
   if (!res.ok) throw await parseJson<ErrorResponse>(res);
 }
@@ -1612,18 +1930,25 @@ export async function getProjectWeekSummary(
 export async function closeProjectWeek(
   projectId: number,
   projectWeekId: number,
+  version: number | undefined,
 ): Promise<WeeklyPlannerWeekWithMetadata> {
   const res = await fetch(`${API_BASE}/api/projects/${projectId}/weekly-planner/weeks/${projectWeekId}/close`, {
     method: "POST",
+    headers: ifMatchHeader(version),
   });
   if (!res.ok) throw await parseJson<ErrorResponse>(res);
   const data = await parseJson<WeeklyPlannerWeekWithMetadataDTO>(res);
   return mapWeeklyPlannerWeekWithMetadata(data);
 }
 
-export async function getSprintSummary(projectId: number, sprintId: number): Promise<SprintSummary> {
+export async function getSprintSummary(
+  projectId: number,
+  sprintId: number,
+  options?: { includeTasks?: boolean },
+): Promise<SprintSummary> {
+  const query = options?.includeTasks ? '?includeTasks=true' : '';
   const data = await fetchJson<SprintSummaryDTO>(
-    `${API_BASE}/api/projects/${projectId}/sprints/${sprintId}/summary`,
+    `${API_BASE}/api/projects/${projectId}/sprints/${sprintId}/summary${query}`,
   );
   return mapSprintSummary(data);
 }
@@ -1669,22 +1994,29 @@ export async function updateWeeklyTask(
   projectWeekId: number,
   taskId: number,
   payload: WeeklyTaskPayload,
+  version: number | undefined,
 ): Promise<WeeklyPlannerTask> {
   const body = normaliseWeeklyTaskPayload(payload);
   const data = await fetchJson<WeeklyPlannerTaskDTO>(
     `${API_BASE}/api/projects/${projectId}/weekly-planner/weeks/${projectWeekId}/tasks/${taskId}`,
     {
       method: "PUT",
-      headers: { "content-type": "application/json" },
+      headers: { "content-type": "application/json", ...ifMatchHeader(version) },
       body: JSON.stringify(body),
     },
   );
   return mapWeeklyPlannerTask(data);
 }
 
-export async function deleteWeeklyTask(projectId: number, projectWeekId: number, taskId: number): Promise<void> {
+export async function deleteWeeklyTask(
+  projectId: number,
+  projectWeekId: number,
+  taskId: number,
+  version: number | undefined,
+): Promise<void> {
   await fetchJson<void>(`${API_BASE}/api/projects/${projectId}/weekly-planner/weeks/${projectWeekId}/tasks/${taskId}`, {
     method: "DELETE",
+    headers: ifMatchHeader(version),
   });
 }
 
@@ -1693,12 +2025,13 @@ export async function changeWeeklyTaskStatus(
   projectWeekId: number,
   taskId: number,
   status: string,
+  version: number | undefined,
 ): Promise<WeeklyPlannerTask> {
   const data = await fetchJson<WeeklyPlannerTaskDTO>(
     `${API_BASE}/api/projects/${projectId}/weekly-planner/weeks/${projectWeekId}/tasks/${taskId}/status`,
     {
       method: "POST",
-      headers: { "content-type": "application/json" },
+      headers: { "content-type": "application/json", ...ifMatchHeader(version) },
       body: JSON.stringify({ status }),
     },
   );
@@ -1709,12 +2042,13 @@ export async function updateWeeklyTaskWeek(
   projectId: number,
   taskId: number,
   weekId: number | null,
+  version: number | undefined,
 ): Promise<WeeklyPlannerTask> {
   const data = await fetchJson<WeeklyPlannerTaskDTO>(
     `${API_BASE}/api/projects/${projectId}/weekly-planner/tasks/${taskId}/assignment`,
     {
       method: "PUT",
-      headers: { "content-type": "application/json" },
+      headers: { "content-type": "application/json", ...ifMatchHeader(version) },
       body: JSON.stringify({ weekId, destination: weekId === null ? 'backlog' : 'week' }),
     },
   );
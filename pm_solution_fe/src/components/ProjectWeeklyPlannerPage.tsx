@@ -27,11 +27,14 @@ import {
   type ErrorResponse,
   type ProjectOverviewDTO,
   type Sprint,
+  type WeeklyPlannerChange,
   type WeeklyPlannerMetadata,
   type WeeklyPlannerTask,
+  type WeeklyPlannerTaskPage,
   type WeeklyPlannerWeek,
   type WeeklyPlannerWeekCollection,
   type WeeklyPlannerWeekGenerationPayload,
+  type WeeklyPlannerWeekSummary,
   type WeeklySummary,
   type WeeklyTaskPayload,
   type SprintSummary,
@@ -42,11 +45,15 @@ import {
   deleteProjectWeeklyPlannerWeek,
   deleteWeeklyTask,
   generateProjectWeeklyPlannerWeeks,
+  getConflictingWeeklyTask,
   getCurrentProjectSprint,
   getSprintSummary,
   getProjectWeekSummary,
   getProjectWeeklyPlannerWeek,
-  listProjectWeeklyPlannerWeeks,
+  isWeekVersionConflict,
+  listProjectWeeklyPlannerWeekSummaries,
+  listProjectWeeklyPlannerWeekTasks,
+  subscribeWeeklyPlannerChanges,
   updateWeeklyTask,
   updateWeeklyTaskWeek,
 } from '../api';
@@ -75,6 +82,7 @@ type SprintMetadataState = {
 };
 
 const WEEK_FETCH_LIMIT = 20;
+const TASK_PAGE_LIMIT = 200;
 
 type TaskMutationContext = {
   queryKey: ReturnType<typeof getWeeklyTasksQueryKey>;
@@ -90,8 +98,14 @@ type TaskMutationContext = {
 };
 
 type CreateTaskVariables = { weekId: number; values: WeeklyTaskFormValues };
-type UpdateTaskVariables = { weekId: number; taskId: number; values: WeeklyTaskFormValues };
-type MoveTaskVariables = { taskId: number; fromWeekId: number | null; toWeekId: number | null | undefined };
+type UpdateTaskVariables = { weekId: number; taskId: number; values: WeeklyTaskFormValues; version?: number };
+type MoveTaskVariables = {
+  taskId: number;
+  fromWeekId: number | null;
+  toWeekId: number | null | undefined;
+  version?: number;
+};
+type DeleteWeekVariables = { weekId: number; version?: number };
 type MoveTaskContext = {
   previousTasks: WeeklyPlannerTask[];
   sourceWeek?: WeeklyTasksQueryData;
@@ -235,6 +249,69 @@ function findNextWeekStart(
 
 
 
+// Summaries carry no tasks; keep the ones already loaded for the week until it is fetched again.
+function mapWeekSummaryToWeek(summary: WeeklyPlannerWeekSummary, previous?: WeeklyPlannerWeek): WeeklyPlannerWeek {
+  return {
+    id: summary.id,
+    projectId: summary.projectId,
+    sprintId: summary.sprintId,
+    weekStart: summary.weekStart,
+    weekEnd: summary.weekEnd,
+    createdAt: summary.createdAt,
+    updatedAt: summary.updatedAt,
+    version: summary.version,
+    closedAt: previous?.closedAt ?? null,
+    isClosed: previous?.isClosed ?? false,
+    tasks: previous?.tasks ?? [],
+  };
+}
+
+/**
+ * Loads a week's tasks page by page and passes the tasks loaded so far to onPage after every page.
+ * Stops early when onPage returns false (the result is no longer wanted).
+ */
+async function loadWeekTasksInPages(
+  projectId: number,
+  weekId: number,
+  onPage: (tasks: WeeklyPlannerTask[]) => boolean,
+): Promise<void> {
+  const tasks: WeeklyPlannerTask[] = [];
+  let after: number | null = null;
+  do {
+    const page: WeeklyPlannerTaskPage = await listProjectWeeklyPlannerWeekTasks(projectId, weekId, { after, limit: TASK_PAGE_LIMIT });
+    tasks.push(...page.items);
+    if (!onPage([...tasks])) {
+      return;
+    }
+    after = page.nextAfter;
+  } while (after !== null);
+}
+
+/**
+ * Applies a planner delta to a task list: deleted tasks are dropped, changed ones replaced in place and
+ * new ones prepended. Changed tasks for which `belongs` is false (e.g. moved to another week) are dropped.
+ */
+function applyPlannerDelta(
+  tasks: WeeklyPlannerTask[],
+  change: WeeklyPlannerChange,
+  belongs: (task: WeeklyPlannerTask) => boolean,
+): WeeklyPlannerTask[] {
+  const deleted = new Set(change.deletedTaskIds);
+  const changed = new Map(change.tasks.map(task => [task.id, task]));
+  const kept = tasks
+    .filter(task => !deleted.has(task.id))
+    .flatMap(task => {
+      const updated = changed.get(task.id);
+      if (!updated) {
+        return [task];
+      }
+      changed.delete(task.id);
+      return belongs(updated) ? [updated] : [];
+    });
+  const added = Array.from(changed.values()).filter(belongs);
+  return [...added, ...kept];
+}
+
 function mapFormValuesToPayload(values: WeeklyTaskFormValues): WeeklyTaskPayload {
   const trimmedTitle = values.title.trim();
   const trimmedDescription = values.description.trim();
@@ -274,6 +351,7 @@ function createOptimisticTaskFromForm(
     deadline: values.deadline ?? overrides?.deadline ?? null,
     createdAt: overrides?.createdAt ?? now,
     updatedAt: overrides?.updatedAt ?? now,
+    version: overrides?.version,
     carriedOverFromWeekStart: overrides?.carriedOverFromWeekStart ?? null,
     carriedOverFromWeekId: overrides?.carriedOverFromWeekId ?? null,
   };
@@ -331,6 +409,7 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
   const [taskFormInitial, setTaskFormInitial] = useState<WeeklyTaskFormInitialTask | null>(null);
   const [editingTaskId, setEditingTaskId] = useState<number | null>(null);
   const [editingTaskWeekId, setEditingTaskWeekId] = useState<number | null>(null);
+  const [editingTaskVersion, setEditingTaskVersion] = useState<number | undefined>(undefined);
   const [taskMutationError, setTaskMutationError] = useState<ErrorResponse | null>(null);
   const [deletingWeekId, setDeletingWeekId] = useState<number | null>(null);
   const [sprintMetadata, setSprintMetadata] = useState<SprintMetadataState>({
@@ -375,7 +454,7 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
       if (activeSprintId === null) {
         return [];
       }
-      const summary = await getSprintSummary(project.id, activeSprintId);
+      const summary = await getSprintSummary(project.id, activeSprintId, { includeTasks: true });
       return summary.tasks;
     },
     enabled: activeSprintId !== null,
@@ -446,6 +525,7 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
       }
       setTaskFormMode('create');
       setEditingTaskId(null);
+      setEditingTaskVersion(undefined);
       setTaskFormInitial(null);
       setSelectedWeekIdForForm(weekId);
       setEditingTaskWeekId(weekId);
@@ -460,24 +540,106 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
     setTaskFormInitial(null);
     setSelectedWeekIdForForm(null);
     setEditingTaskId(null);
+    setEditingTaskVersion(undefined);
     setEditingTaskWeekId(null);
     setTaskFormMode('create');
     setTaskMutationError(null);
   }, []);
 
+  const weeksRef = useRef(weeks);
+  const selectedWeekIdRef = useRef(selectedWeekId);
+  const weekRequestRef = useRef(0);
+
+  useEffect(() => {
+    weeksRef.current = weeks;
+  }, [weeks]);
+
+  useEffect(() => {
+    selectedWeekIdRef.current = selectedWeekId;
+  }, [selectedWeekId]);
+
+  const applyLoadedWeek = useCallback(
+    (week: WeeklyPlannerWeek, metadata: WeeklyPlannerMetadata) => {
+      const currentPlannerSprintId = plannerSprintIdRef.current;
+      const metadataSprintId = metadata.sprintId ?? currentPlannerSprintId;
+      setWeeklyTasksQueryData(queryClient, project.id, metadataSprintId, week.id, week.tasks);
+      setSelectedWeek(week);
+      setWeekStartDay(metadata.weekStartDay);
+      applySprintMetadata(metadata);
+      setWeeks(prev => {
+        const exists = prev.findIndex(existing => existing.id === week.id);
+        if (exists >= 0) {
+          const updated = [...prev];
+          updated[exists] = week;
+          return updated;
+        }
+        return [...prev, week].sort((a, b) => {
+          const aTime = new Date(a.weekStart).getTime();
+          const bTime = new Date(b.weekStart).getTime();
+          return bTime - aTime;
+        });
+      });
+    },
+    [applySprintMetadata, project.id, queryClient],
+  );
+
+  // Only the selected week's tasks are loaded, in keyset pages; the week list itself comes from summaries.
+  const fetchWeek = useCallback(
+    (weekId: number) => {
+      const requestId = weekRequestRef.current + 1;
+      weekRequestRef.current = requestId;
+      setWeekError(null);
+      const known = weeksRef.current.find(week => week.id === weekId);
+      if (!known) {
+        // Not among the loaded summaries (e.g. the current week of a long sprint); load it as a whole.
+        getProjectWeeklyPlannerWeek(project.id, weekId)
+          .then(data => {
+            if (weekRequestRef.current === requestId) {
+              applyLoadedWeek(data.week, data.metadata);
+            }
+          })
+          .catch(err => setWeekError(err as ErrorResponse));
+      } else {
+        const sprintIdForWeek = known.sprintId ?? plannerSprintIdRef.current;
+        loadWeekTasksInPages(project.id, weekId, tasks => {
+          if (weekRequestRef.current !== requestId) {
+            return false;
+          }
+          setWeeklyTasksQueryData(queryClient, project.id, sprintIdForWeek, weekId, tasks);
+          const base = weeksRef.current.find(week => week.id === weekId) ?? known;
+          setSelectedWeek({ ...base, tasks });
+          setWeeks(prev => prev.map(week => (week.id === weekId ? { ...week, tasks } : week)));
+          return true;
+        }).catch(err => {
+          if (weekRequestRef.current === requestId) {
+            setWeekError(err as ErrorResponse);
+          }
+        });
+      }
+
+      getProjectWeekSummary(project.id, weekId)
+        .then(setSummary)
+        .catch(() => { }); // Error handled silently or add state if needed, but summary panel is removed
+    },
+    [applyLoadedWeek, project.id, queryClient],
+  );
+
   const loadWeeks = useCallback(() => {
     setWeeksLoading(true);
     setWeeksError(null);
-    listProjectWeeklyPlannerWeeks(project.id, { limit: WEEK_FETCH_LIMIT, offset: 0 })
+    listProjectWeeklyPlannerWeekSummaries(project.id, { limit: WEEK_FETCH_LIMIT, offset: 0 })
       .then(collection => {
-        setWeeks(collection.weeks);
-        const currentPlannerSprintId = plannerSprintIdRef.current;
-        const metadataSprintId = collection.metadata.sprintId ?? currentPlannerSprintId;
-        collection.weeks.forEach(week => {
-          setWeeklyTasksQueryData(queryClient, project.id, metadataSprintId, week.id, week.tasks);
-        });
+        const known = new Map(weeksRef.current.map(week => [week.id, week]));
+        const nextWeeks = collection.weeks.map(summary => mapWeekSummaryToWeek(summary, known.get(summary.id)));
+        weeksRef.current = nextWeeks;
+        setWeeks(nextWeeks);
         setWeekStartDay(collection.metadata.weekStartDay);
         applySprintMetadata(collection.metadata);
+        const previousSelection = selectedWeekIdRef.current;
+        if (previousSelection !== null) {
+          // A reload must refresh the tasks on screen as well; other weeks load when selected.
+          fetchWeek(previousSelection);
+        }
         setSelectedWeekId(prev => {
           if (prev !== null) return prev;
           if (collection.metadata.currentWeekId !== null) {
@@ -488,7 +650,7 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
       })
       .catch(err => setWeeksError(err as ErrorResponse))
       .finally(() => setWeeksLoading(false));
-  }, [applySprintMetadata, project.id, queryClient]);
+  }, [applySprintMetadata, fetchWeek, project.id]);
 
   useEffect(() => {
     if (activeSprintId === null) {
@@ -501,40 +663,6 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
     loadWeeks();
   }, [loadWeeks, activeSprintId]);
 
-  const fetchWeek = useCallback(
-    (weekId: number) => {
-      setWeekError(null);
-      getProjectWeeklyPlannerWeek(project.id, weekId)
-        .then(data => {
-          const currentPlannerSprintId = plannerSprintIdRef.current;
-          const metadataSprintId = data.metadata.sprintId ?? currentPlannerSprintId;
-          setWeeklyTasksQueryData(queryClient, project.id, metadataSprintId, data.week.id, data.week.tasks);
-          setSelectedWeek(data.week);
-          setWeekStartDay(data.metadata.weekStartDay);
-          applySprintMetadata(data.metadata);
-          setWeeks(prev => {
-            const exists = prev.findIndex(week => week.id === data.week.id);
-            if (exists >= 0) {
-              const updated = [...prev];
-              updated[exists] = data.week;
-              return updated;
-            }
-            return [...prev, data.week].sort((a, b) => {
-              const aTime = new Date(a.weekStart).getTime();
-              const bTime = new Date(b.weekStart).getTime();
-              return bTime - aTime;
-            });
-          });
-        })
-        .catch(err => setWeekError(err as ErrorResponse));
-
-      getProjectWeekSummary(project.id, weekId)
-        .then(setSummary)
-        .catch(() => { }); // Error handled silently or add state if needed, but summary panel is removed
-    },
-    [applySprintMetadata, project.id, queryClient],
-  );
-
   useEffect(() => {
     if (activeSprintId === null) {
       setSelectedWeek(null);
@@ -614,6 +742,77 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
     loadWeeks();
   }, [notify, refetchSprint, loadWeeks]);
 
+  // Deltas made by other users (or other tabs) are applied to the cached tasks; a truncated delta or a
+  // change of the week list reloads the weeks and the sprint tasks instead.
+  const applyPlannerChange = useCallback(
+    (change: WeeklyPlannerChange) => {
+      const sprintTasksKey: [string, number, number | null] = ['project-sprint-tasks', project.id, activeSprintId];
+      if (change.truncated || change.type === 'WEEKS_CHANGED' || change.type === 'WEEK_CLOSED') {
+        queryClient.invalidateQueries({ queryKey: sprintTasksKey });
+        loadWeeks();
+        return;
+      }
+      const previousTasks = queryClient.getQueryData<WeeklyPlannerTask[]>(sprintTasksKey) ?? [];
+      const affectedWeekIds = new Set<number>();
+      if (change.weekId !== null) {
+        affectedWeekIds.add(change.weekId);
+      }
+      const touchedIds = new Set([...change.deletedTaskIds, ...change.tasks.map(task => task.id)]);
+      for (const task of [...previousTasks, ...change.tasks]) {
+        if (touchedIds.has(task.id) && task.weekId !== null) {
+          affectedWeekIds.add(task.weekId);
+        }
+      }
+
+      // Tasks carry no sprint; those in weeks of another sprint (e.g. carried over) stay out of this one.
+      const inSprint = (task: WeeklyPlannerTask) =>
+        task.weekId === null ||
+        weeksRef.current.some(week => week.id === task.weekId && (week.sprintId ?? plannerSprintId) === plannerSprintId);
+      queryClient.setQueryData<WeeklyPlannerTask[]>(sprintTasksKey, old =>
+        applyPlannerDelta(old ?? [], change, inSprint),
+      );
+      affectedWeekIds.forEach(weekId => {
+        const cached = queryClient.getQueryData<WeeklyTasksQueryData>(
+          getWeeklyTasksQueryKey(project.id, plannerSprintId, weekId),
+        );
+        // Weeks that were never opened load their tasks when selected.
+        if (cached) {
+          setWeeklyTasksQueryData(
+            queryClient,
+            project.id,
+            plannerSprintId,
+            weekId,
+            applyPlannerDelta(cached.weekTasks, change, task => task.weekId === weekId),
+          );
+        }
+      });
+      setSelectedWeek(current =>
+        current && affectedWeekIds.has(current.id)
+          ? { ...current, tasks: applyPlannerDelta(current.tasks, change, task => task.weekId === current.id) }
+          : current,
+      );
+      const currentWeekId = selectedWeekIdRef.current;
+      if (currentWeekId !== null && affectedWeekIds.has(currentWeekId)) {
+        getProjectWeekSummary(project.id, currentWeekId)
+          .then(setSummary)
+          .catch(() => { });
+      }
+    },
+    [activeSprintId, loadWeeks, plannerSprintId, project.id, queryClient],
+  );
+  const applyPlannerChangeRef = useRef(applyPlannerChange);
+
+  useEffect(() => {
+    applyPlannerChangeRef.current = applyPlannerChange;
+  }, [applyPlannerChange]);
+
+  useEffect(() => {
+    if (activeSprintId === null) {
+      return undefined;
+    }
+    return subscribeWeeklyPlannerChanges(project.id, change => applyPlannerChangeRef.current(change));
+  }, [activeSprintId, project.id]);
+
   const createTaskMutation = useMutation<WeeklyPlannerTask, ErrorResponse, CreateTaskVariables, TaskMutationContext>({
     mutationFn: async ({ weekId, values }: CreateTaskVariables) => {
       const payload = mapFormValuesToPayload(values);
@@ -744,10 +943,48 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
       generateProjectWeeklyPlannerWeeks(project.id, payload),
   });
 
+  const findKnownTaskVersion = useCallback(
+    (taskId: number): number | undefined => {
+      const sprintTasks = queryClient.getQueryData<WeeklyPlannerTask[]>(['project-sprint-tasks', project.id, activeSprintId]);
+      const fromSprint = sprintTasks?.find(task => task.id === taskId)?.version;
+      if (typeof fromSprint === 'number') {
+        return fromSprint;
+      }
+      if (plannerSprintId !== null) {
+        const backlog = queryClient.getQueryData<WeeklyPlannerTask[]>(getBacklogTasksQueryKey(project.id, plannerSprintId));
+        const fromBacklog = backlog?.find(task => task.id === taskId)?.version;
+        if (typeof fromBacklog === 'number') {
+          return fromBacklog;
+        }
+      }
+      return selectedWeek?.tasks.find(task => task.id === taskId)?.version;
+    },
+    [activeSprintId, plannerSprintId, project.id, queryClient, selectedWeek],
+  );
+
+  // A 409 carries the task as it is now; show it and keep its version so the user can retry on top of it.
+  const applyConflictingTask = useCallback(
+    (error: ErrorResponse): boolean => {
+      const current = getConflictingWeeklyTask(error);
+      if (!current) {
+        return false;
+      }
+      queryClient.setQueryData<WeeklyPlannerTask[]>(['project-sprint-tasks', project.id, activeSprintId], old =>
+        old?.map(existing => (existing.id === current.id ? current : existing)),
+      );
+      if (typeof current.weekId === 'number') {
+        replaceWeeklyTask(queryClient, project.id, plannerSprintId, current.weekId, current);
+      }
+      notify('warning', 'Úkol mezitím upravil někdo jiný. Zobrazuje se jeho aktuální podoba, změnu prosím zopakujte.');
+      return true;
+    },
+    [activeSprintId, notify, plannerSprintId, project.id, queryClient],
+  );
+
   const updateTaskMutation = useMutation<WeeklyPlannerTask, ErrorResponse, UpdateTaskVariables, TaskMutationContext>({
-    mutationFn: async ({ weekId, taskId, values }: UpdateTaskVariables) => {
+    mutationFn: async ({ weekId, taskId, values, version }: UpdateTaskVariables) => {
       const payload = mapFormValuesToPayload(values);
-      return updateWeeklyTask(project.id, weekId, taskId, payload);
+      return updateWeeklyTask(project.id, weekId, taskId, payload, version);
     },
     onMutate: async ({ weekId, taskId, values }: UpdateTaskVariables) => {
       const queryKey = getWeeklyTasksQueryKey(project.id, plannerSprintId, weekId);
@@ -768,6 +1005,7 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
       if (context?.previous) {
         queryClient.setQueryData(context.queryKey, context.previous);
       }
+      applyConflictingTask(error);
       setTaskMutationError(error);
     },
     onSuccess: (
@@ -801,9 +1039,14 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
     },
   });
 
-  const changeStatusMutation = useMutation<WeeklyPlannerTask, ErrorResponse, { weekId: number; taskId: number; status: string }, TaskMutationContext>({
-    mutationFn: async ({ weekId, taskId, status }) => {
-      return changeWeeklyTaskStatus(project.id, weekId, taskId, status);
+  const changeStatusMutation = useMutation<
+    WeeklyPlannerTask,
+    ErrorResponse,
+    { weekId: number; taskId: number; status: string; version?: number },
+    TaskMutationContext
+  >({
+    mutationFn: async ({ weekId, taskId, status, version }) => {
+      return changeWeeklyTaskStatus(project.id, weekId, taskId, status, version);
     },
     onMutate: async ({ weekId, taskId, status }) => {
       const queryKey = getWeeklyTasksQueryKey(project.id, plannerSprintId, weekId);
@@ -884,7 +1127,7 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
         previousStatus,
       };
     },
-    onError: (_error, _variables, context) => {
+    onError: (error, _variables, context) => {
       if (context?.previous) {
         queryClient.setQueryData(context.queryKey, context.previous);
       }
@@ -898,7 +1141,9 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
       if (context) {
         loadWeeks(); // Simplest way to revert is to reload
       }
-      notify('error', 'Nepodařilo se změnit stav úkolu.');
+      if (!applyConflictingTask(error)) {
+        notify('error', 'Nepodařilo se změnit stav úkolu.');
+      }
     },
     onSuccess: (task, _variables, context) => {
       if (context) {
@@ -944,7 +1189,7 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
   });
 
   const handleStatusChange = useCallback((task: WeeklyPlannerTask, status: 'OPENED' | 'CLOSED' | 'IN_PROGRESS', weekId: number) => {
-    changeStatusMutation.mutate({ weekId, taskId: task.id, status });
+    changeStatusMutation.mutate({ weekId, taskId: task.id, status, version: task.version });
   }, [changeStatusMutation]);
 
   const deleteTaskMutation = useMutation<
@@ -957,7 +1202,7 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
       previousBacklog?: WeeklyPlannerTask[];
     }
   >({
-    mutationFn: async ({ weekId, task }) => deleteWeeklyTask(project.id, weekId, task.id),
+    mutationFn: async ({ weekId, task }) => deleteWeeklyTask(project.id, weekId, task.id, task.version),
     onMutate: async ({ weekId, task }) => {
       const sprintTasksKey: [string, number, number | null] = ['project-sprint-tasks', project.id, activeSprintId];
       await queryClient.cancelQueries({ queryKey: sprintTasksKey });
@@ -985,6 +1230,7 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
     },
     onError: (error, variables, context) => {
       setTaskMutationError(error);
+      applyConflictingTask(error);
       if (!context) {
         return;
       }
@@ -1014,9 +1260,10 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
     },
   });
 
-  const deleteWeekMutation = useMutation<void, ErrorResponse, number, DeleteWeekContext>({
-    mutationFn: async (weekId: number) => deleteProjectWeeklyPlannerWeek(project.id, weekId),
-    onMutate: async (weekId: number) => {
+  const deleteWeekMutation = useMutation<void, ErrorResponse, DeleteWeekVariables, DeleteWeekContext>({
+    mutationFn: async ({ weekId, version }: DeleteWeekVariables) =>
+      deleteProjectWeeklyPlannerWeek(project.id, weekId, version),
+    onMutate: async ({ weekId }: DeleteWeekVariables) => {
       setDeletingWeekId(weekId);
       setTaskMutationError(null);
       const previousWeeks = weeks;
@@ -1040,8 +1287,11 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
       }
       setTaskMutationError(error);
       setDeletingWeekId(null);
+      if (isWeekVersionConflict(error)) {
+        loadWeeks();
+      }
     },
-    onSuccess: (_data, weekId) => {
+    onSuccess: (_data, { weekId }) => {
       setTaskMutationError(null);
       if (plannerSprintId !== null) {
         queryClient.removeQueries({ queryKey: getWeeklyTasksQueryKey(project.id, plannerSprintId, weekId) });
@@ -1058,9 +1308,9 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
   });
 
   const moveTaskMutation = useMutation<WeeklyPlannerTask, ErrorResponse, MoveTaskVariables, MoveTaskContext>({
-    mutationFn: async ({ taskId, toWeekId }: MoveTaskVariables) => {
+    mutationFn: async ({ taskId, toWeekId, version }: MoveTaskVariables) => {
       const destinationWeekId = normaliseDestinationWeekId(toWeekId);
-      return updateWeeklyTaskWeek(project.id, taskId, destinationWeekId);
+      return updateWeeklyTaskWeek(project.id, taskId, destinationWeekId, version);
     },
     onMutate: async ({ taskId, fromWeekId, toWeekId }: MoveTaskVariables) => {
       const destinationWeekId = normaliseDestinationWeekId(toWeekId);
@@ -1157,6 +1407,7 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
       if (context?.backlogTasks && contextSprintId !== null) {
         setBacklogTasksQueryData(queryClient, project.id, contextSprintId, context.backlogTasks);
       }
+      applyConflictingTask(error);
       setTaskMutationError(error);
     },
     onSuccess: (task: WeeklyPlannerTask) => {
@@ -1275,6 +1526,7 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
       }
       setTaskFormMode('edit');
       setEditingTaskId(task.id);
+      setEditingTaskVersion(task.version);
       setSelectedWeekIdForForm(task.weekId ?? selectedWeekId);
       setEditingTaskWeekId(task.weekId ?? selectedWeekId);
       setTaskFormInitial({
@@ -1303,9 +1555,9 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
 
   const handleDeleteWeek = useCallback(
     (weekId: number) => {
-      deleteWeekMutation.mutate(weekId);
+      deleteWeekMutation.mutate({ weekId, version: weeks.find(week => week.id === weekId)?.version });
     },
-    [deleteWeekMutation],
+    [deleteWeekMutation, weeks],
   );
 
   const handleTaskFormSubmit = useCallback(
@@ -1319,29 +1571,34 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
           throw new Error('Úkol není přiřazen k žádnému týdnu.');
         }
         const targetWeekId = selectedWeekIdForForm;
+        // Each step bumps the task version; the next step sends the version the previous one returned.
         if (targetWeekId === null) {
-          await updateTaskMutation.mutateAsync({
+          const updated = await updateTaskMutation.mutateAsync({
             weekId: currentWeekId,
             taskId: editingTaskId,
             values,
+            version: editingTaskVersion,
           });
           await moveTaskMutation.mutateAsync({
             taskId: editingTaskId,
             fromWeekId: currentWeekId,
             toWeekId: null,
+            version: updated.version,
           });
           return;
         }
         if (targetWeekId !== currentWeekId) {
-          await moveTaskMutation.mutateAsync({
+          const moved = await moveTaskMutation.mutateAsync({
             taskId: editingTaskId,
             fromWeekId: currentWeekId,
             toWeekId: targetWeekId,
+            version: editingTaskVersion,
           });
           await updateTaskMutation.mutateAsync({
             weekId: targetWeekId,
             taskId: editingTaskId,
             values,
+            version: moved.version,
           });
           return;
         }
@@ -1349,6 +1606,7 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
           weekId: currentWeekId,
           taskId: editingTaskId,
           values,
+          version: editingTaskVersion,
         });
         return;
       }
@@ -1361,6 +1619,7 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
     [
       createTaskMutation,
       editingTaskId,
+      editingTaskVersion,
       editingTaskWeekId,
       moveTaskMutation,
       selectedWeekId,
@@ -1386,7 +1645,7 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
     if (selectedWeekId === null || !selectedWeek) return;
     setCloseError(null);
     setClosingWeek(true);
-    closeProjectWeek(project.id, selectedWeekId)
+    closeProjectWeek(project.id, selectedWeekId, selectedWeek.version)
       .then(response => {
         setClosingWeek(false);
         setCloseModalOpen(false);
@@ -1418,6 +1677,10 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
       .catch(err => {
         setCloseError(err as ErrorResponse);
         setClosingWeek(false);
+        if (isWeekVersionConflict(err)) {
+          fetchWeek(selectedWeekId);
+          loadWeeks();
+        }
       });
   }
 
@@ -1561,9 +1824,9 @@ export default function ProjectWeeklyPlannerPage({ project, onShowToast }: Proje
       if (targetWeekId === fromWeekId) {
         return;
       }
-      moveTaskMutation.mutate({ taskId, fromWeekId, toWeekId: targetWeekId });
+      moveTaskMutation.mutate({ taskId, fromWeekId, toWeekId: targetWeekId, version: findKnownTaskVersion(taskId) });
     },
-    [isSprintOpen, moveTaskMutation],
+    [findKnownTaskVersion, isSprintOpen, moveTaskMutation],
   );
 
   function renderCreateTaskButton(extraClassName = '', options?: { ariaLabel?: string }) {
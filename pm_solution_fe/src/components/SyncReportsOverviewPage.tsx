@@ -1,7 +1,7 @@
-import { useCallback, useEffect, useMemo, useState } from 'react';
+import { useCallback, useEffect, useMemo, useRef, useState } from 'react';
 import type { FormEvent } from 'react';
 import './SyncReportsOverviewPage.css';
-import { getSyncReportOverview, type ErrorResponse, type SyncReportOverviewRowDTO } from '../api';
+import { getSyncReportOverviewPage, type ErrorResponse, type SyncReportOverviewPageDTO, type SyncReportOverviewRowDTO } from '../api';
 import { datetimeLocalToIso, getDefaultReportingPeriod } from '../config/reportingPeriod';
 import { utils, writeFile } from 'xlsx';
 
@@ -78,6 +78,7 @@ function formatDateTime(value: string): string {
 }
 
 const defaultPeriod = getDefaultReportingPeriod();
+const REPORT_PAGE_LIMIT = 1000;
 
 export default function SyncReportsOverviewPage() {
   const [from, setFrom] = useState<string>(defaultPeriod.from);
@@ -87,6 +88,7 @@ export default function SyncReportsOverviewPage() {
   const [error, setError] = useState<ErrorResponse | null>(null);
   const [untrackedOnly, setUntrackedOnly] = useState(false);
   const [showClosures, setShowClosures] = useState(false);
+  const requestRef = useRef(0);
 
   const isRangeValid = useMemo(() => {
     if (!from || !to) {
@@ -109,20 +111,38 @@ export default function SyncReportsOverviewPage() {
     if (!isRangeValid) {
       return;
     }
+    // Pages arrive one by one; a newer request discards the rest of an older one.
+    const requestId = requestRef.current + 1;
+    requestRef.current = requestId;
     setLoading(true);
     setError(null);
+    setRows([]);
     try {
-      const data = await getSyncReportOverview({
-        from: datetimeLocalToIso(from),
-        to: datetimeLocalToIso(to),
-        untrackedOnly,
-      });
-      setRows(data.map(mapDto));
+      let cursor: string | null = null;
+      do {
+        const page: SyncReportOverviewPageDTO = await getSyncReportOverviewPage({
+          from: datetimeLocalToIso(from),
+          to: datetimeLocalToIso(to),
+          untrackedOnly,
+          cursor,
+          limit: REPORT_PAGE_LIMIT,
+        });
+        if (requestRef.current !== requestId) {
+          return;
+        }
+        const pageRows = page.items.map(mapDto);
+        setRows(prev => [...prev, ...pageRows]);
+        cursor = page.nextCursor;
+      } while (cursor);
     } catch (err) {
-      setRows([]);
-      setError(err as ErrorResponse);
+      if (requestRef.current === requestId) {
+        setRows([]);
+        setError(err as ErrorResponse);
+      }
     } finally {
-      setLoading(false);
+      if (requestRef.current === requestId) {
+        setLoading(false);
+      }
     }
   }, [from, to, isRangeValid, untrackedOnly]);
 
@@ -297,7 +317,7 @@ export default function SyncReportsOverviewPage() {
               </tr>
             </thead>
             <tbody>
-              {loading ? (
+              {loading && rows.length === 0 ? (
                 <tr>
                   <td colSpan={5} className="syncReportOverview__empty">
                     Načítám výkazy…